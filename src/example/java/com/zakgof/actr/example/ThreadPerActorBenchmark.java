@@ -0,0 +1,124 @@
+package com.zakgof.actr.example;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Supplier;
+
+import com.zakgof.actr.Actr;
+import com.zakgof.actr.IActorRef;
+import com.zakgof.actr.IActorScheduler;
+import com.zakgof.actr.IActorSystem;
+import com.zakgof.actr.Schedulers;
+
+/**
+ * Compares platform and virtual thread-per-actor schedulers: memory per blocked actor and ping-pong latency between two actors.
+ *
+ * Virtual threads require JDK 21+ and running against the actr jar, as virtual thread support is packaged as a multi-release jar entry.
+ */
+public class ThreadPerActorBenchmark {
+
+    private static final int PINGPONG_HITS = 200_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        int actors = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        run("platform", Schedulers::newThreadPerActorScheduler, actors);
+        if (Schedulers.isVirtualThreadsSupported()) {
+            run("virtual", Schedulers::newVirtualThreadPerActorScheduler, actors);
+        } else {
+            System.out.println("virtual: not supported by this JDK");
+        }
+    }
+
+    private static void run(String name, Supplier<IActorScheduler> schedulerFactory, int actors) throws InterruptedException {
+        memory(name, schedulerFactory.get(), actors);
+        pingPong(name, schedulerFactory.get());
+        pingPong(name, schedulerFactory.get());
+    }
+
+    private static void memory(String name, IActorScheduler scheduler, int actors) throws InterruptedException {
+        IActorSystem system = Actr.newSystem("memory", scheduler);
+        CountDownLatch started = new CountDownLatch(actors);
+        CountDownLatch release = new CountDownLatch(1);
+
+        long heapBefore = usedHeap();
+        long rssBefore = rss();
+        for (int i = 0; i < actors; i++) {
+            IActorRef<Object> actor = system.actorOf(Object::new);
+            actor.tell(o -> {
+                started.countDown();
+                awaitQuietly(release);
+            });
+        }
+        started.await();
+        long heapAfter = usedHeap();
+        long rssAfter = rss();
+
+        System.out.printf("%s: %d blocked actors, heap %d bytes/actor, rss %s%n", name, actors, (heapAfter - heapBefore) / actors,
+                rssBefore < 0 ? "n/a" : ((rssAfter - rssBefore) / actors) + " bytes/actor");
+
+        release.countDown();
+        system.shutdown().join();
+        scheduler.close();
+    }
+
+    private static void pingPong(String name, IActorScheduler scheduler) throws InterruptedException {
+        IActorSystem system = Actr.newSystem("pingpong", scheduler);
+        IActorRef<Player> ping = system.actorOf(Player::new);
+        IActorRef<Player> pong = system.actorOf(Player::new);
+        ping.tell(p -> p.partner = pong);
+        pong.tell(p -> p.partner = ping);
+
+        CountDownLatch done = new CountDownLatch(1);
+        long start = System.nanoTime();
+        ping.tell(p -> p.ball(PINGPONG_HITS, done));
+        done.await();
+        long elapsed = System.nanoTime() - start;
+
+        System.out.printf("%s: ping-pong %d ns/hop%n", name, elapsed / PINGPONG_HITS);
+        system.shutdown().join();
+        scheduler.close();
+    }
+
+    private static class Player {
+        private IActorRef<Player> partner;
+
+        void ball(int hits, CountDownLatch done) {
+            if (hits == 0) {
+                done.countDown();
+            } else {
+                partner.tell(p -> p.ball(hits - 1, done));
+            }
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static long rss() {
+        try {
+            return Files.readAllLines(Paths.get("/proc/self/status")).stream()
+                .filter(line -> line.startsWith("VmRSS:"))
+                .mapToLong(line -> Long.parseLong(line.replaceAll("[^0-9]", "")) * 1024)
+                .findFirst()
+                .orElse(-1L);
+        } catch (IOException | RuntimeException e) {
+            return -1L;
+        }
+    }
+
+}
@@ -0,0 +1,113 @@
+package com.zakgof.actr.example;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Supplier;
+
+import com.zakgof.actr.Actr;
+import com.zakgof.actr.IActorRef;
+import com.zakgof.actr.IActorScheduler;
+import com.zakgof.actr.IActorSystem;
+import com.zakgof.actr.Schedulers;
+
+/**
+ * Compares the work-stealing scheduler with the shared ForkJoinPool scheduler on ping-pong and fan-out/fan-in workloads.
+ */
+public class WorkStealingBenchmark {
+
+    private static final int THROUGHPUT = 10;
+    private static final int PAIRS = 8;
+    private static final int HITS = 100_000;
+    private static final int WORKERS = 64;
+    private static final int ROUNDS = 2_000;
+    private static final int ITERATIONS = 5;
+
+    public static void main(String[] args) throws InterruptedException {
+        for (int i = 0; i < ITERATIONS; i++) {
+            run("forkjoin", () -> Schedulers.newForkJoinPoolScheduler(THROUGHPUT));
+            run("workstealing", () -> Schedulers.newWorkStealingScheduler(THROUGHPUT));
+        }
+    }
+
+    private static void run(String name, Supplier<IActorScheduler> schedulerFactory) throws InterruptedException {
+        IActorScheduler scheduler = schedulerFactory.get();
+        IActorSystem system = Actr.newSystem(name, scheduler);
+        long pingPong = pingPong(system);
+        long fanOut = fanOut(system);
+        System.out.printf("%-12s ping-pong %6d ns/hop   fan-out %6d ns/message%n", name, pingPong, fanOut);
+        system.shutdown().join();
+        scheduler.close();
+    }
+
+    private static long pingPong(IActorSystem system) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(PAIRS);
+        List<IActorRef<Player>> pings = new ArrayList<>();
+        for (int p = 0; p < PAIRS; p++) {
+            IActorRef<Player> ping = system.actorOf(Player::new);
+            IActorRef<Player> pong = system.actorOf(Player::new);
+            ping.tell(player -> player.partner = pong);
+            pong.tell(player -> player.partner = ping);
+            pings.add(ping);
+        }
+        long start = System.nanoTime();
+        pings.forEach(ping -> ping.tell(player -> player.ball(HITS, done)));
+        done.await();
+        return (System.nanoTime() - start) / ((long) PAIRS * HITS);
+    }
+
+    private static long fanOut(IActorSystem system) throws InterruptedException {
+        List<IActorRef<Square>> workers = new ArrayList<>();
+        for (int w = 0; w < WORKERS; w++) {
+            workers.add(system.actorOf(Square::new));
+        }
+        CountDownLatch done = new CountDownLatch(1);
+        IActorRef<Collector> collector = system.actorOf(() -> new Collector(WORKERS * ROUNDS, done));
+        long start = System.nanoTime();
+        for (int r = 0; r < ROUNDS; r++) {
+            int value = r;
+            for (IActorRef<Square> worker : workers) {
+                worker.tell(square -> collector.tell(c -> c.collect(square.square(value))));
+            }
+        }
+        done.await();
+        return (System.nanoTime() - start) / ((long) WORKERS * ROUNDS);
+    }
+
+    private static class Player {
+        private IActorRef<Player> partner;
+
+        void ball(int hits, CountDownLatch done) {
+            if (hits == 0) {
+                done.countDown();
+            } else {
+                partner.tell(p -> p.ball(hits - 1, done));
+            }
+        }
+    }
+
+    private static class Square {
+        long square(long value) {
+            return value * value;
+        }
+    }
+
+    private static class Collector {
+        private final CountDownLatch done;
+        private int remaining;
+        private long sum;
+
+        Collector(int expected, CountDownLatch done) {
+            this.remaining = expected;
+            this.done = done;
+        }
+
+        void collect(long value) {
+            sum += value;
+            if (--remaining == 0) {
+                done.countDown();
+            }
+        }
+    }
+
+}
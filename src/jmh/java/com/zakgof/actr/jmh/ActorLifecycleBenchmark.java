@@ -0,0 +1,61 @@
+package com.zakgof.actr.jmh;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import com.zakgof.actr.IActorRef;
+
+/**
+ * Cost of creating an actor and destroying it, until its destructor has run.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ActorLifecycleBenchmark extends ActorSystemState {
+
+    private static final int ACTORS = 1_000;
+
+    @Override
+    protected void setUp() {
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ACTORS)
+    public void createAndClose() throws InterruptedException {
+        CountDownLatch destroyed = new CountDownLatch(ACTORS);
+        for (int i = 0; i < ACTORS; i++) {
+            system.actorBuilder()
+                .constructor(Object::new)
+                .destructor(o -> destroyed.countDown())
+                .build()
+                .close();
+        }
+        destroyed.await();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ACTORS)
+    public void createBulkAndClose() throws InterruptedException {
+        CountDownLatch destroyed = new CountDownLatch(ACTORS);
+        List<IActorRef<Object>> actors = system.actorBuilder()
+            .constructor(Object::new)
+            .destructor(o -> destroyed.countDown())
+            .build(ACTORS);
+        for (IActorRef<Object> actor : actors) {
+            actor.close();
+        }
+        destroyed.await();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ACTORS)
+    public int create() {
+        return system.actorsOf(ACTORS, i -> new Object()).size();
+    }
+}
@@ -0,0 +1,48 @@
+package com.zakgof.actr.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.zakgof.actr.Actr;
+import com.zakgof.actr.IActorScheduler;
+import com.zakgof.actr.IActorSystem;
+
+/**
+ * Base benchmark state: an actor system using each of the schedulers in turn.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public abstract class ActorSystemState {
+
+    @Param
+    public SchedulerType scheduler;
+
+    protected IActorSystem system;
+
+    @Setup
+    public void setUpSystem() {
+        IActorScheduler actorScheduler = scheduler.create();
+        system = Actr.newSystem(getClass().getSimpleName(), actorScheduler);
+        setUp();
+    }
+
+    @TearDown
+    public void tearDownSystem() throws Exception {
+        system.shutdown().get(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Creates the actors used by the benchmark.
+     */
+    protected abstract void setUp();
+}
@@ -0,0 +1,63 @@
+package com.zakgof.actr.jmh;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import com.zakgof.actr.IActorRef;
+
+/**
+ * Round-trip latency of a request and its response.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AskBenchmark extends ActorSystemState {
+
+    private IActorRef<Object> caller;
+    private IActorRef<Responder> responder;
+
+    @Override
+    protected void setUp() {
+        caller = system.actorOf(Object::new);
+        responder = system.actorOf(Responder::new);
+    }
+
+    /**
+     * Actor to actor, response delivered to a callback.
+     */
+    @Benchmark
+    public int callback() {
+        CompletableFuture<Integer> result = new CompletableFuture<>();
+        caller.tell(c -> responder.ask(Responder::value, result::complete));
+        return result.join();
+    }
+
+    /**
+     * Actor to actor, response delivered to a CompletableFuture.
+     */
+    @Benchmark
+    public int future() {
+        CompletableFuture<Integer> result = new CompletableFuture<>();
+        caller.tell(c -> responder.ask(Responder::value).thenAccept(result::complete));
+        return result.join();
+    }
+
+    /**
+     * Non-actor thread to actor, response delivered to a CompletableFuture.
+     */
+    @Benchmark
+    public int futureFromOutside() {
+        return responder.ask(Responder::value).join();
+    }
+
+    private static class Responder {
+
+        private int value() {
+            return 47;
+        }
+    }
+}
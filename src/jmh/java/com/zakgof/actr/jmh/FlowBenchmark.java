@@ -0,0 +1,69 @@
+package com.zakgof.actr.jmh;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+
+import com.zakgof.actr.Flows;
+import com.zakgof.actr.IActorPublisher;
+import com.zakgof.actr.IActorRef;
+
+/**
+ * Streams items from a producer actor to a consumer actor through the {@link java.util.concurrent.Flow} adapters, with demand-driven backpressure.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class FlowBenchmark extends ActorSystemState {
+
+    private static final int ITEMS = 100_000;
+
+    @Param({"16", "256", "4096"})
+    public int bufferSize;
+
+    private IActorRef<Producer> producer;
+    private IActorRef<Consumer> consumer;
+
+    @Override
+    protected void setUp() {
+        producer = system.actorOf(Producer::new);
+        consumer = system.actorOf(Consumer::new);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public long stream() {
+        IActorPublisher<Integer> publisher = Flows.publisher(producer, Producer::produce, bufferSize);
+        producer.tell(p -> p.start(publisher));
+        CompletableFuture<Long> completed = new CompletableFuture<>();
+        publisher.subscribe(Flows.<Consumer, Integer> subscriber(consumer, (c, item) -> c.total += item, (c, e) -> completed.completeExceptionally(e), c -> completed.complete(c.total), bufferSize));
+        return completed.join();
+    }
+
+    private static class Producer {
+
+        private IActorPublisher<Integer> publisher;
+        private int next;
+
+        private void start(IActorPublisher<Integer> publisher) {
+            this.publisher = publisher;
+            this.next = 0;
+        }
+
+        private void produce(long demand) {
+            for (long i = 0; i < demand && next < ITEMS && publisher.offer(next); i++)
+                next++;
+            if (next == ITEMS)
+                publisher.complete();
+        }
+    }
+
+    private static class Consumer {
+        private long total;
+    }
+}
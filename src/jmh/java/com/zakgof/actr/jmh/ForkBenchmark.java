@@ -0,0 +1,53 @@
+package com.zakgof.actr.jmh;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+
+import com.zakgof.actr.Actr;
+import com.zakgof.actr.IActorRef;
+
+/**
+ * Fan-out to freshly forked actors and fan-in of their results with {@link com.zakgof.actr.IForkBuilder}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ForkBenchmark extends ActorSystemState {
+
+    @Param({ "16" })
+    public int forks;
+
+    private List<Integer> ids;
+    private IActorRef<Object> master;
+
+    @Override
+    protected void setUp() {
+        ids = IntStream.range(0, forks).boxed().collect(Collectors.toList());
+        master = system.actorOf(Object::new);
+    }
+
+    @Benchmark
+    public int forkJoin() {
+        CompletableFuture<Map<Integer, Integer>> result = new CompletableFuture<>();
+        master.tell(m -> Actr.system().<Integer, Worker> forkBuilder(ids)
+            .constructor(id -> new Worker())
+            .ask((id, worker) -> worker.square(id), result::complete));
+        return result.join().size();
+    }
+
+    private static class Worker {
+
+        private int square(int value) {
+            return value * value;
+        }
+    }
+}
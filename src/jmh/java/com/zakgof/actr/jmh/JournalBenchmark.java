@@ -0,0 +1,133 @@
+package com.zakgof.actr.jmh;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.zakgof.actr.Actr;
+import com.zakgof.actr.IActorRef;
+import com.zakgof.actr.IActorSystem;
+import com.zakgof.actr.IEventSink;
+import com.zakgof.actr.IJournal;
+import com.zakgof.actr.Journals;
+
+/**
+ * Memory-mapped journal: appending events and recovering a persistent actor from 1M events.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JournalBenchmark {
+
+    private static final int RECOVERY_EVENTS = 1_000_000;
+
+    private IActorSystem system;
+    private Path recoveryDirectory;
+    private Path directory;
+    private IJournal journal;
+    private final byte[] event = new byte[32];
+
+    @Setup
+    public void setUp() throws IOException {
+        system = Actr.newSystem("journal");
+        recoveryDirectory = Files.createTempDirectory("actr-jmh");
+        try (IJournal recoveryJournal = Journals.mapped(recoveryDirectory)) {
+            for (long i = 0; i < RECOVERY_EVENTS; i++) {
+                recoveryJournal.append("counter", toBytes(i));
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        system.shutdown().get(10, TimeUnit.SECONDS);
+        delete(recoveryDirectory);
+    }
+
+    /**
+     * Appends go to a fresh journal every iteration to bound the disk usage.
+     */
+    @Setup(Level.Iteration)
+    public void openJournal() throws IOException {
+        directory = Files.createTempDirectory("actr-jmh");
+        journal = Journals.mapped(directory);
+    }
+
+    @TearDown(Level.Iteration)
+    public void closeJournal() throws IOException {
+        journal.close();
+        delete(directory);
+    }
+
+    /**
+     * Cost of appending an event, committed in the background.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public long append() {
+        return journal.append("append", event);
+    }
+
+    /**
+     * Time to open a journal of 1M events and recover an actor from it.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long recover() {
+        try (IJournal recoveryJournal = Journals.mapped(recoveryDirectory)) {
+            IActorRef<Counter> counter = system.<Counter, Long> persistentActorBuilder()
+                .persistenceId("counter")
+                .journal(recoveryJournal)
+                .constructor(Counter::new)
+                .eventHandler(Counter::apply)
+                .eventSerialization(JournalBenchmark::toBytes, bytes -> ByteBuffer.wrap(bytes).getLong())
+                .build();
+            long sum = counter.ask(c -> c.sum).join();
+            counter.close();
+            return sum;
+        }
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    private static byte[] toBytes(long value) {
+        return ByteBuffer.allocate(Long.BYTES).putLong(value).array();
+    }
+
+    private static class Counter {
+        private long sum;
+
+        Counter(IEventSink<Long> events) {
+        }
+
+        void apply(long value) {
+            sum += value;
+        }
+    }
+}
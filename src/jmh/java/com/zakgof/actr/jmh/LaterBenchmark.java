@@ -0,0 +1,48 @@
+package com.zakgof.actr.jmh;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import com.zakgof.actr.IActorRef;
+import com.zakgof.actr.ICancellable;
+
+/**
+ * Overhead of delayed actor calls.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LaterBenchmark extends ActorSystemState {
+
+    private IActorRef<Object> actor;
+
+    @Override
+    protected void setUp() {
+        actor = system.actorOf(Object::new);
+    }
+
+    /**
+     * Cost for the calling thread to schedule a delayed call and cancel it, e.g. a timeout that is not triggered.
+     */
+    @Benchmark
+    public boolean scheduleAndCancel() {
+        ICancellable timeout = actor.later(a -> {
+        }, 1000);
+        return timeout.cancel();
+    }
+
+    /**
+     * Time until a call with zero delay is executed, which includes waiting for the next timer tick.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Object zeroDelay() {
+        CompletableFuture<Object> fired = new CompletableFuture<>();
+        actor.later(fired::complete, 0);
+        return fired.join();
+    }
+}
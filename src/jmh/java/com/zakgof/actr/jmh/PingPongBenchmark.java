@@ -0,0 +1,53 @@
+package com.zakgof.actr.jmh;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import com.zakgof.actr.IActorRef;
+
+/**
+ * Latency of a message hop between two actors sending a message back and forth.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PingPongBenchmark extends ActorSystemState {
+
+    private static final int HITS = 10_000;
+
+    private IActorRef<Player> ping;
+
+    @Override
+    protected void setUp() {
+        ping = system.actorOf(Player::new);
+        IActorRef<Player> pong = system.actorOf(Player::new);
+        ping.tell(player -> player.partner = pong);
+        pong.tell(player -> player.partner = ping);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(HITS)
+    public void pingPong() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        ping.tell(player -> player.hit(HITS, done));
+        done.await();
+    }
+
+    private static class Player {
+
+        private IActorRef<Player> partner;
+
+        private void hit(int remaining, CountDownLatch done) {
+            if (remaining == 0) {
+                done.countDown();
+            } else {
+                partner.tell(player -> player.hit(remaining - 1, done));
+            }
+        }
+    }
+}
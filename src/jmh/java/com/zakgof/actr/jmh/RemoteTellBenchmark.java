@@ -0,0 +1,142 @@
+package com.zakgof.actr.jmh;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.zakgof.actr.IActorRef;
+import com.zakgof.actr.IRemoteCodec;
+import com.zakgof.actr.IRemoteEndpoint;
+import com.zakgof.actr.ISharedMemoryLink;
+import com.zakgof.actr.Remoting;
+
+/**
+ * Message throughput to a local actor and to the same actor through a remote endpoint over loopback TCP or through a shared memory link, encoding messages either with Java serialization or with a one-byte command codec that leaves
+ * only the transport cost.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RemoteTellBenchmark extends ActorSystemState {
+
+    private static final int MESSAGES = 10_000;
+    private static final int RING_SIZE = 4 << 20;
+    private static final Consumer<Counter> INCREMENT = Remoting.command(Counter::increment);
+    private static final Function<Counter, Long> VALUE = Remoting.query(Counter::value);
+
+    @Param({ "LOCAL", "TCP", "SHARED_MEMORY" })
+    public String transport;
+
+    @Param({ "JAVA_SERIALIZATION", "COMMAND_CODEC" })
+    public String codec;
+
+    private final List<AutoCloseable> closeables = new ArrayList<>();
+    private Path directory;
+    private IActorRef<Counter> counter;
+
+    @Override
+    protected void setUp() {
+        counter = system.actorOf(Counter::new);
+        IRemoteCodec remoteCodec = codec.equals("JAVA_SERIALIZATION") ? Remoting.javaSerialization("com.zakgof.actr.jmh.RemoteTellBenchmark") : new CommandCodec();
+        if (transport.equals("TCP")) {
+            IRemoteEndpoint server = Remoting.endpoint(system, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), remoteCodec);
+            IRemoteEndpoint client = Remoting.endpoint(system, null, remoteCodec);
+            server.expose("counter", counter);
+            counter = client.actor(server.address(), "counter");
+            closeables.add(client);
+            closeables.add(server);
+        } else if (transport.equals("SHARED_MEMORY")) {
+            try {
+                Path shm = Path.of("/dev/shm");
+                directory = Files.isDirectory(shm) ? Files.createTempDirectory(shm, "actr") : Files.createTempDirectory("actr");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            ISharedMemoryLink server = Remoting.sharedMemory(system, directory.resolve("b"), directory.resolve("a"), RING_SIZE, remoteCodec);
+            ISharedMemoryLink client = Remoting.sharedMemory(system, directory.resolve("a"), directory.resolve("b"), RING_SIZE, remoteCodec);
+            server.expose("counter", counter);
+            counter = client.actor("counter");
+            closeables.add(client);
+            closeables.add(server);
+        }
+    }
+
+    @TearDown
+    public void tearDownTransport() throws Exception {
+        for (AutoCloseable closeable : closeables) {
+            closeable.close();
+        }
+        if (directory != null) {
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES)
+    public long tell() {
+        for (int i = 0; i < MESSAGES; i++) {
+            counter.tell(INCREMENT);
+        }
+        return counter.ask(VALUE).join();
+    }
+
+    /**
+     * Encodes the two benchmark commands as one byte and the results as longs.
+     */
+    private static class CommandCodec implements IRemoteCodec {
+
+        @Override
+        public byte[] encode(Object object) {
+            if (object == INCREMENT)
+                return new byte[] { 0 };
+            if (object == VALUE)
+                return new byte[] { 1 };
+            return ByteBuffer.allocate(9).put((byte) 2).putLong((Long) object).array();
+        }
+
+        @Override
+        public Object decode(ByteBuffer data) {
+            switch (data.get()) {
+            case 0:
+                return INCREMENT;
+            case 1:
+                return VALUE;
+            default:
+                return data.getLong();
+            }
+        }
+    }
+
+    private static class Counter {
+
+        private long value;
+
+        private void increment() {
+            value++;
+        }
+
+        private long value() {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.zakgof.actr.jmh;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+import com.zakgof.actr.IActorScheduler;
+import com.zakgof.actr.Schedulers;
+import com.zakgof.actr.impl.BlockingThreadScheduler;
+
+/**
+ * All the scheduler factories from {@link Schedulers}, as a benchmark parameter.
+ *
+ * Virtual thread schedulers fail to set up on JDK older than 21.
+ */
+public enum SchedulerType {
+
+    FORK_JOIN_POOL {
+        @Override
+        IActorScheduler create() {
+            return Schedulers.newForkJoinPoolScheduler(THROUGHPUT);
+        }
+    },
+    EXECUTOR_BASED {
+        @Override
+        IActorScheduler create() {
+            return Schedulers.newExecutorBasedScheduler(Executors.newCachedThreadPool(), THROUGHPUT);
+        }
+    },
+    TIME_SLICED {
+        @Override
+        IActorScheduler create() {
+            return Schedulers.newTimeSlicedScheduler(ForkJoinPool.commonPool(), TIME_MICROS);
+        }
+    },
+    ADAPTIVE {
+        @Override
+        IActorScheduler create() {
+            return Schedulers.newAdaptiveScheduler(ForkJoinPool.commonPool(), TIME_MICROS);
+        }
+    },
+    FIXED_THREAD_POOL {
+        @Override
+        IActorScheduler create() {
+            return Schedulers.newFixedThreadPoolScheduler(Runtime.getRuntime().availableProcessors(), THROUGHPUT);
+        }
+    },
+    WORK_STEALING {
+        @Override
+        IActorScheduler create() {
+            return Schedulers.newWorkStealingScheduler(THROUGHPUT);
+        }
+    },
+    BLOCKING_THREAD {
+        @Override
+        IActorScheduler create() {
+            BlockingThreadScheduler scheduler = Schedulers.newBlockingThreadScheduler();
+            Thread thread = new Thread(scheduler::start, "actr:blocking");
+            thread.setDaemon(true);
+            thread.start();
+            return scheduler;
+        }
+    },
+    SINGLE_THREAD {
+        @Override
+        IActorScheduler create() {
+            return Schedulers.newSingleThreadScheduler();
+        }
+    },
+    THREAD_PER_ACTOR {
+        @Override
+        IActorScheduler create() {
+            return Schedulers.newThreadPerActorScheduler();
+        }
+    },
+    VIRTUAL_THREAD_PER_ACTOR {
+        @Override
+        IActorScheduler create() {
+            return Schedulers.newVirtualThreadPerActorScheduler();
+        }
+    },
+    VIRTUAL_THREAD {
+        @Override
+        IActorScheduler create() {
+            return Schedulers.newVirtualThreadScheduler(THROUGHPUT);
+        }
+    };
+
+    private static final int THROUGHPUT = 10;
+    private static final long TIME_MICROS = 100;
+
+    abstract IActorScheduler create();
+}
@@ -0,0 +1,62 @@
+package com.zakgof.actr.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+
+import com.zakgof.actr.IActorRef;
+
+/**
+ * Message throughput from one and from several sending threads to a single actor.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TellBenchmark extends ActorSystemState {
+
+    private static final int MESSAGES = 10_000;
+
+    private IActorRef<Counter> counter;
+
+    @Override
+    protected void setUp() {
+        counter = system.actorOf(Counter::new);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES)
+    public long oneToOne() {
+        return send();
+    }
+
+    @Benchmark
+    @Threads(4)
+    @OperationsPerInvocation(MESSAGES)
+    public long manyToOne() {
+        return send();
+    }
+
+    private long send() {
+        for (int i = 0; i < MESSAGES; i++) {
+            counter.tell(Counter::increment);
+        }
+        return counter.ask(Counter::value).join();
+    }
+
+    private static class Counter {
+
+        private long value;
+
+        private void increment() {
+            value++;
+        }
+
+        private long value() {
+            return value;
+        }
+    }
+}
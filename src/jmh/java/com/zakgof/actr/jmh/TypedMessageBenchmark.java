@@ -0,0 +1,88 @@
+package com.zakgof.actr.jmh;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import com.zakgof.actr.IActorRef;
+import com.zakgof.actr.IRemoteCodec;
+import com.zakgof.actr.Remoting;
+import com.zakgof.actr.TypedActor;
+
+/**
+ * Capturing lambdas versus generated typed messages: local tell throughput, and a Java serialization round trip as done by remote transports. Run with {@code -prof gc} to compare allocation per message.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TypedMessageBenchmark extends ActorSystemState {
+
+    private static final int MESSAGES = 10_000;
+    private static final IRemoteCodec CODEC = Remoting.javaSerialization();
+
+    private IActorRef<Counter> counter;
+    private TypedMessageBenchmark_CounterRef typed;
+
+    @Override
+    protected void setUp() {
+        counter = system.actorOf(CounterImpl::new);
+        typed = new TypedMessageBenchmark_CounterRef(counter);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES)
+    public long tellLambda() {
+        for (int i = 0; i < MESSAGES; i++) {
+            int value = i;
+            counter.tell(c -> c.add(value));
+        }
+        return counter.ask(Counter::total).join();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES)
+    public long tellMessage() {
+        for (int i = 0; i < MESSAGES; i++) {
+            typed.add(i);
+        }
+        return typed.total().join();
+    }
+
+    @Benchmark
+    public Object serializeLambda() {
+        int value = 42;
+        return CODEC.decode(ByteBuffer.wrap(CODEC.encode(Remoting.<Counter> command(c -> c.add(value)))));
+    }
+
+    @Benchmark
+    public Object serializeMessage() {
+        return CODEC.decode(ByteBuffer.wrap(CODEC.encode(TypedMessageBenchmark_CounterMessages.add(42))));
+    }
+
+    @TypedActor
+    public interface Counter {
+
+        void add(int value);
+
+        long total();
+    }
+
+    private static class CounterImpl implements Counter {
+
+        private long total;
+
+        @Override
+        public void add(int value) {
+            total += value;
+        }
+
+        @Override
+        public long total() {
+            return total;
+        }
+    }
+}
@@ -38,6 +38,16 @@ public class Actr {
         return new ActorSystemImpl(name, defaultScheduler);
     }
 
+    /**
+     * Get an instance of {@link IActorSystemBuilder} to create an actor system with the specified name.
+     *
+     * @param name actor system name
+     * @return actor system builder instance
+     */
+    public static IActorSystemBuilder systemBuilder(String name) {
+        return new ActorSystemImpl.ActorSystemBuilderImpl(name);
+    }
+
     /**
      * Gets the reference to the actor from its code.
      *
@@ -0,0 +1,77 @@
+package com.zakgof.actr;
+
+import java.util.concurrent.CompletionException;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.ObjLongConsumer;
+
+import com.zakgof.actr.impl.ActorPublisher;
+import com.zakgof.actr.impl.ActorSubscriber;
+
+/**
+ * Static factory to connect actors to {@link java.util.concurrent.Flow} reactive streams.
+ */
+public class Flows {
+
+    private Flows() {
+    }
+
+    /**
+     * Creates a subscriber delivering the received items to an actor.
+     *
+     * Works like {@link #subscriber(IActorRef, BiConsumer, BiConsumer, Consumer, int)}; stream completion is ignored and a stream error is rethrown in the actor's thread context, triggering the actor's exception handler.
+     *
+     * @param <T> actor POJO class
+     * @param <I> item class
+     * @param actor actor to receive the items
+     * @param onNext action to be executed on actor's object for each item
+     * @param bufferSize maximum number of items sent to the actor and not yet processed
+     * @return subscriber
+     */
+    public static <T, I> IActorSubscriber<I> subscriber(IActorRef<T> actor, BiConsumer<T, I> onNext, int bufferSize) {
+        return subscriber(actor, onNext, (target, error) -> {
+            throw new CompletionException(error);
+        }, target -> {
+        }, bufferSize);
+    }
+
+    /**
+     * Creates a subscriber delivering the received items to an actor.
+     *
+     * Each item is sent to the actor's mailbox by {@link IActorRef#tell(Consumer)}. The subscriber initially requests {@code bufferSize} items and requests more as the actor processes them, in batches of half the buffer size, so that at most
+     * {@code bufferSize} items wait in the actor's mailbox. All the calls to the subscription are made in the actor's thread context.
+     *
+     * @param <T> actor POJO class
+     * @param <I> item class
+     * @param actor actor to receive the items
+     * @param onNext action to be executed on actor's object for each item
+     * @param onError action to be executed on actor's object when the stream fails
+     * @param onComplete action to be executed on actor's object when the stream completes
+     * @param bufferSize maximum number of items sent to the actor and not yet processed
+     * @return subscriber
+     */
+    public static <T, I> IActorSubscriber<I> subscriber(IActorRef<T> actor, BiConsumer<T, I> onNext, BiConsumer<T, Throwable> onError, Consumer<T> onComplete, int bufferSize) {
+        if (bufferSize <= 0)
+            throw new IllegalArgumentException("Buffer size must be positive: " + bufferSize);
+        return new ActorSubscriber<>(actor, onNext, onError, onComplete, bufferSize);
+    }
+
+    /**
+     * Creates a publisher fed by an actor.
+     *
+     * The actor publishes items by calling {@link IActorPublisher#offer(Object)} in its thread context. Demand requested by the subscriber is delivered to the actor's mailbox: the buffered items are passed to the subscriber first, then
+     * {@code onDemand} is called in the actor's thread context with the remaining demand, so that the actor produces items only when requested. Requests made while a previous demand is still in the actor's mailbox are merged into it.
+     *
+     * @param <T> actor POJO class
+     * @param <O> item class
+     * @param actor actor to produce the items
+     * @param onDemand action to be executed on actor's object when the subscriber requests items, receiving the number of items requested and not yet published
+     * @param bufferSize maximum number of items published by the actor and not yet requested by the subscriber
+     * @return publisher
+     */
+    public static <T, O> IActorPublisher<O> publisher(IActorRef<T> actor, ObjLongConsumer<T> onDemand, int bufferSize) {
+        if (bufferSize <= 0)
+            throw new IllegalArgumentException("Buffer size must be positive: " + bufferSize);
+        return new ActorPublisher<>(actor, onDemand, bufferSize);
+    }
+}
@@ -0,0 +1,25 @@
+package com.zakgof.actr;
+
+import java.util.function.Consumer;
+
+/**
+ * Builder collecting several messages to an actor to be sent at once.
+ *
+ * @param <T> actor POJO class
+ * @see IActorRef#batch()
+ */
+public interface IActorBatch<T> {
+
+    /**
+     * Adds a message to the batch. The message is not sent until {@link #send()} is called.
+     *
+     * @param action action to be executed on actor's object.
+     * @return this builder
+     */
+    IActorBatch<T> tell(Consumer<T> action);
+
+    /**
+     * Sends all the collected messages in one operation, see {@link IActorRef#tellAll(java.util.Collection)}. The batch is emptied and may be reused.
+     */
+    void send();
+}
@@ -1,5 +1,6 @@
 package com.zakgof.actr;
 
+import java.util.List;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
@@ -59,6 +60,49 @@ public interface IActorBuilder<T> {
      */
     IActorBuilder<T> exceptionHandler(BiConsumer<T, Exception> exceptionHandler);
 
+    /**
+     * Limits the number of pending messages in the actor's mailbox.
+     *
+     * When the mailbox is full, new messages are handled according to {@link #overflowPolicy(OverflowPolicy)}, which is {@link OverflowPolicy#DROP_NEWEST} by default. Mailboxes are unbounded unless this method is called.
+     *
+     * Actor destruction is never blocked by a full mailbox.
+     *
+     * @param capacity maximum number of pending messages
+     * @return this builder
+     */
+    IActorBuilder<T> mailboxCapacity(int capacity);
+
+    /**
+     * Sets the policy for messages sent to the actor when its mailbox is full.
+     *
+     * @param overflowPolicy overflow policy
+     * @return this builder
+     */
+    IActorBuilder<T> overflowPolicy(OverflowPolicy overflowPolicy);
+
+    /**
+     * Sets a callback to be triggered whenever a message to the actor is discarded because its mailbox is full.
+     *
+     * The callback is executed in the sender's thread for {@link OverflowPolicy#DROP_NEWEST} and {@link OverflowPolicy#FAIL} and in actor's thread context for {@link OverflowPolicy#DROP_OLDEST}, so it should be thread-safe.
+     *
+     * @param overflowHandler callback receiving the reference to the overflown actor
+     * @return this builder
+     */
+    IActorBuilder<T> overflowHandler(Consumer<IActorRef<T>> overflowHandler);
+
+    /**
+     * Enables passivation of the actor being constructed: when idle, the actor's POJO class instance is saved to a store and released. The actor reference stays valid, and the instance is loaded back from the store when the next message
+     * arrives; messages sent meanwhile wait in the mailbox.
+     *
+     * The actor is passivated after idleTimeoutMs without messages, and when the actor system exceeds its limit of active actors, see {@link IActorSystemBuilder#maxActiveActors(int)}. The destructor is only called when the actor is destroyed,
+     * not when it is passivated.
+     *
+     * @param stateStore store for the state of the passivated actor, see {@link StateStores}
+     * @param idleTimeoutMs idle time in milliseconds before passivation, 0 to only passivate when the limit of active actors is exceeded
+     * @return this builder
+     */
+    IActorBuilder<T> passivation(IStateStore<T> stateStore, long idleTimeoutMs);
+
     /**
      * Creates an actor using this builder.
      *
@@ -66,4 +110,14 @@ public interface IActorBuilder<T> {
      */
     IActorRef<T> build();
 
+    /**
+     * Creates several actors using this builder. Actors get their own POJO class instances created by the constructor. If a name was set, actors are named name-0, name-1 and so on.
+     *
+     * Actors are registered in the actor system in a single batch, which is cheaper than building them one by one.
+     *
+     * @param count number of actors to create
+     * @return references to the new actors
+     */
+    List<IActorRef<T>> build(int count);
+
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.zakgof.actr;
+
+import java.io.Serializable;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Immutable message calling an actor interface method, generated for interfaces annotated with {@link TypedActor}.
+ *
+ * A message may be sent by {@link IActorRef#tell(Consumer)} or {@link IActorRef#ask(Function)}, any number of times and to any actor implementing the interface. Unlike a lambda, a message exposes the method and arguments it calls, so
+ * that it can be routed, logged or encoded field by field; with arguments of serializable types, it can be sent to remote actors as is.
+ *
+ * @param <T> actor interface
+ * @param <R> method result class, {@link Void} for void methods
+ */
+public interface IActorMessage<T, R> extends Consumer<T>, Function<T, R>, Serializable {
+
+    /**
+     * @return index of the called method among the interface methods, in declaration order
+     */
+    int methodIndex();
+
+    /**
+     * @return name of the called method
+     */
+    String methodName();
+
+    /**
+     * @return new array of the call arguments, primitives boxed
+     */
+    Object[] arguments();
+
+    /**
+     * Calls the method, discarding the result.
+     *
+     * @param target actor object
+     */
+    @Override
+    default void accept(T target) {
+        apply(target);
+    }
+}
@@ -0,0 +1,57 @@
+package com.zakgof.actr;
+
+/**
+ * Metrics sink receiving actor and scheduler events, see {@link IActorSystemBuilder#metrics(IActorMetrics)}.
+ *
+ * Methods are called on the hot path from any thread concurrently, so implementations must be thread-safe, fast and must not throw. When no sink is configured, the events are not collected at all.
+ *
+ * See {@link com.zakgof.actr.impl.ActorMetricsCollector} for an implementation aggregating the events into {@link Histogram}s.
+ */
+public interface IActorMetrics {
+
+    /**
+     * Called when a message is accepted into an actor's mailbox.
+     *
+     * @param actor target actor
+     * @param depth number of messages pending in the mailbox, including this one
+     */
+    default void enqueued(IActorRef<?> actor, int depth) {
+    }
+
+    /**
+     * Called when a message is discarded because the actor's mailbox is full.
+     *
+     * @param actor target actor
+     */
+    default void rejected(IActorRef<?> actor) {
+    }
+
+    /**
+     * Called when a message has been run.
+     *
+     * @param actor target actor
+     * @param waitNanos time from enqueueing the message to starting it
+     * @param processingNanos time taken by running the message
+     */
+    default void processed(IActorRef<?> actor, long waitNanos, long processingNanos) {
+    }
+
+    /**
+     * Called when a scheduler has finished processing a batch of an actor's messages.
+     *
+     * @param scheduler scheduler
+     * @param actor actor which messages were run
+     * @param messages number of messages run
+     * @param busyNanos time spent running them
+     */
+    default void drained(IActorScheduler scheduler, IActorRef<?> actor, int messages, long busyNanos) {
+    }
+
+    /**
+     * Called when an actor has been destroyed.
+     *
+     * @param actor destroyed actor
+     */
+    default void disposed(IActorRef<?> actor) {
+    }
+}
@@ -0,0 +1,45 @@
+package com.zakgof.actr;
+
+import java.util.concurrent.Flow;
+
+/**
+ * {@link Flow.Publisher} fed by an actor, see {@link Flows#publisher(IActorRef, java.util.function.ObjLongConsumer, int)}.
+ *
+ * The publisher supports a single subscriber. Methods of this interface must be called in the actor's thread context; the subscriber's methods are called in the actor's thread context as well.
+ *
+ * @param <O> item class
+ */
+public interface IActorPublisher<O> extends Flow.Publisher<O> {
+
+    /**
+     * Publishes an item.
+     *
+     * The item is passed to the subscriber right away when it has requested more items, otherwise it is buffered until requested.
+     *
+     * @param item item
+     * @return true if the item was published or buffered, false if it was discarded because the buffer is full, the subscription is cancelled or the publisher is completed
+     */
+    boolean offer(O item);
+
+    /**
+     * Completes the stream once the buffered items are passed to the subscriber.
+     */
+    void complete();
+
+    /**
+     * Fails the stream, discarding the buffered items.
+     *
+     * @param error error to be passed to the subscriber
+     */
+    void error(Throwable error);
+
+    /**
+     * @return number of items requested by the subscriber and not yet published
+     */
+    long demand();
+
+    /**
+     * @return true if the subscriber has cancelled its subscription
+     */
+    boolean isCancelled();
+}
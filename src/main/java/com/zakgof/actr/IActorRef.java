@@ -1,6 +1,8 @@
 package com.zakgof.actr;
 
+import java.util.Collection;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -26,6 +28,34 @@ public interface IActorRef<T> extends AutoCloseable {
      */
     void tell(Consumer<T> action);
 
+    /**
+     * Sends a message to the actor defined by this reference if its mailbox is not full.
+     *
+     * Works like {@link #tell(Consumer)}, but never throws {@link MailboxOverflowException}; the actor's overflow handler is still triggered when the message is discarded.
+     *
+     * @param action action to be executed on actor's object.
+     * @return true if the message was accepted, false if it was discarded because the actor's mailbox is full
+     */
+    boolean tryTell(Consumer<T> action);
+
+    /**
+     * Sends several messages to the actor defined by this reference in one operation.
+     *
+     * The actions are executed on the actor's object in the collection's iteration order, as if sent by consecutive calls to {@link #tell(Consumer)}, but they are published to the actor's mailbox all together and the actor is woken up at most
+     * once. If the actor's mailbox gets full, the remaining messages are discarded and the actor's overflow handler is triggered for each of them; with {@link OverflowPolicy#FAIL} the accepted messages are sent and {@link MailboxOverflowException} is
+     * thrown.
+     *
+     * @param actions actions to be executed on actor's object.
+     */
+    void tellAll(Collection<? extends Consumer<T>> actions);
+
+    /**
+     * Creates a builder to collect several messages and send them with {@link #tellAll(Collection)}.
+     *
+     * @return message batch builder
+     */
+    IActorBatch<T> batch();
+
     /**
      * Schedules an action to be executed once after a specified time.
      *
@@ -33,8 +63,33 @@ public interface IActorRef<T> extends AutoCloseable {
      *
      * @param action action to be executed on actor's object.
      * @param ms delay in milliseconds
+     * @return handle to cancel the scheduled action
+     */
+    ICancellable later(Consumer<T> action, long ms);
+
+    /**
+     * Schedules an action to be executed periodically with a fixed delay between the end of an execution and the start of the next one.
+     *
+     * The specified action is executed on the actor's object asynchronously in actor's thread context. The first execution happens after one period. The schedule stops when the actor is destroyed.
+     *
+     * @param action action to be executed on actor's object.
+     * @param periodMs delay between executions in milliseconds
+     * @return handle to cancel the schedule
+     */
+    ICancellable every(Consumer<T> action, long periodMs);
+
+    /**
+     * Schedules an action to be executed periodically at a fixed rate.
+     *
+     * The specified action is executed on the actor's object asynchronously in actor's thread context at initialDelayMs, initialDelayMs + periodMs, initialDelayMs + 2 * periodMs and so on, without accumulating drift. If the actor has not
+     * executed the previous action by the time of the next one, e.g. when it is overloaded, the next one is skipped instead of queueing a backlog. The schedule stops when the actor is destroyed.
+     *
+     * @param action action to be executed on actor's object.
+     * @param initialDelayMs delay before the first execution in milliseconds
+     * @param periodMs period in milliseconds
+     * @return handle to cancel the schedule
      */
-    void later(Consumer<T> action, long ms);
+    ICancellable atFixedRate(Consumer<T> action, long initialDelayMs, long periodMs);
 
     /**
      * Sends a message to actor and gets a response.
@@ -93,6 +148,97 @@ public interface IActorRef<T> extends AutoCloseable {
      */
     <R> CompletableFuture<R> ask(BiConsumer<T, Consumer<R>> action);
 
+    /**
+     * Sends a message to actor and gets a response, unless it times out.
+     *
+     * Works like {@link #ask(Function, Consumer)}, with a timeout as described in {@link #ask(BiConsumer, long)}.
+     *
+     * @param <R> actor call response class
+     * @param action action to be executed on actor's object, return value will be the response
+     * @param consumer consumer to receive the response
+     * @param onTimeout consumer to receive the timeout error in the caller's actor thread context, or in the timer thread when called not from actor's context
+     * @param timeoutMs timeout in milliseconds
+     */
+    <R> void ask(Function<T, R> action, Consumer<R> consumer, Consumer<TimeoutException> onTimeout, long timeoutMs);
+
+    /**
+     * Sends a message to actor and gets a response, unless it times out.
+     *
+     * Works like {@link #ask(BiConsumer, Consumer)}, with a timeout as described in {@link #ask(BiConsumer, long)}.
+     *
+     * @param <R> actor call response class
+     * @param action action to be executed on actor's object; the BiConsumer accepts the actor's object and the callback to receive the actor's call result.
+     * @param consumer consumer to receive the response
+     * @param onTimeout consumer to receive the timeout error in the caller's actor thread context, or in the timer thread when called not from actor's context
+     * @param timeoutMs timeout in milliseconds
+     */
+    <R> void ask(BiConsumer<T, Consumer<R>> action, Consumer<R> consumer, Consumer<TimeoutException> onTimeout, long timeoutMs);
+
+    /**
+     * Sends a message to actor and returns a CompletableFuture to be completed with the response value, or failed with {@link TimeoutException} if there is no response in time.
+     *
+     * Works like {@link #ask(Function)}, with a timeout as described in {@link #ask(BiConsumer, long)}.
+     *
+     * @param <R> actor call response class
+     * @param action action to be executed on actor's object, return value will be the response
+     * @param timeoutMs timeout in milliseconds
+     * @return CompletableFuture to be completed with the actor's call result
+     */
+    <R> CompletableFuture<R> ask(Function<T, R> action, long timeoutMs);
+
+    /**
+     * Sends a message to actor and returns a CompletableFuture to be completed with the response value, or failed with {@link TimeoutException} if there is no response in time.
+     *
+     * Works like {@link #ask(BiConsumer)}. If the actor does not respond within the timeout, e.g. when it is stuck or closed, the future fails with {@link TimeoutException} in the caller's actor thread context, or in the timer thread when
+     * called not from actor's context; a response arriving later is ignored. Once the ask times out, its action and response consumers are released, and the action is skipped if the actor has not started it yet. A response in time cancels
+     * the timeout.
+     *
+     * @param <R> actor call response class
+     * @param action action to be executed on actor's object; the BiConsumer accepts the actor's object and the callback to receive the actor's call result.
+     * @param timeoutMs timeout in milliseconds
+     * @return CompletableFuture to be completed with the actor's call result
+     */
+    <R> CompletableFuture<R> ask(BiConsumer<T, Consumer<R>> action, long timeoutMs);
+
+    /**
+     * Sends a message to actor and gets a stream of responses, in chunks of 256 elements.
+     *
+     * See {@link #askStream(BiConsumer, Consumer, int)}.
+     *
+     * @param <R> stream element class
+     * @param action action to be executed on actor's object; the BiConsumer accepts the actor's object and the sink to push the elements to.
+     * @param consumer consumer to receive the elements
+     * @return CompletableFuture to be completed when the stream ends
+     */
+    <R> CompletableFuture<Void> askStream(BiConsumer<T, IStreamSink<R>> action, Consumer<R> consumer);
+
+    /**
+     * Sends a message to actor and gets a stream of responses.
+     *
+     * Performs the specified call on the actor's object asynchronously. The call is executed in this actor's thread context, it should set a producer with {@link IStreamSink#onDemand(java.util.function.LongConsumer)} to push the elements as
+     * the caller requests them, and complete the sink at the end. Each element is passed to the consumer in the caller's actor thread context, or in the target actor's thread context when called not from actor's context.
+     *
+     * The caller requests a chunk of elements at first and another one whenever it has processed half of a chunk, so that at most a chunk of elements waits in the caller's mailbox and at most another one in the target's buffer, whatever the
+     * stream length.
+     *
+     * This method returns a CompletableFuture, which is completed once all the elements are consumed, or exceptionally when the stream fails; both completions occur in the caller's actor thread context. Cancelling the future cancels the
+     * stream.
+     *
+     * @param <R> stream element class
+     * @param action action to be executed on actor's object; the BiConsumer accepts the actor's object and the sink to push the elements to.
+     * @param consumer consumer to receive the elements
+     * @param chunkSize number of elements to request at once
+     * @return CompletableFuture to be completed when the stream ends
+     */
+    <R> CompletableFuture<Void> askStream(BiConsumer<T, IStreamSink<R>> action, Consumer<R> consumer, int chunkSize);
+
+    /**
+     * Returns latency summary of this actor's sampled messages, see {@link IActorSystemBuilder#latencySampling(int)}.
+     *
+     * @return latency summary, or null if latency tracing is disabled or no message has been sampled yet
+     */
+    IMessageLatency messageLatency();
+
     /**
      * Destroy the actor.
      *
@@ -0,0 +1,56 @@
+package com.zakgof.actr;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Reference to a pool of identical actors, see {@link IActorSystem#router(IActorBuilder, RoutingStrategy, int)}.
+ *
+ * Each message sent via the router is delivered to one of the routees picked by the routing strategy. Messages sent via {@link #tellAll} or a batch go to a single routee. Delayed and periodic calls are bound to the routee picked when
+ * they are scheduled.
+ *
+ * @param <T> actor POJO class
+ */
+public interface IActorRouter<T> extends IActorRef<T> {
+
+    /**
+     * Sends a message to the routee picked by a key. With {@link RoutingStrategy#CONSISTENT_HASH}, messages with equal keys go to the same routee as long as the pool is not resized; other strategies ignore the key.
+     *
+     * @param key routing key
+     * @param action action to be executed in the routee's thread context
+     */
+    void tellKeyed(Object key, Consumer<T> action);
+
+    /**
+     * Asks the routee picked by a key, see {@link #tellKeyed(Object, Consumer)}.
+     *
+     * @param <R> actor call response class
+     * @param key routing key
+     * @param action action to be executed in the routee's thread context, returning a result
+     * @return CompletableFuture for the result
+     */
+    <R> CompletableFuture<R> askKeyed(Object key, Function<T, R> action);
+
+    /**
+     * @return current routees
+     */
+    List<IActorRef<T>> routees();
+
+    /**
+     * Changes the number of routees. New routees are built with the router's actor builder; removed routees are closed after processing their pending messages.
+     *
+     * Routee names get an index suffix that is never reused by the router, so that a new routee does not clash with a removed one still processing its messages.
+     *
+     * @param size new number of routees, at least 1
+     * @throws IllegalStateException if the router is closed
+     */
+    void resize(int size);
+
+    /**
+     * Closes all the routees. Messages sent via the router afterwards are rejected with {@link IllegalStateException}.
+     */
+    @Override
+    void close();
+}
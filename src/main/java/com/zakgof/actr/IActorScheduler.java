@@ -1,5 +1,7 @@
 package com.zakgof.actr;
 
+import java.util.List;
+
 public interface IActorScheduler extends AutoCloseable {
 
     default void actorCreated(Object actorId) {
@@ -10,6 +12,18 @@ public interface IActorScheduler extends AutoCloseable {
 
     void schedule(Runnable task, Object actorId);
 
+    /**
+     * Schedules several tasks for the same actor, to be run in the given order. Schedulers may override this method to enqueue the tasks at once and wake the actor only once.
+     *
+     * @param tasks tasks to run
+     * @param actorId actor
+     */
+    default void scheduleAll(List<? extends Runnable> tasks, Object actorId) {
+        for (Runnable task : tasks) {
+            schedule(task, actorId);
+        }
+    }
+
     @Override
     default void close() {
     }
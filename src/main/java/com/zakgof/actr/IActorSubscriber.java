@@ -0,0 +1,18 @@
+package com.zakgof.actr;
+
+import java.util.concurrent.Flow;
+
+/**
+ * {@link Flow.Subscriber} delivering the received items to an actor, see {@link Flows#subscriber(IActorRef, java.util.function.BiConsumer, int)}.
+ *
+ * @param <I> item class
+ */
+public interface IActorSubscriber<I> extends Flow.Subscriber<I> {
+
+    /**
+     * Cancels the subscription.
+     *
+     * May be called from any thread. The cancellation is performed in the actor's thread context: items already in the actor's mailbox are discarded.
+     */
+    void cancel();
+}
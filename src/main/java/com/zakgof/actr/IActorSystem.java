@@ -1,7 +1,11 @@
 package com.zakgof.actr;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.IntFunction;
 import java.util.function.Supplier;
 
 public interface IActorSystem {
@@ -32,6 +36,15 @@ public interface IActorSystem {
      */
     <T> IActorBuilder<T> actorBuilder();
 
+    /**
+     * Get an instance of {@link IPersistentActorBuilder} under this system.
+     *
+     * @param <T> actor POJO class
+     * @param <E> event class
+     * @return persistent actor builder instance
+     */
+    <T, E> IPersistentActorBuilder<T, E> persistentActorBuilder();
+
     /**
      * Create a new actor under this system with a specified POJO instance factory and name.
      *
@@ -51,7 +64,64 @@ public interface IActorSystem {
      */
     <T> IActorRef<T> actorOf(Supplier<T> constructor);
 
+    /**
+     * Create several actors under this system at once, with autogenerated names.
+     *
+     * Actors are registered in the actor system in a single batch, which is cheaper than creating them one by one.
+     *
+     * @param <T> actor POJO class
+     * @param count number of actors to create
+     * @param constructor factory to create actor POJO class instances, accepting the actor index from 0 to count - 1
+     * @return references to the new actors in the order of indexes
+     */
+    <T> List<IActorRef<T>> actorsOf(int count, IntFunction<T> constructor);
+
+    /**
+     * Finds a live actor by the name given to it on creation. Actors without a given name, named automatically, are not found.
+     *
+     * If duplicate names are allowed and several live actors share the name, the earliest created one is found; when it is destroyed, the next one is found. See {@link IActorSystemBuilder#uniqueNames()}.
+     *
+     * @param <T> actor POJO class
+     * @param name actor name
+     * @return actor reference, or null if there is no live actor with the name
+     */
+    <T> IActorRef<T> lookup(String name);
+
+    /**
+     * @return number of live actors in this system, obtained in constant time
+     */
+    int actorCount();
+
+    /**
+     * Create actors addressed by entity key, created on first use and evicted when idle.
+     *
+     * @param <K> entity key class, with proper equals and hashCode
+     * @param <T> actor POJO class
+     * @param constructor factory to create actor POJO class instance for a key; must not send to these sharded actors
+     * @param idleTimeoutMs time after which an actor without messages is evicted; eviction happens within twice that time
+     * @return sharded actors
+     */
+    <K, T> IShardedActors<K, T> sharded(Function<K, T> constructor, long idleTimeoutMs);
+
+    /**
+     * Create a router over a pool of identical actors.
+     *
+     * @param <T> actor POJO class
+     * @param builder builder of this system for the routees, with a constructor; routees are named after the builder's name with an index suffix
+     * @param strategy routing strategy
+     * @param size initial number of routees, at least 1
+     * @return router reference
+     */
+    <T> IActorRouter<T> router(IActorBuilder<T> builder, RoutingStrategy strategy, int size);
+
     <I, T> IForkBuilder<I, T> forkBuilder(Collection<I> ids);
 
+    /**
+     * Returns latency summaries of sampled messages, see {@link IActorSystemBuilder#latencySampling(int)}.
+     *
+     * @return latency summaries of live actors that have sampled messages; empty if latency tracing is disabled
+     */
+    Map<IActorRef<?>, IMessageLatency> messageLatencies();
+
     String name();
 }
\ No newline at end of file
@@ -0,0 +1,66 @@
+package com.zakgof.actr;
+
+public interface IActorSystemBuilder {
+
+    /**
+     * Sets a default scheduler for actors created under the actor system being constructed.
+     *
+     * @param defaultScheduler default scheduler for new actors
+     * @return this builder
+     */
+    IActorSystemBuilder scheduler(IActorScheduler defaultScheduler);
+
+    /**
+     * Sets timer resolution for {@link IActorRef#later} calls. Default is 1 ms.
+     *
+     * Delayed messages are dispatched on timer ticks, so a coarser tick reduces timer overhead at the cost of precision.
+     *
+     * @param tickMs timer tick duration in milliseconds
+     * @return this builder
+     */
+    IActorSystemBuilder timerTick(long tickMs);
+
+    /**
+     * Attaches a metrics sink to the actor system being constructed. By default no metrics are collected.
+     *
+     * @param metrics metrics sink, e.g. {@link com.zakgof.actr.impl.ActorMetricsCollector}
+     * @return this builder
+     */
+    IActorSystemBuilder metrics(IActorMetrics metrics);
+
+    /**
+     * Enables latency tracing for a random sample of messages sent to the actors of the actor system being constructed. Each message is sampled with probability 1 / sampleRate, e.g. 100 traces 1% of messages.
+     *
+     * Time spent by sampled messages in the mailbox and time taken to run them are summarized per actor, see {@link IActorRef#messageLatency()} and {@link IActorSystem#messageLatencies()}. By default tracing is disabled.
+     *
+     * @param sampleRate trace one in sampleRate messages, 1 to trace all messages
+     * @return this builder
+     */
+    IActorSystemBuilder latencySampling(int sampleRate);
+
+    /**
+     * Limits the number of active actors with passivation enabled, see {@link IActorBuilder#passivation(IStateStore, long)}. When the limit is exceeded, the least recently used actors are passivated. By default there is no limit.
+     *
+     * Recency is approximated: an actor is only considered used if it has processed messages since the previous eviction round.
+     *
+     * @param maxActiveActors maximum number of active passivating actors
+     * @return this builder
+     */
+    IActorSystemBuilder maxActiveActors(int maxActiveActors);
+
+    /**
+     * Requires names of live actors to be unique: creating an actor with a name already in use throws {@link IllegalArgumentException}. By default duplicate names are allowed, and {@link IActorSystem#lookup(String)} finds the
+     * earliest created live actor with the name.
+     *
+     * @return this builder
+     */
+    IActorSystemBuilder uniqueNames();
+
+    /**
+     * Creates an actor system using this builder.
+     *
+     * @return newly created actor system
+     */
+    IActorSystem build();
+
+}
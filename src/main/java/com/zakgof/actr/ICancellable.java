@@ -0,0 +1,21 @@
+package com.zakgof.actr;
+
+/**
+ * Handle to a scheduled action that can be cancelled.
+ */
+public interface ICancellable {
+
+    /**
+     * Cancels the scheduled action. Cancelled action will not be executed; if it is already running or executed, this method has no effect.
+     *
+     * Resources held by the cancelled action are released immediately.
+     *
+     * @return true if the action was cancelled by this call, false if it had already been executed or cancelled
+     */
+    boolean cancel();
+
+    /**
+     * @return true if the action has been cancelled
+     */
+    boolean isCancelled();
+}
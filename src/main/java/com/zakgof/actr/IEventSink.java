@@ -0,0 +1,28 @@
+package com.zakgof.actr;
+
+/**
+ * Handle a persistent actor uses to record its state changes, see {@link IPersistentActorBuilder#constructor(java.util.function.Function)}.
+ *
+ * @param <E> event class
+ */
+public interface IEventSink<E> {
+
+    /**
+     * Appends an event to the actor's journal and applies it to the actor's state with the event handler.
+     *
+     * Must be called in the actor's thread context. The event becomes durable with the journal's next commit.
+     *
+     * @param event event
+     */
+    void persist(E event);
+
+    /**
+     * Appends an event to the actor's journal, applies it to the actor's state with the event handler and calls back when the event is durable.
+     *
+     * Must be called in the actor's thread context. Commits are shared by all actors using the journal, so that many events are made durable by a single disk sync.
+     *
+     * @param event event
+     * @param afterCommit action to be executed in the actor's thread context once the event is durable, e.g. replying to the sender
+     */
+    void persist(E event, Runnable afterCommit);
+}
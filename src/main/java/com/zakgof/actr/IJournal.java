@@ -0,0 +1,45 @@
+package com.zakgof.actr;
+
+import java.util.function.Consumer;
+
+/**
+ * Append-only event journal for persistent actors, see {@link IActorSystem#persistentActorBuilder()}.
+ *
+ * Events are grouped into streams identified by persistence ids; events of a stream are numbered sequentially from 0. Methods may be called from any thread.
+ *
+ * See {@link Journals} for the built-in implementation.
+ */
+public interface IJournal extends AutoCloseable {
+
+    /**
+     * Appends an event to a stream. The event is not necessarily durable until a {@link #commit(Runnable)} callback registered afterwards is called.
+     *
+     * @param persistenceId stream id
+     * @param event serialized event
+     * @return sequence number of the event in the stream
+     */
+    long append(String persistenceId, byte[] event);
+
+    /**
+     * Reads events of a stream in order.
+     *
+     * @param persistenceId stream id
+     * @param fromSequence sequence number of the first event to read
+     * @param consumer consumer of serialized events
+     * @return number of events in the stream, i.e. sequence number of the next event
+     */
+    long replay(String persistenceId, long fromSequence, Consumer<byte[]> consumer);
+
+    /**
+     * Requests all the events appended so far to be made durable.
+     *
+     * @param callback callback to be called in the journal's thread once the events are durable
+     */
+    void commit(Runnable callback);
+
+    /**
+     * Makes all the appended events durable and closes the journal.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,17 @@
+package com.zakgof.actr;
+
+/**
+ * Latency summary of an actor's sampled messages, see {@link IActorSystemBuilder#latencySampling(int)}.
+ */
+public interface IMessageLatency {
+
+    /**
+     * @return time sampled messages spent in the mailbox, from sending to starting, in nanoseconds
+     */
+    Histogram queueTime();
+
+    /**
+     * @return time taken by running sampled messages, in nanoseconds
+     */
+    Histogram runTime();
+}
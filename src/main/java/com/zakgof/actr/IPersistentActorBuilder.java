@@ -0,0 +1,114 @@
+package com.zakgof.actr;
+
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Builder for event-sourced actors.
+ *
+ * A persistent actor records its state changes as events in a journal via {@link IEventSink}. When the actor is created, its POJO class instance is constructed and the recorded events are replayed to it with the event handler, restoring the state.
+ *
+ * @param <T> actor POJO class
+ * @param <E> event class
+ */
+public interface IPersistentActorBuilder<T, E> {
+
+    /**
+     * Sets the id of the actor's event stream in the journal. Required.
+     *
+     * @param persistenceId stream id, unique within the journal
+     * @return this builder
+     */
+    IPersistentActorBuilder<T, E> persistenceId(String persistenceId);
+
+    /**
+     * Sets the journal for the actor's events. Required.
+     *
+     * @param journal journal, see {@link Journals}
+     * @return this builder
+     */
+    IPersistentActorBuilder<T, E> journal(IJournal journal);
+
+    /**
+     * Sets a factory for POJO class instance creation. The instance gets the event sink to record its state changes. Required.
+     *
+     * @param constructor POJO class instance factory
+     * @return this builder
+     */
+    IPersistentActorBuilder<T, E> constructor(Function<IEventSink<E>, T> constructor);
+
+    /**
+     * Sets the handler applying an event to the actor's state, both for new events and when replaying the journal. Required.
+     *
+     * @param eventHandler event handler
+     * @return this builder
+     */
+    IPersistentActorBuilder<T, E> eventHandler(BiConsumer<T, E> eventHandler);
+
+    /**
+     * Sets the event serialization. Java serialization is used by default.
+     *
+     * @param serializer function converting an event to bytes
+     * @param deserializer function converting bytes back to an event
+     * @return this builder
+     */
+    IPersistentActorBuilder<T, E> eventSerialization(Function<E, byte[]> serializer, Function<byte[], E> deserializer);
+
+    /**
+     * Enables snapshots, so that recovery starts from the latest snapshot and replays only the events journaled after it.
+     *
+     * A snapshot is taken in the actor's thread context by copying the state with the snapshot function, and the copy is serialized and written to the store in the background after the journal has committed the events it covers. Snapshots are taken after a number of events, with an
+     * interval and when the actor is destroyed, if there were events since the previous snapshot. Snapshots are serialized with Java serialization.
+     *
+     * @param <S> snapshot class, should be immutable or not shared with the actor
+     * @param store snapshot store, see {@link StateStores#snapshotFiles(java.nio.file.Path)}
+     * @param snapshot function copying the actor's state into a snapshot
+     * @param restore factory creating a POJO class instance from the event sink and a snapshot
+     * @param everyEvents number of events between snapshots, 0 to disable
+     * @param intervalMs interval between snapshots in milliseconds, 0 to disable
+     * @return this builder
+     */
+    <S> IPersistentActorBuilder<T, E> snapshots(ISnapshotStore store, Function<T, S> snapshot, BiFunction<IEventSink<E>, S, T> restore, int everyEvents, long intervalMs);
+
+    /**
+     * Adds a destructor to be called in actor thread context when the actor is being destroyed.
+     *
+     * @param destructor action to be called on actor destruction
+     * @return this builder
+     */
+    IPersistentActorBuilder<T, E> destructor(Consumer<T> destructor);
+
+    /**
+     * Sets a name for the actor being constructed.
+     *
+     * @param name actor name
+     * @return this builder
+     */
+    IPersistentActorBuilder<T, E> name(String name);
+
+    /**
+     * Sets a scheduler for the actor being constructed.
+     *
+     * @param scheduler scheduler to be used for the actor being constructed
+     * @return this builder
+     */
+    IPersistentActorBuilder<T, E> scheduler(IActorScheduler scheduler);
+
+    /**
+     * Sets an exception handler for the actor being constructed.
+     *
+     * @param exceptionHandler exception handler to be triggered
+     * @return this builder
+     */
+    IPersistentActorBuilder<T, E> exceptionHandler(BiConsumer<T, Exception> exceptionHandler);
+
+    /**
+     * Creates the actor and restores its state from the latest snapshot and the journal.
+     *
+     * @return newly created ActorRef instance
+     * @throws IllegalStateException if the journal has fewer events than the latest snapshot covers
+     */
+    IActorRef<T> build();
+}
@@ -0,0 +1,28 @@
+package com.zakgof.actr;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Codec for messages, results and failures passed between remote endpoints, see {@link Remoting}.
+ *
+ * Methods are called concurrently: encoding in the sending threads and decoding in the endpoint's thread.
+ */
+public interface IRemoteCodec {
+
+    /**
+     * Encodes an object.
+     *
+     * @param object action sent to an actor, result or exception returned by an actor
+     * @return encoded object
+     * @throws IllegalArgumentException if the object cannot be encoded
+     */
+    byte[] encode(Object object);
+
+    /**
+     * Decodes an object.
+     *
+     * @param data buffer with the encoded object between its position and limit, valid during the call only
+     * @return decoded object
+     */
+    Object decode(ByteBuffer data);
+}
@@ -0,0 +1,58 @@
+package com.zakgof.actr;
+
+import java.net.InetSocketAddress;
+
+/**
+ * Endpoint connecting actor systems in different processes, see {@link Remoting}.
+ *
+ * An endpoint exposes selected local actors by name to remote peers and creates proxies to actors exposed by other endpoints. Messages to a proxy are encoded with the endpoint's {@link IRemoteCodec} and sent over a single
+ * connection per remote address, which is opened on the first message and reopened on the next message after it fails. Messages from one sender to one remote actor are delivered in order.
+ *
+ * Methods may be called from any thread.
+ */
+public interface IRemoteEndpoint extends AutoCloseable {
+
+    /**
+     * @return address the endpoint listens on, or null if the endpoint does not accept connections
+     */
+    InetSocketAddress address();
+
+    /**
+     * Makes a local actor available to remote peers. Exposing another actor under the same name replaces the previous one.
+     *
+     * @param <T> actor POJO class
+     * @param name name remote peers address the actor by
+     * @param actor local actor
+     */
+    <T> void expose(String name, IActorRef<T> actor);
+
+    /**
+     * Stops exposing an actor. Messages subsequently received for the name are dropped, and asks fail.
+     *
+     * @param name name the actor was exposed under
+     */
+    void unexpose(String name);
+
+    /**
+     * Creates a proxy to an actor exposed by a remote endpoint. No connection is made until the first message is sent.
+     *
+     * Messages sent to the proxy and results returned by the remote actor must be supported by the codec, see {@link Remoting#command(Remoting.ICommand)}. Asks fail if the remote actor is not exposed or the connection is lost. Closing
+     * the proxy does not affect the remote actor. A message sent over a closed connection or endpoint is not delivered: {@link IActorRef#tell(java.util.function.Consumer)} throws {@link IllegalStateException} and
+     * {@link IActorRef#tryTell(java.util.function.Consumer)} returns false; after a lost connection the next message reconnects. {@link IActorRef#messageLatency()} returns null.
+     *
+     * Streaming asks, see {@link Remoting#stream(Remoting.IStreamQuery)}, signal demand over the connection, so that the remote actor pushes at most two chunks of elements ahead of the consumer whatever the stream length. Called from non-actor context, the elements
+     * are passed to the consumer in a temporary actor's thread context. The stream fails if the connection is lost, and an element that cannot be encoded fails the stream.
+     *
+     * @param <T> remote actor POJO class
+     * @param address address of the remote endpoint
+     * @param name name the remote actor is exposed under
+     * @return actor reference sending messages to the remote actor
+     */
+    <T> IActorRef<T> actor(InetSocketAddress address, String name);
+
+    /**
+     * Closes all the connections and stops the endpoint. Pending asks fail.
+     */
+    @Override
+    void close();
+}
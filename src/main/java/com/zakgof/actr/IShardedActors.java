@@ -0,0 +1,59 @@
+package com.zakgof.actr;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Actors addressed by entity key, see {@link IActorSystem#sharded(Function, long)}.
+ *
+ * An actor is created on the first message sent to its key and closed after being idle, so that the next message to the key creates a new actor. Messages are never lost to eviction: an actor is only evicted when no message is being
+ * sent to it, and its pending messages are processed before it is destroyed.
+ *
+ * Each key with a live actor takes about 340 bytes of heap besides the key and the actor POJO (measured on a 64-bit JVM with compressed references), so memory follows the number of keys active within the idle timeout. Eviction
+ * sweeps visit the keys used in the epoch going idle rather than all the keys.
+ *
+ * @param <K> entity key class
+ * @param <T> actor POJO class
+ */
+public interface IShardedActors<K, T> extends AutoCloseable {
+
+    /**
+     * Sends a message to the actor for a key, creating the actor if needed.
+     *
+     * @param key entity key
+     * @param action action to be executed in the actor's thread context
+     */
+    void tell(K key, Consumer<T> action);
+
+    /**
+     * Asks the actor for a key, creating the actor if needed. The result is delivered in the caller's thread context, see {@link IActorRef#ask(Function, Consumer)}.
+     *
+     * @param <R> actor call response class
+     * @param key entity key
+     * @param action action to be executed in the actor's thread context, returning a result
+     * @param consumer consumer to receive the result
+     */
+    <R> void ask(K key, Function<T, R> action, Consumer<R> consumer);
+
+    /**
+     * Asks the actor for a key, creating the actor if needed.
+     *
+     * @param <R> actor call response class
+     * @param key entity key
+     * @param action action to be executed in the actor's thread context, returning a result
+     * @return CompletableFuture for the result
+     */
+    <R> CompletableFuture<R> ask(K key, Function<T, R> action);
+
+    /**
+     * @return number of live actors, obtained in constant time
+     */
+    int size();
+
+    /**
+     * Stops eviction and closes all the live actors.
+     */
+    @Override
+    void close();
+}
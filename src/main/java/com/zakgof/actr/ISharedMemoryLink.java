@@ -0,0 +1,45 @@
+package com.zakgof.actr;
+
+/**
+ * Link between actor systems in two processes on one host through shared memory, see {@link Remoting#sharedMemory(IActorSystem, java.nio.file.Path, java.nio.file.Path, IRemoteCodec)}.
+ *
+ * Each side exposes selected local actors by name and creates proxies to actors exposed by the other side. Messages are encoded with the link's {@link IRemoteCodec} and delivered in order. The link starts receiving when the
+ * first actor is exposed or the first proxy is created, so expose all the actors receiving messages left by a previous run at once.
+ *
+ * Methods may be called from any thread.
+ */
+public interface ISharedMemoryLink extends AutoCloseable {
+
+    /**
+     * Makes a local actor available to the other side. Exposing another actor under the same name replaces the previous one.
+     *
+     * @param <T> actor POJO class
+     * @param name name the other side addresses the actor by
+     * @param actor local actor
+     */
+    <T> void expose(String name, IActorRef<T> actor);
+
+    /**
+     * Stops exposing an actor. Messages subsequently received for the name are dropped, and asks fail.
+     *
+     * @param name name the actor was exposed under
+     */
+    void unexpose(String name);
+
+    /**
+     * Creates a proxy to an actor exposed by the other side, see {@link IRemoteEndpoint#actor(java.net.InetSocketAddress, String)}.
+     *
+     * Sending to the proxy blocks while the outbound ring is full. Asks remain pending while the other side is not running.
+     *
+     * @param <T> remote actor POJO class
+     * @param name name the remote actor is exposed under
+     * @return actor reference sending messages to the remote actor
+     */
+    <T> IActorRef<T> actor(String name);
+
+    /**
+     * Stops reading the inbound ring. Pending asks fail.
+     */
+    @Override
+    void close();
+}
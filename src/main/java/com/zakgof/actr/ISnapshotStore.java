@@ -0,0 +1,59 @@
+package com.zakgof.actr;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Storage for snapshots of persistent actors, see {@link IPersistentActorBuilder#snapshots(ISnapshotStore, java.util.function.Function, java.util.function.BiFunction, int, long)}.
+ *
+ * A snapshot is the serialized state of an actor after a number of events of its journal stream. Only the latest snapshot of a stream is needed for recovery. Methods may be called from any thread; calls for the same stream are not
+ * concurrent.
+ *
+ * See {@link StateStores} for the built-in implementation.
+ */
+public interface ISnapshotStore {
+
+    /**
+     * Stores a snapshot, replacing the previous one of the stream.
+     *
+     * @param persistenceId stream id
+     * @param sequence number of the stream's events included into the snapshot
+     * @param snapshot serialized state
+     */
+    void save(String persistenceId, long sequence, byte[] snapshot);
+
+    /**
+     * Loads the latest snapshot of a stream.
+     *
+     * @param persistenceId stream id
+     * @return snapshot or null if the stream has none
+     */
+    Snapshot load(String persistenceId);
+
+    /**
+     * Snapshot loaded from a store.
+     */
+    final class Snapshot {
+
+        private final long sequence;
+        private final ByteBuffer data;
+
+        public Snapshot(long sequence, ByteBuffer data) {
+            this.sequence = sequence;
+            this.data = data;
+        }
+
+        /**
+         * @return number of the stream's events included into the snapshot
+         */
+        public long sequence() {
+            return sequence;
+        }
+
+        /**
+         * @return serialized state
+         */
+        public ByteBuffer data() {
+            return data;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.zakgof.actr;
+
+/**
+ * Storage for the state of passivated actors, see {@link IActorBuilder#passivation(IStateStore, long)}.
+ *
+ * Actors are identified by ids unique within an actor system, so a store should not be shared between actor systems. Methods are called in the actor's thread context; calls for different actors may run concurrently.
+ *
+ * See {@link StateStores} for the built-in implementations.
+ *
+ * @param <T> actor POJO class
+ */
+public interface IStateStore<T> {
+
+    /**
+     * Stores an actor's state.
+     *
+     * @param id actor id
+     * @param state actor POJO class instance
+     */
+    void save(long id, T state);
+
+    /**
+     * Loads an actor's state.
+     *
+     * @param id actor id
+     * @return actor POJO class instance previously saved for the id
+     */
+    T load(long id);
+
+    /**
+     * Removes an actor's state, if present.
+     *
+     * @param id actor id
+     */
+    void remove(long id);
+}
@@ -0,0 +1,55 @@
+package com.zakgof.actr;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Handle an actor uses to stream elements in response to {@link IActorRef#askStream(java.util.function.BiConsumer, java.util.function.Consumer, int)}.
+ *
+ * Methods of this interface must be called in the actor's thread context.
+ *
+ * @param <R> element class
+ */
+public interface IStreamSink<R> {
+
+    /**
+     * Sets the producer to push elements when the caller requests them.
+     *
+     * The producer is called in the actor's thread context with the number of elements requested and not yet pushed, right away if there is such demand already and then whenever the caller has processed a chunk of elements. An exception
+     * thrown by the producer fails the stream.
+     *
+     * @param producer producer accepting the number of requested elements
+     */
+    void onDemand(LongConsumer producer);
+
+    /**
+     * Pushes an element to the caller.
+     *
+     * Elements pushed beyond the requested number are buffered, up to the chunk size.
+     *
+     * @param element element
+     * @return true if the element was sent or buffered, false if it was discarded because the buffer is full, the caller has cancelled the stream or the stream is completed
+     */
+    boolean next(R element);
+
+    /**
+     * Completes the stream once the buffered elements are passed to the caller.
+     */
+    void complete();
+
+    /**
+     * Fails the stream, discarding the buffered elements.
+     *
+     * @param error error to complete the caller's future with
+     */
+    void error(Throwable error);
+
+    /**
+     * @return number of elements requested by the caller and not yet pushed
+     */
+    long demand();
+
+    /**
+     * @return true if the caller has cancelled the stream
+     */
+    boolean isCancelled();
+}
@@ -0,0 +1,44 @@
+package com.zakgof.actr;
+
+import java.nio.file.Path;
+
+import com.zakgof.actr.impl.MappedJournal;
+
+/**
+ * Static factory to create event journals.
+ */
+public class Journals {
+
+    private static final int DEFAULT_SEGMENT_SIZE = 64 << 20;
+    private static final long DEFAULT_COMMIT_INTERVAL_MS = 10;
+
+    private Journals() {
+    }
+
+    /**
+     * Opens a journal stored in memory-mapped segment files of 64 MB, committing appended events every 10 ms.
+     *
+     * @param directory directory for the segment files, created if missing
+     * @return journal
+     */
+    public static IJournal mapped(Path directory) {
+        return mapped(directory, DEFAULT_SEGMENT_SIZE, DEFAULT_COMMIT_INTERVAL_MS);
+    }
+
+    /**
+     * Opens a journal stored in memory-mapped segment files.
+     *
+     * Appending an event copies it into the mapped segment. A single journal thread forces the segments to disk, committing the events appended by all the actors since the previous commit at once. A commit happens when the interval elapses or
+     * when requested by {@link IJournal#commit(Runnable)}, whatever comes later.
+     *
+     * On opening, the segments are scanned to index the events by persistence id, so that replaying a stream only reads its own events.
+     *
+     * @param directory directory for the segment files, created if missing
+     * @param segmentSize segment file size in bytes, limits the event size
+     * @param commitIntervalMs interval between commits in milliseconds
+     * @return journal
+     */
+    public static IJournal mapped(Path directory, int segmentSize, long commitIntervalMs) {
+        return new MappedJournal(directory, segmentSize, commitIntervalMs);
+    }
+}
@@ -0,0 +1,13 @@
+package com.zakgof.actr;
+
+/**
+ * Thrown when sending a message to an actor with a full mailbox and {@link OverflowPolicy#FAIL} policy.
+ */
+public class MailboxOverflowException extends RuntimeException {
+
+    private static final long serialVersionUID = -2215871254411306247L;
+
+    public MailboxOverflowException(IActorRef<?> actor) {
+        super("Mailbox is full: " + actor);
+    }
+}
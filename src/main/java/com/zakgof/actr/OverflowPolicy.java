@@ -0,0 +1,26 @@
+package com.zakgof.actr;
+
+/**
+ * Defines what happens to a message sent to an actor whose mailbox is full.
+ *
+ * @see IActorBuilder#mailboxCapacity(int)
+ */
+public enum OverflowPolicy {
+
+    /**
+     * The new message is discarded.
+     */
+    DROP_NEWEST,
+
+    /**
+     * The new message is accepted, the oldest pending message is discarded instead.
+     *
+     * Oldest messages are discarded by the actor's scheduler right before they would be run, so they are never executed.
+     */
+    DROP_OLDEST,
+
+    /**
+     * The new message is discarded and {@link IActorRef#tell} throws {@link MailboxOverflowException}.
+     */
+    FAIL
+}
@@ -0,0 +1,187 @@
+package com.zakgof.actr;
+
+import java.io.Serializable;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import com.zakgof.actr.impl.JavaSerializationCodec;
+import com.zakgof.actr.impl.NioRemoteEndpoint;
+import com.zakgof.actr.impl.SharedMemoryLink;
+
+/**
+ * Static factory to create remote endpoints, shared memory links and remote messages.
+ */
+public class Remoting {
+
+    private static final int DEFAULT_RING_SIZE = 4 << 20;
+
+    private Remoting() {
+    }
+
+    /**
+     * Creates an endpoint that only connects to remote endpoints, using unfiltered Java serialization, see {@link #javaSerialization()}. Only connect it to trusted endpoints.
+     *
+     * @param system actor system to deliver results to
+     * @return remote endpoint
+     */
+    public static IRemoteEndpoint endpoint(IActorSystem system) {
+        return endpoint(system, null, javaSerialization());
+    }
+
+    /**
+     * Creates an endpoint.
+     *
+     * A single endpoint thread runs a non-blocking selector for all the connections. Messages are framed and queued to their connection by the sending threads; the endpoint thread coalesces the queued frames into pooled direct
+     * buffers, writing many messages per system call. Received messages are decoded in the endpoint thread and passed to the exposed actors.
+     *
+     * An endpoint accepting connections decodes whatever its clients send, so its codec must not instantiate arbitrary classes, e.g. use {@link #javaSerialization(String)} with an allow-list rather than
+     * {@link #javaSerialization()}.
+     *
+     * Frames are limited to 16 MB, see {@link #endpoint(IActorSystem, InetSocketAddress, IRemoteCodec, int)}.
+     *
+     * @param system actor system of the exposed actors
+     * @param bindAddress address to listen on, or null to only connect to remote endpoints; port 0 picks a free port, see {@link IRemoteEndpoint#address()}
+     * @param codec codec for messages, results and failures; remote peers must use a compatible codec
+     * @return remote endpoint
+     */
+    public static IRemoteEndpoint endpoint(IActorSystem system, InetSocketAddress bindAddress, IRemoteCodec codec) {
+        return new NioRemoteEndpoint(system, bindAddress, codec);
+    }
+
+    /**
+     * Creates an endpoint with a frame size limit. A frame carries one encoded message, result or failure, the target actor name and a 15 byte header. A connection receiving a larger frame is closed, failing its pending asks, so that a peer
+     * cannot make the endpoint allocate arbitrary amounts of memory; sending a larger message throws {@link IllegalArgumentException}, and a larger result fails the ask.
+     *
+     * @param system actor system of the exposed actors
+     * @param bindAddress address to listen on, or null to only connect to remote endpoints; port 0 picks a free port, see {@link IRemoteEndpoint#address()}
+     * @param codec codec for messages, results and failures; remote peers must use a compatible codec
+     * @param maxFrameSize maximum frame size in bytes, both sent and received
+     * @return remote endpoint
+     */
+    public static IRemoteEndpoint endpoint(IActorSystem system, InetSocketAddress bindAddress, IRemoteCodec codec, int maxFrameSize) {
+        return new NioRemoteEndpoint(system, bindAddress, codec, maxFrameSize);
+    }
+
+    /**
+     * Creates a shared memory link to another process on the same host, using 4 MB rings; see {@link #sharedMemory(IActorSystem, Path, Path, int, IRemoteCodec)}.
+     *
+     * @param system actor system of the exposed actors
+     * @param outbound file of the ring this side writes to, which is the other side's inbound ring
+     * @param inbound file of the ring this side reads from, which is the other side's outbound ring
+     * @param codec codec for messages, results and failures; both sides must use compatible codecs, preferably {@link #javaSerialization(String)} with an allow-list
+     * @return shared memory link
+     */
+    public static ISharedMemoryLink sharedMemory(IActorSystem system, Path outbound, Path inbound, IRemoteCodec codec) {
+        return sharedMemory(system, outbound, inbound, DEFAULT_RING_SIZE, codec);
+    }
+
+    /**
+     * Creates a shared memory link to another process on the same host.
+     *
+     * Each side writes messages into a single-producer ring buffer in its outbound memory-mapped file and reads the other side's ring in a reader thread, so that messages pass without system calls or socket copies. Place the files on a
+     * memory file system, e.g. under /dev/shm on Linux. The files are created if missing and keep unread messages while the reading side is not running.
+     *
+     * Missing files are created accessible to their owner only, and existing files are rejected with {@link java.io.UncheckedIOException} unless owned by the current user and, on POSIX file systems, inaccessible to anyone else: as
+     * the inbound ring is decoded, another user able to write it could otherwise feed it arbitrary objects. So both processes must run as the same user. The codec should still only decode allowed classes, see
+     * {@link #javaSerialization(String)}.
+     *
+     * @param system actor system of the exposed actors
+     * @param outbound file of the ring this side writes to, which is the other side's inbound ring
+     * @param inbound file of the ring this side reads from, which is the other side's outbound ring
+     * @param ringSize ring capacity in bytes, a power of two, limiting the encoded message size; both sides must use the same
+     * @param codec codec for messages, results and failures; both sides must use compatible codecs
+     * @return shared memory link
+     */
+    public static ISharedMemoryLink sharedMemory(IActorSystem system, Path outbound, Path inbound, int ringSize, IRemoteCodec codec) {
+        return new SharedMemoryLink(system, outbound, inbound, ringSize, codec);
+    }
+
+    /**
+     * Codec using unfiltered Java serialization. Classes of the messages must be available to both peers. As decoding may instantiate any serializable class on the classpath, which allows remote code execution through gadget
+     * classes, only use it between trusted peers and never on an endpoint reachable by untrusted clients; see {@link #javaSerialization(String)}.
+     *
+     * @return codec
+     */
+    public static IRemoteCodec javaSerialization() {
+        return new JavaSerializationCodec();
+    }
+
+    /**
+     * Codec using Java serialization that only decodes allowed classes. Besides the classes matched by the pattern, serialized lambdas and common java.lang, java.util, java.time and java.math classes are allowed; a message with
+     * any other class fails to decode before the class is instantiated.
+     *
+     * Lambdas sent with {@link #command(ICommand)} or {@link #query(IQuery)} are decoded through the class declaring them, so the pattern must match the declaring classes as well as the classes of the captured values, results
+     * and exceptions, e.g. "com.example.model.**;com.example.service.OrderService".
+     *
+     * @param allowedClasses allowed classes in {@link java.io.ObjectInputFilter.Config#createFilter(String)} pattern syntax
+     * @return codec
+     * @throws IllegalArgumentException if the pattern is malformed
+     */
+    public static IRemoteCodec javaSerialization(String allowedClasses) {
+        return new JavaSerializationCodec(allowedClasses);
+    }
+
+    /**
+     * Makes a lambda or method reference serializable, so that it can be sent to a remote actor by {@link IActorRef#tell(Consumer)}.
+     *
+     * @param <T> actor POJO class
+     * @param command action to be executed on the remote actor's object
+     * @return serializable action
+     */
+    public static <T> Consumer<T> command(ICommand<T> command) {
+        return command;
+    }
+
+    /**
+     * Makes a lambda or method reference serializable, so that it can be sent to a remote actor by {@link IActorRef#ask(Function)}.
+     *
+     * @param <T> actor POJO class
+     * @param <R> result class
+     * @param query action to be executed on the remote actor's object, returning a result
+     * @return serializable action
+     */
+    public static <T, R> Function<T, R> query(IQuery<T, R> query) {
+        return query;
+    }
+
+    /**
+     * Makes a lambda or method reference serializable, so that it can be sent to a remote actor by {@link IActorRef#askStream(BiConsumer, Consumer, int)}. Elements pushed to the sink must be supported by the codec.
+     *
+     * @param <T> actor POJO class
+     * @param <R> stream element class
+     * @param query action to be executed on the remote actor's object, pushing the elements to the sink
+     * @return serializable action
+     */
+    public static <T, R> BiConsumer<T, IStreamSink<R>> stream(IStreamQuery<T, R> query) {
+        return query;
+    }
+
+    /**
+     * Serializable actor action.
+     *
+     * @param <T> actor POJO class
+     */
+    public interface ICommand<T> extends Consumer<T>, Serializable {
+    }
+
+    /**
+     * Serializable actor action returning a result.
+     *
+     * @param <T> actor POJO class
+     * @param <R> result class
+     */
+    public interface IQuery<T, R> extends Function<T, R>, Serializable {
+    }
+
+    /**
+     * Serializable actor action streaming elements.
+     *
+     * @param <T> actor POJO class
+     * @param <R> stream element class
+     */
+    public interface IStreamQuery<T, R> extends BiConsumer<T, IStreamSink<R>>, Serializable {
+    }
+}
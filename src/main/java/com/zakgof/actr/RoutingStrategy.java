@@ -0,0 +1,32 @@
+package com.zakgof.actr;
+
+/**
+ * Defines how a router picks a routee for a message.
+ *
+ * @see IActorSystem#router(IActorBuilder, RoutingStrategy, int)
+ */
+public enum RoutingStrategy {
+
+    /**
+     * Routees are picked in turn.
+     */
+    ROUND_ROBIN,
+
+    /**
+     * Routees are picked at random.
+     */
+    RANDOM,
+
+    /**
+     * The routee with the fewest pending messages is picked, ties are resolved in turn.
+     *
+     * Queue depths are read from the mailboxes of the built-in non-blocking schedulers; with other schedulers all depths are 0, which makes this strategy round-robin.
+     */
+    SMALLEST_MAILBOX,
+
+    /**
+     * Messages sent with a key are routed by the key's hash on a consistent hash ring, so that messages with equal keys go to the same routee and resizing the pool only moves a proportional share of keys. Messages sent without a key
+     * are picked in turn.
+     */
+    CONSISTENT_HASH
+}
@@ -9,12 +9,16 @@ import com.zakgof.actr.impl.BlockingThreadScheduler;
 import com.zakgof.actr.impl.ExecutorBasedScheduler;
 import com.zakgof.actr.impl.SingleThreadScheduler;
 import com.zakgof.actr.impl.ThreadPerActorScheduler;
+import com.zakgof.actr.impl.VirtualThreads;
+import com.zakgof.actr.impl.WorkStealingScheduler;
 
 /**
  * Static factory to create schedulers.
  */
 public class Schedulers {
 
+    private static final int DEFAULT_THROUGHPUT = 10;
+
     private Schedulers() {
     }
 
@@ -37,6 +41,32 @@ public class Schedulers {
         return new ExecutorBasedScheduler(executorService, throughput);
     }
 
+    /**
+     * Creates a scheduler based on a user-provided ExecuterService that processes pending messages of an actor during a time slice before letting other actors run.
+     *
+     * Suits actors with short messages where a fixed message count would cause too frequent rescheduling, as well as actors with long messages that would starve other actors.
+     *
+     * @param executorService executor service for scheduling the tasks
+     * @param timeSliceMicros maximum time in microseconds to process pending actor messages at once; a message started within the time slice is not interrupted
+     * @return scheduler
+     */
+    public static IActorScheduler newTimeSlicedScheduler(ExecutorService executorService, long timeSliceMicros) {
+        return new ExecutorBasedScheduler(executorService, Integer.MAX_VALUE, timeSliceMicros, false);
+    }
+
+    /**
+     * Creates a scheduler based on a user-provided ExecuterService that tunes the number of messages processed at once for each actor, so that processing takes approximately the target time.
+     *
+     * Unlike {@link #newTimeSlicedScheduler(ExecutorService, long)}, time is measured once per batch and not per message.
+     *
+     * @param executorService executor service for scheduling the tasks
+     * @param targetMicros target time in microseconds to process pending actor messages at once
+     * @return scheduler
+     */
+    public static IActorScheduler newAdaptiveScheduler(ExecutorService executorService, long targetMicros) {
+        return new ExecutorBasedScheduler(executorService, DEFAULT_THROUGHPUT, targetMicros, true);
+    }
+
     /**
      * Creates a scheduler based on a thread pool with a fixed number of threads.
      * @param threads number of threads in the thread pool
@@ -47,6 +77,29 @@ public class Schedulers {
         return new ExecutorBasedScheduler(Executors.newFixedThreadPool(threads, runnable -> new Thread(runnable, "actr:fixed")), throughput);
     }
 
+    /**
+     * Creates a scheduler with a dedicated pool of work-stealing worker threads, one per available processor.
+     *
+     * Unlike {@link #newForkJoinPoolScheduler(int)}, the pool is not shared with other JVM users, and actors are rescheduled on the worker that ran them last unless that worker is busy.
+     *
+     * @param throughput maximum number of pending actor messages to be processed at once
+     * @return scheduler
+     */
+    public static IActorScheduler newWorkStealingScheduler(int throughput) {
+        return newWorkStealingScheduler(Runtime.getRuntime().availableProcessors(), throughput);
+    }
+
+    /**
+     * Creates a scheduler with a dedicated pool of work-stealing worker threads.
+     *
+     * @param threads number of worker threads
+     * @param throughput maximum number of pending actor messages to be processed at once
+     * @return scheduler
+     */
+    public static IActorScheduler newWorkStealingScheduler(int threads, int throughput) {
+        return new WorkStealingScheduler(threads, throughput);
+    }
+
     /**
      * Creates a scheduler that processed all the actors messages sequentially in a single
      * user-supplied thread. See {@link BlockingThreadScheduler} for details.
@@ -72,4 +125,43 @@ public class Schedulers {
         return new ThreadPerActorScheduler();
     }
 
+    /**
+     * Creates a scheduler that creates a virtual thread for each actor.
+     *
+     * Requires JDK 21 or newer.
+     *
+     * @return scheduler
+     * @throws UnsupportedOperationException if virtual threads are not available in the running JDK
+     */
+    public static IActorScheduler newVirtualThreadPerActorScheduler() {
+        checkVirtualThreads();
+        return new ThreadPerActorScheduler(VirtualThreads::threadFactory);
+    }
+
+    /**
+     * Creates a scheduler that runs actor messages in virtual threads, starting a new virtual thread each time an actor has pending messages.
+     *
+     * Requires JDK 21 or newer.
+     *
+     * @param throughput maximum number of pending actor messages to be processed at once
+     * @return scheduler
+     * @throws UnsupportedOperationException if virtual threads are not available in the running JDK
+     */
+    public static IActorScheduler newVirtualThreadScheduler(int throughput) {
+        checkVirtualThreads();
+        return new ExecutorBasedScheduler(VirtualThreads.newThreadPerTaskExecutor(), throughput);
+    }
+
+    /**
+     * @return true if virtual thread schedulers are supported in the running JDK
+     */
+    public static boolean isVirtualThreadsSupported() {
+        return VirtualThreads.isSupported();
+    }
+
+    private static void checkVirtualThreads() {
+        if (!VirtualThreads.isSupported())
+            throw new UnsupportedOperationException("Virtual threads require JDK 21 or newer");
+    }
+
 }
@@ -0,0 +1,49 @@
+package com.zakgof.actr;
+
+import java.nio.file.Path;
+
+import com.zakgof.actr.impl.FileSnapshotStore;
+import com.zakgof.actr.impl.FileStateStore;
+import com.zakgof.actr.impl.InMemoryStateStore;
+
+/**
+ * Static factory to create stores for passivated actors' state and for persistent actors' snapshots.
+ *
+ * Built-in state stores use Java serialization, so actor POJO classes must be {@link java.io.Serializable}.
+ */
+public class StateStores {
+
+    private StateStores() {
+    }
+
+    /**
+     * Creates a store keeping actor state serialized and compressed in memory.
+     *
+     * @param <T> actor POJO class
+     * @return state store
+     */
+    public static <T> IStateStore<T> inMemory() {
+        return new InMemoryStateStore<>();
+    }
+
+    /**
+     * Creates a store keeping actor state serialized and compressed in files, one file per actor.
+     *
+     * @param <T> actor POJO class
+     * @param directory directory for the files, created if missing
+     * @return state store
+     */
+    public static <T> IStateStore<T> files(Path directory) {
+        return new FileStateStore<>(directory);
+    }
+
+    /**
+     * Creates a store keeping the latest snapshot of each persistent actor in a file.
+     *
+     * @param directory directory for the files, created if missing
+     * @return snapshot store
+     */
+    public static ISnapshotStore snapshotFiles(Path directory) {
+        return new FileSnapshotStore(directory);
+    }
+}
@@ -0,0 +1,26 @@
+package com.zakgof.actr;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an actor interface to generate typed messages and a typed proxy for, at compile time.
+ *
+ * For an interface {@code Printer}, the annotation processor {@code com.zakgof.actr.processor.TypedActorProcessor} generates in the same package:
+ * <ul>
+ * <li>{@code PrinterMessages} with an {@link IActorMessage} class and a factory method per interface method, e.g. {@code PrinterMessages.print(String)};</li>
+ * <li>{@code PrinterRef} wrapping an {@code IActorRef<Printer>}, e.g. {@code PrinterRef.print(String)}, telling for void methods and asking for the others.</li>
+ * </ul>
+ * Names of nested interfaces are prefixed with their enclosing types' names, joined by underscores. The interface and its methods must not be generic, though its superinterfaces may be, and the methods must not declare checked exceptions.
+ * Methods of {@link Object} are not proxied, and {@code actor()} and {@code create(int, Object...)} are reserved for the generated classes.
+ *
+ * The processor is registered as a service in the actr jar; add the jar to the annotation processor path when the build tool does not discover processors on the class path.
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface TypedActor {
+}
@@ -1,34 +1,74 @@
 package com.zakgof.actr.impl;
 
-import java.util.UUID;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
 import com.zakgof.actr.Actr;
+import com.zakgof.actr.IActorBatch;
+import com.zakgof.actr.IActorMetrics;
 import com.zakgof.actr.IActorRef;
 import com.zakgof.actr.IActorScheduler;
 import com.zakgof.actr.IActorSystem;
+import com.zakgof.actr.IMessageLatency;
+import com.zakgof.actr.IStateStore;
+import com.zakgof.actr.IStreamSink;
+import com.zakgof.actr.ICancellable;
+import com.zakgof.actr.MailboxOverflowException;
+import com.zakgof.actr.OverflowPolicy;
 import com.zakgof.actr.impl.IRegSet.IRegistration;
 
 class ActorImpl<T> implements IActorRef<T> {
 
+    private static final int DEFAULT_STREAM_CHUNK_SIZE = 256;
+
     private volatile T object;
     private final ActorSystemImpl actorSystem;
     private final IActorScheduler scheduler;
+    private final long id;
     private final String name;
     private final BiConsumer<T, Exception> exceptionHandler;
     private final Consumer<T> destructor;
-    private volatile Object box;
+    private final Mailbox mailbox;
+    private final OverflowPolicy overflowPolicy;
+    private final Consumer<IActorRef<T>> overflowHandler;
+    private final IActorMetrics metrics;
+    private final AtomicInteger depth;
+    private final int latencySampling;
+    private volatile MessageLatency latency;
     private volatile IRegistration reg;
+    private volatile boolean disposed;
+
+    // Null if passivation is disabled
+    private final Passivation<T> passivation;
 
-    ActorImpl(T object, Supplier<T> constructor, IActorScheduler scheduler, ActorSystemImpl actorSystem, String name, BiConsumer<T, Exception> exceptionHandler, Consumer<T> destructor) {
+    ActorImpl(T object, Supplier<T> constructor, IActorScheduler scheduler, ActorSystemImpl actorSystem, long id, String name, BiConsumer<T, Exception> exceptionHandler, Consumer<T> destructor,
+            int mailboxCapacity, OverflowPolicy overflowPolicy, Consumer<IActorRef<T>> overflowHandler, IStateStore<T> stateStore, long idleTimeoutMs) {
         this.actorSystem = actorSystem;
         this.exceptionHandler = exceptionHandler;
-        this.name = name == null ? getClass().getSimpleName().toLowerCase() + "_" + UUID.randomUUID() : name;
+        this.id = id;
+        this.name = name;
         this.destructor = destructor;
+        this.mailbox = new Mailbox(mailboxCapacity, overflowPolicy == OverflowPolicy.DROP_OLDEST);
+        this.overflowPolicy = overflowPolicy;
+        this.overflowHandler = overflowHandler;
+        this.metrics = actorSystem.metrics();
+        this.depth = metrics == null ? null : new AtomicInteger();
+        this.latencySampling = actorSystem.latencySampling();
+        this.passivation = stateStore == null ? null : new Passivation<>(stateStore, idleTimeoutMs, idleTimeoutMs > 0 ? actorSystem.periodic(this::idleTimerExpired, idleTimeoutMs, false) : null,
+                actorSystem.passivationClock());
+        if (metrics != null) {
+            mailbox.drainListener((messages, busyNanos) -> metrics.drained(scheduler, this, messages, busyNanos));
+        }
         if (object != null) {
             this.object = object;
         }
@@ -37,46 +77,293 @@ class ActorImpl<T> implements IActorRef<T> {
         if (constructor != null) {
             this.object = constructor.get();
         }
-        actorSystem.add(this);
+        if (passivation != null) {
+            activated();
+        }
     }
 
     @Override
     public void tell(Consumer<T> action) {
         IActorRef<?> caller = Actr.current();
-        scheduleCall(action, caller);
+        if (!scheduleCall(action, caller) && overflowPolicy == OverflowPolicy.FAIL) {
+            throw new MailboxOverflowException(this);
+        }
     }
 
-    private void scheduleCall(Consumer<T> action, IActorRef<?> caller) {
-        scheduleCallErrorAware(action, caller, e -> exceptionHandler.accept(object, e));
+    @Override
+    public boolean tryTell(Consumer<T> action) {
+        IActorRef<?> caller = Actr.current();
+        return scheduleCall(action, caller);
     }
 
-    private void scheduleCallErrorAware(Consumer<T> action, IActorRef<?> caller, Consumer<Exception> exceptionCallback) {
-        scheduler.schedule(() -> {
-            Actr.setCurrent(this);
+    @Override
+    public void tellAll(Collection<? extends Consumer<T>> actions) {
+        IActorRef<?> caller = Actr.current();
+        boolean bounded = mailbox.bounded();
+        List<Message> messages = new ArrayList<>(actions.size());
+        for (Consumer<T> action : actions) {
+            if (bounded && !mailbox.reserve()) {
+                break;
+            }
+            messages.add(message(action, caller, null, bounded));
+        }
+        scheduler.scheduleAll(messages, this);
+        int rejected = actions.size() - messages.size();
+        if (rejected > 0) {
+            for (int i = 0; i < rejected; i++) {
+                overflow();
+            }
+            if (overflowPolicy == OverflowPolicy.FAIL) {
+                throw new MailboxOverflowException(this);
+            }
+        }
+    }
+
+    @Override
+    public IActorBatch<T> batch() {
+        return new Batch();
+    }
+
+    private class Batch implements IActorBatch<T> {
+
+        private final List<Consumer<T>> actions = new ArrayList<>();
+
+        @Override
+        public IActorBatch<T> tell(Consumer<T> action) {
+            actions.add(action);
+            return this;
+        }
+
+        @Override
+        public void send() {
+            try {
+                tellAll(actions);
+            } finally {
+                actions.clear();
+            }
+        }
+    }
+
+    private boolean scheduleCall(Consumer<T> action, IActorRef<?> caller) {
+        return scheduleCallErrorAware(action, caller, null);
+    }
+
+    private boolean scheduleCallErrorAware(Consumer<T> action, IActorRef<?> caller, Consumer<Exception> exceptionCallback) {
+        boolean bounded = mailbox.bounded();
+        if (bounded && !mailbox.reserve()) {
+            overflow();
+            return false;
+        }
+        scheduler.schedule(message(action, caller, exceptionCallback, bounded), this);
+        return true;
+    }
+
+    /**
+     * Schedules a call bypassing mailbox capacity, for calls that must not be lost or are bounded by themselves.
+     */
+    private void scheduleUnbounded(Consumer<T> action, IActorRef<?> caller) {
+        scheduler.schedule(message(action, caller, null, false), this);
+    }
+
+    private Message message(Consumer<T> action, IActorRef<?> caller, Consumer<Exception> exceptionCallback, boolean reserved) {
+        boolean sampled = latencySampling != 0 && ThreadLocalRandom.current().nextInt(latencySampling) == 0;
+        return metrics == null && !sampled
+                ? new Message(action, caller, exceptionCallback, reserved)
+                : new TimedMessage(action, caller, exceptionCallback, reserved, sampled);
+    }
+
+    private MessageLatency latency() {
+        MessageLatency current = latency;
+        if (current == null) {
+            synchronized (this) {
+                current = latency;
+                if (current == null) {
+                    current = latency = new MessageLatency();
+                }
+            }
+        }
+        return current;
+    }
+
+    @Override
+    public IMessageLatency messageLatency() {
+        return latency;
+    }
+
+    private void overflow() {
+        if (metrics != null) {
+            metrics.rejected(this);
+        }
+        if (overflowHandler != null) {
+            overflowHandler.accept(this);
+        }
+    }
+
+    /**
+     * Actor call, linked directly into the actor's mailbox.
+     */
+    private class Message extends Mailbox.Node {
+
+        private final Consumer<T> action;
+        private final IActorRef<?> caller;
+        private final Consumer<Exception> exceptionCallback;
+        private final boolean reserved;
+
+        private Message(Consumer<T> action, IActorRef<?> caller, Consumer<Exception> exceptionCallback, boolean reserved) {
+            this.action = action;
+            this.caller = caller;
+            this.exceptionCallback = exceptionCallback;
+            this.reserved = reserved;
+        }
+
+        @Override
+        public void run() {
+            if (reserved && !mailbox.release()) {
+                overflow();
+                return;
+            }
+            deliver();
+        }
+
+        void deliver() {
+            Actr.setCurrent(ActorImpl.this);
             Actr.setCaller(caller);
             try {
-                if (object == null)
-                    return;
-                action.accept(object);
+                T target = object;
+                if (target == null) {
+                    if (passivation == null || !passivation.passivated)
+                        return;
+                    target = reactivate();
+                }
+                if (passivation != null) {
+                    passivation.activity++;
+                }
+                action.accept(target);
             } catch (Exception e) {
-                exceptionCallback.accept(e);
+                if (exceptionCallback == null) {
+                    exceptionHandler.accept(object, e);
+                } else {
+                    exceptionCallback.accept(e);
+                }
             } finally {
                 Actr.setCurrent(null);
                 Actr.setCaller(null);
             }
-        }, this);
+        }
+    }
+
+    /**
+     * Actor call reporting to the metrics sink and/or sampled for latency tracing.
+     */
+    private class TimedMessage extends Message {
+
+        private final long enqueuedAt;
+        private final boolean sampled;
+
+        private TimedMessage(Consumer<T> action, IActorRef<?> caller, Consumer<Exception> exceptionCallback, boolean reserved, boolean sampled) {
+            super(action, caller, exceptionCallback, reserved);
+            this.enqueuedAt = System.nanoTime();
+            this.sampled = sampled;
+            if (metrics != null) {
+                metrics.enqueued(ActorImpl.this, depth.incrementAndGet());
+            }
+        }
+
+        @Override
+        public void run() {
+            if (metrics != null) {
+                depth.decrementAndGet();
+            }
+            super.run();
+        }
+
+        @Override
+        void deliver() {
+            long start = System.nanoTime();
+            super.deliver();
+            long end = System.nanoTime();
+            if (metrics != null) {
+                metrics.processed(ActorImpl.this, start - enqueuedAt, end - start);
+            }
+            if (sampled) {
+                latency().record(start - enqueuedAt, end - start);
+            }
+        }
     }
 
     @Override
-    public void later(Consumer<T> action, long ms) {
+    public ICancellable later(Consumer<T> action, long ms) {
         IActorRef<?> caller = Actr.current();
-        actorSystem.later(() -> {
-            if (object != null) {
+        return actorSystem.later(() -> {
+            if (!disposed) {
                 scheduleCall(action, caller);
             }
         }, ms);
     }
 
+    @Override
+    public ICancellable every(Consumer<T> action, long periodMs) {
+        return new PeriodicCall(action, Actr.current(), periodMs, false).start(periodMs);
+    }
+
+    @Override
+    public ICancellable atFixedRate(Consumer<T> action, long initialDelayMs, long periodMs) {
+        return new PeriodicCall(action, Actr.current(), periodMs, true).start(initialDelayMs);
+    }
+
+    /**
+     * Periodic actor call. At most one call is pending in the actor's mailbox at any time; timer ticks occurring while a call is pending are skipped. As the number of pending calls is bounded, they bypass mailbox capacity.
+     */
+    private class PeriodicCall implements Runnable, Consumer<T> {
+
+        private final Consumer<T> action;
+        private final IActorRef<?> caller;
+        private final boolean fixedRate;
+        private final HashedWheelTimer.Timeout timeout;
+        private final long periodMs;
+        private final AtomicBoolean pending = new AtomicBoolean();
+
+        private PeriodicCall(Consumer<T> action, IActorRef<?> caller, long periodMs, boolean fixedRate) {
+            this.action = action;
+            this.caller = caller;
+            this.periodMs = periodMs;
+            this.fixedRate = fixedRate;
+            this.timeout = actorSystem.periodic(this, periodMs, fixedRate);
+        }
+
+        private ICancellable start(long initialDelayMs) {
+            timeout.rearm(initialDelayMs);
+            return timeout;
+        }
+
+        /**
+         * Timer tick, called in timer thread.
+         */
+        @Override
+        public void run() {
+            if (disposed) {
+                timeout.cancel();
+            } else if (pending.compareAndSet(false, true)) {
+                scheduleUnbounded(this, caller);
+            }
+        }
+
+        /**
+         * Actor call, called in actor's thread context.
+         */
+        @Override
+        public void accept(T target) {
+            try {
+                action.accept(target);
+            } finally {
+                pending.set(false);
+                if (!fixedRate) {
+                    timeout.rearm(periodMs);
+                }
+            }
+        }
+    }
+
     @Override
     public <R> void ask(BiConsumer<T, Consumer<R>> action, Consumer<R> consumer) {
         IActorRef<?> current = Actr.current();
@@ -101,7 +388,9 @@ class ActorImpl<T> implements IActorRef<T> {
         Consumer<Exception> failure = current == null
                 ? future::completeExceptionally
                 : exception -> current.tell(c -> future.completeExceptionally(exception));
-        scheduleCallErrorAware(target -> action.accept(target, completion), current, failure);
+        if (!scheduleCallErrorAware(target -> action.accept(target, completion), current, failure)) {
+            future.completeExceptionally(new MailboxOverflowException(this));
+        }
         return future;
     }
 
@@ -110,6 +399,129 @@ class ActorImpl<T> implements IActorRef<T> {
         return ask((target, callback) -> callback.accept(action.apply(target)));
     }
 
+    @Override
+    public <R> void ask(Function<T, R> action, Consumer<R> consumer, Consumer<TimeoutException> onTimeout, long timeoutMs) {
+        ask((target, callback) -> callback.accept(action.apply(target)), consumer, onTimeout, timeoutMs);
+    }
+
+    @Override
+    public <R> void ask(BiConsumer<T, Consumer<R>> action, Consumer<R> consumer, Consumer<TimeoutException> onTimeout, long timeoutMs) {
+        IActorRef<?> current = Actr.current();
+        Consumer<TimeoutException> timeout = inContext(current, onTimeout);
+        PendingAsk<R> pending = new PendingAsk<>(action, inContext(current, consumer), e -> {
+            if (e instanceof TimeoutException) {
+                timeout.accept((TimeoutException) e);
+            }
+        }, timeoutMs);
+        try {
+            tell(pending);
+        } catch (MailboxOverflowException e) {
+            pending.fail(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public <R> CompletableFuture<R> ask(Function<T, R> action, long timeoutMs) {
+        return ask((target, callback) -> callback.accept(action.apply(target)), timeoutMs);
+    }
+
+    @Override
+    public <R> CompletableFuture<R> ask(BiConsumer<T, Consumer<R>> action, long timeoutMs) {
+        IActorRef<?> current = Actr.current();
+        CompletableFuture<R> future = new CompletableFuture<>();
+        PendingAsk<R> pending = new PendingAsk<>(action, inContext(current, future::complete), inContext(current, future::completeExceptionally), timeoutMs);
+        if (!scheduleCallErrorAware(pending, current, pending::fail)) {
+            pending.fail(new MailboxOverflowException(this));
+        }
+        return future;
+    }
+
+    private static <V> Consumer<V> inContext(IActorRef<?> current, Consumer<V> consumer) {
+        return current == null ? consumer : value -> current.tell(c -> consumer.accept(value));
+    }
+
+    /**
+     * Ask with a timeout. The response, the failure and the timeout race to complete the ask; the first one wins, cancels the timer entry and releases the action and the consumers, so that an ask stuck in the mailbox of an unresponsive
+     * actor only retains this object.
+     */
+    private class PendingAsk<R> implements Runnable, Consumer<T> {
+
+        private final AtomicBoolean done = new AtomicBoolean();
+        private final ICancellable timeout;
+        private final long timeoutMs;
+        private volatile BiConsumer<T, Consumer<R>> action;
+        private volatile Consumer<R> consumer;
+        private volatile Consumer<Exception> failure;
+
+        private PendingAsk(BiConsumer<T, Consumer<R>> action, Consumer<R> consumer, Consumer<Exception> failure, long timeoutMs) {
+            this.action = action;
+            this.consumer = consumer;
+            this.failure = failure;
+            this.timeoutMs = timeoutMs;
+            this.timeout = actorSystem.later(this, timeoutMs);
+        }
+
+        /**
+         * Actor call, called in actor's thread context.
+         */
+        @Override
+        public void accept(T target) {
+            BiConsumer<T, Consumer<R>> call = action;
+            if (call != null) {
+                action = null;
+                call.accept(target, this::complete);
+            }
+        }
+
+        /**
+         * Timeout, called in timer thread.
+         */
+        @Override
+        public void run() {
+            Consumer<Exception> completion = failure;
+            if (release()) {
+                completion.accept(new TimeoutException("Ask to actor " + ActorImpl.this + " timed out after " + timeoutMs + " ms"));
+            }
+        }
+
+        private void complete(R result) {
+            Consumer<R> completion = consumer;
+            if (release()) {
+                timeout.cancel();
+                completion.accept(result);
+            }
+        }
+
+        private void fail(Exception e) {
+            Consumer<Exception> completion = failure;
+            if (release()) {
+                timeout.cancel();
+                completion.accept(e);
+            }
+        }
+
+        private boolean release() {
+            if (!done.compareAndSet(false, true)) {
+                return false;
+            }
+            action = null;
+            consumer = null;
+            failure = null;
+            return true;
+        }
+    }
+
+    @Override
+    public <R> CompletableFuture<Void> askStream(BiConsumer<T, IStreamSink<R>> action, Consumer<R> consumer) {
+        return askStream(action, consumer, DEFAULT_STREAM_CHUNK_SIZE);
+    }
+
+    @Override
+    public <R> CompletableFuture<Void> askStream(BiConsumer<T, IStreamSink<R>> action, Consumer<R> consumer, int chunkSize) {
+        return StreamSink.ask(this, action, consumer, chunkSize);
+    }
+
     private static IActorRef<?> safeCurrent() {
         IActorRef<?> caller = Actr.current();
         if (caller == null)
@@ -117,13 +529,27 @@ class ActorImpl<T> implements IActorRef<T> {
         return caller;
     }
 
+    /**
+     * @return actor name; names of unnamed actors are generated from their sequential ids on demand
+     */
+    String name() {
+        return name == null ? "actor_" + id : name;
+    }
+
+    /**
+     * @return name given on creation, or null
+     */
+    String givenName() {
+        return name;
+    }
+
     T object() {
         return object;
     }
 
     @Override
     public String toString() {
-        return "[" + actorSystem.name() + ":" + name + "]";
+        return "[" + actorSystem.name() + ":" + name() + "]";
     }
 
     @Override
@@ -135,7 +561,8 @@ class ActorImpl<T> implements IActorRef<T> {
      * Called internally from system
      */
     void dispose(Runnable whenFinished) {
-        tell(o -> {
+        // Not reported to metrics, so that the actor's statistics are not recreated after disposal
+        scheduler.schedule(new Message(o -> {
             if (destructor != null) {
                 try {
                     destructor.accept(object);
@@ -145,9 +572,31 @@ class ActorImpl<T> implements IActorRef<T> {
             }
             ((ActorSystemImpl) system()).remove(this);
             scheduler.actorDisposed(this);
+            if (metrics != null) {
+                metrics.disposed(this);
+            }
+            if (passivation != null) {
+                if (passivation.idleTimer != null) {
+                    passivation.idleTimer.cancel();
+                }
+                if (passivation.clock != null) {
+                    passivation.clock.deactivated(this);
+                }
+            }
+            disposed = true;
             object = null;
             whenFinished.run();
-        });
+        }, Actr.current(), null, false) {
+            @Override
+            void deliver() {
+                // An actor closed while the system shuts down gets disposed twice; the second disposal still has to report completion
+                if (disposed) {
+                    whenFinished.run();
+                } else {
+                    super.deliver();
+                }
+            }
+        }, this);
 
     }
 
@@ -157,12 +606,124 @@ class ActorImpl<T> implements IActorRef<T> {
         });
     }
 
-    void box(Object box) {
-        this.box = box;
+    private void activated() {
+        if (passivation.idleTimer != null && passivation.idleTimerArmed.compareAndSet(false, true)) {
+            passivation.idleTimer.rearm(passivation.idleTimeoutMs);
+        }
+        if (passivation.clock != null) {
+            passivation.clock.activated(this);
+        }
+    }
+
+    private T reactivate() {
+        T target = passivation.stateStore.load(id);
+        passivation.stateStore.remove(id);
+        object = target;
+        passivation.passivated = false;
+        activated();
+        return target;
+    }
+
+    /**
+     * Called in actor's thread context.
+     *
+     * @param evicted true if the actor has been already removed from the clock
+     */
+    private void passivate(boolean evicted) {
+        T target = object;
+        if (target == null) {
+            return;
+        }
+        if (!evicted && passivation.clock != null) {
+            passivation.clock.deactivated(this);
+        }
+        try {
+            passivation.stateStore.save(id, target);
+            passivation.passivated = true;
+            object = null;
+        } catch (RuntimeException e) {
+            e.printStackTrace(); // TODO: logging
+            activated();
+        }
+    }
+
+    /**
+     * Idle timer tick, called in timer thread.
+     */
+    private void idleTimerExpired() {
+        passivation.idleTimerArmed.set(false);
+        if (!disposed) {
+            scheduler.schedule(new PassivationCheck(false), this);
+        }
+    }
+
+    /**
+     * Called by the clock to passivate this actor as the least recently used one.
+     */
+    void evict() {
+        if (!disposed) {
+            scheduler.schedule(new PassivationCheck(true), this);
+        }
+    }
+
+    Passivation<T> passivation() {
+        return passivation;
+    }
+
+    /**
+     * Passivates the actor in its thread context, when it has not processed messages since the previous check or when evicted.
+     */
+    private class PassivationCheck extends Mailbox.Node {
+
+        private final boolean evicted;
+
+        private PassivationCheck(boolean evicted) {
+            this.evicted = evicted;
+        }
+
+        @Override
+        public void run() {
+            if (object == null) {
+                return;
+            }
+            if (evicted || passivation.activity == passivation.idleCheckActivity) {
+                passivate(evicted);
+            } else {
+                passivation.idleCheckActivity = passivation.activity;
+                activated();
+            }
+        }
+    }
+
+    /**
+     * Passivation state, only allocated for actors with passivation enabled so that other actors do not carry its fields.
+     */
+    static class Passivation<T> {
+        private final IStateStore<T> stateStore;
+        private final long idleTimeoutMs;
+        private final HashedWheelTimer.Timeout idleTimer;
+        private final AtomicBoolean idleTimerArmed;
+        private final PassivationClock clock;
+        // Accessed in actor's thread context only
+        private boolean passivated;
+        private long idleCheckActivity;
+        // Number of messages delivered, written in actor's thread context only; read by the clock without synchronization as a heuristic
+        long activity;
+        // Guarded by the clock
+        int clockSlot = -1;
+        long clockActivity;
+
+        private Passivation(IStateStore<T> stateStore, long idleTimeoutMs, HashedWheelTimer.Timeout idleTimer, PassivationClock clock) {
+            this.stateStore = stateStore;
+            this.idleTimeoutMs = idleTimeoutMs;
+            this.idleTimer = idleTimer;
+            this.idleTimerArmed = idleTimer == null ? null : new AtomicBoolean();
+            this.clock = clock;
+        }
     }
 
-    Object box() {
-        return box;
+    Mailbox mailbox() {
+        return mailbox;
     }
 
     void reg(IRegistration reg) {
@@ -0,0 +1,182 @@
+package com.zakgof.actr.impl;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.zakgof.actr.Histogram;
+import com.zakgof.actr.IActorMetrics;
+import com.zakgof.actr.IActorRef;
+import com.zakgof.actr.IActorScheduler;
+
+/**
+ * Metrics sink keeping per-actor and per-scheduler statistics in memory.
+ *
+ * Statistics of an actor are dropped when the actor is destroyed.
+ */
+public class ActorMetricsCollector implements IActorMetrics {
+
+    private final Map<IActorRef<?>, ActorStats> actors = new ConcurrentHashMap<>();
+    private final Map<IActorScheduler, SchedulerStats> schedulers = new ConcurrentHashMap<>();
+
+    @Override
+    public void enqueued(IActorRef<?> actor, int depth) {
+        ActorStats stats = actorStats(actor);
+        stats.enqueued.increment();
+        stats.depth.record(depth);
+    }
+
+    @Override
+    public void rejected(IActorRef<?> actor) {
+        actorStats(actor).rejected.increment();
+    }
+
+    @Override
+    public void processed(IActorRef<?> actor, long waitNanos, long processingNanos) {
+        ActorStats stats = actorStats(actor);
+        stats.waitTime.record(waitNanos);
+        stats.processingTime.record(processingNanos);
+    }
+
+    @Override
+    public void drained(IActorScheduler scheduler, IActorRef<?> actor, int messages, long busyNanos) {
+        SchedulerStats stats = schedulers.get(scheduler);
+        if (stats == null) {
+            stats = schedulers.computeIfAbsent(scheduler, s -> new SchedulerStats());
+        }
+        stats.drains.increment();
+        stats.messages.add(messages);
+        stats.busyNanos.add(busyNanos);
+    }
+
+    @Override
+    public void disposed(IActorRef<?> actor) {
+        actors.remove(actor);
+    }
+
+    private ActorStats actorStats(IActorRef<?> actor) {
+        ActorStats stats = actors.get(actor);
+        return stats == null ? actors.computeIfAbsent(actor, a -> new ActorStats()) : stats;
+    }
+
+    /**
+     * @param actor actor
+     * @return statistics of the actor, or null if no events were recorded for it
+     */
+    public ActorStats actor(IActorRef<?> actor) {
+        return actors.get(actor);
+    }
+
+    /**
+     * @return statistics of all live actors
+     */
+    public Map<IActorRef<?>, ActorStats> actors() {
+        return Collections.unmodifiableMap(actors);
+    }
+
+    /**
+     * @param scheduler scheduler
+     * @return statistics of the scheduler, or null if no events were recorded for it
+     */
+    public SchedulerStats scheduler(IActorScheduler scheduler) {
+        return schedulers.get(scheduler);
+    }
+
+    /**
+     * @return statistics of all the schedulers
+     */
+    public Map<IActorScheduler, SchedulerStats> schedulers() {
+        return Collections.unmodifiableMap(schedulers);
+    }
+
+    /**
+     * Statistics of an actor.
+     */
+    public static class ActorStats {
+
+        private final LongAdder enqueued = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final Histogram depth = new Histogram();
+        private final Histogram waitTime = new Histogram();
+        private final Histogram processingTime = new Histogram();
+
+        /**
+         * @return number of messages accepted into the mailbox
+         */
+        public long enqueued() {
+            return enqueued.sum();
+        }
+
+        /**
+         * @return number of messages discarded because the mailbox was full
+         */
+        public long rejected() {
+            return rejected.sum();
+        }
+
+        /**
+         * @return mailbox depth seen by new messages
+         */
+        public Histogram depth() {
+            return depth;
+        }
+
+        /**
+         * @return time from enqueueing a message to starting it, in nanoseconds
+         */
+        public Histogram waitTime() {
+            return waitTime;
+        }
+
+        /**
+         * @return message processing time, in nanoseconds
+         */
+        public Histogram processingTime() {
+            return processingTime;
+        }
+
+        @Override
+        public String toString() {
+            return "enqueued=" + enqueued() + " rejected=" + rejected() + " depth=[" + depth + "] wait=[" + waitTime + "] processing=[" + processingTime + "]";
+        }
+    }
+
+    /**
+     * Statistics of a scheduler.
+     */
+    public static class SchedulerStats {
+
+        private final LongAdder drains = new LongAdder();
+        private final LongAdder messages = new LongAdder();
+        private final LongAdder busyNanos = new LongAdder();
+
+        /**
+         * @return number of times the scheduler processed a batch of an actor's messages
+         */
+        public long drains() {
+            return drains.sum();
+        }
+
+        /**
+         * @return number of messages run by the scheduler
+         */
+        public long messages() {
+            return messages.sum();
+        }
+
+        /**
+         * Total time spent by the scheduler threads running messages. Divided by elapsed time and number of threads, it gives the scheduler utilisation.
+         *
+         * @return busy time in nanoseconds
+         */
+        public long busyNanos() {
+            return busyNanos.sum();
+        }
+
+        @Override
+        public String toString() {
+            return "drains=" + drains() + " messages=" + messages() + " busy=" + busyNanos() / 1_000_000 + "ms";
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.zakgof.actr.impl;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ObjLongConsumer;
+
+import com.zakgof.actr.Actr;
+import com.zakgof.actr.IActorPublisher;
+import com.zakgof.actr.IActorRef;
+
+/**
+ * Single-subscriber publisher fed by an actor.
+ *
+ * All the state except {@link #requested} is confined to the actor's thread: subscription, cancellation and demand reach it as messages. Requests made from the subscriber's thread are summed up in {@link #requested}, and only the request
+ * finding it zero sends a message, which collects the sum; so a subscriber requesting items one by one does not flood the actor's mailbox.
+ */
+public class ActorPublisher<T, O> implements IActorPublisher<O> {
+
+    private final IActorRef<T> actor;
+    private final ObjLongConsumer<T> onDemand;
+    private final int bufferSize;
+    private final ArrayDeque<O> buffer = new ArrayDeque<>();
+    private final AtomicLong requested = new AtomicLong();
+    private final Flow.Subscription subscription = new Subscription();
+
+    private Flow.Subscriber<? super O> subscriber;
+    private boolean subscribed;
+    private boolean cancelled;
+    private boolean completing;
+    private boolean terminated;
+    private Throwable error;
+    private long demand;
+
+    public ActorPublisher(IActorRef<T> actor, ObjLongConsumer<T> onDemand, int bufferSize) {
+        this.actor = actor;
+        this.onDemand = onDemand;
+        this.bufferSize = bufferSize;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super O> subscriber) {
+        Objects.requireNonNull(subscriber);
+        actor.tell(target -> {
+            if (subscribed) {
+                subscriber.onSubscribe(new Subscription());
+                subscriber.onError(new IllegalStateException("Publisher of actor " + actor + " is already subscribed"));
+                return;
+            }
+            subscribed = true;
+            this.subscriber = subscriber;
+            subscriber.onSubscribe(subscription);
+            if (error != null)
+                fail(error);
+            else
+                drain();
+        });
+    }
+
+    @Override
+    public boolean offer(O item) {
+        Objects.requireNonNull(item);
+        checkContext();
+        if (cancelled || completing || terminated)
+            return false;
+        if (subscriber != null && demand > 0 && buffer.isEmpty()) {
+            demand--;
+            subscriber.onNext(item);
+            return true;
+        }
+        if (buffer.size() == bufferSize)
+            return false;
+        buffer.add(item);
+        return true;
+    }
+
+    @Override
+    public void complete() {
+        checkContext();
+        completing = true;
+        drain();
+    }
+
+    @Override
+    public void error(Throwable error) {
+        Objects.requireNonNull(error);
+        checkContext();
+        if (terminated || this.error != null)
+            return;
+        buffer.clear();
+        if (subscriber != null)
+            fail(error);
+        else
+            this.error = error;
+    }
+
+    @Override
+    public long demand() {
+        checkContext();
+        return demand;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        checkContext();
+        return cancelled;
+    }
+
+    private void checkContext() {
+        if (Actr.current() != actor)
+            throw new IllegalStateException("Publishing outside of actor " + actor + " thread context");
+    }
+
+    private void drain() {
+        if (subscriber == null)
+            return;
+        while (demand > 0 && !buffer.isEmpty()) {
+            demand--;
+            subscriber.onNext(buffer.poll());
+        }
+        if (completing && buffer.isEmpty() && !terminated) {
+            terminated = true;
+            Flow.Subscriber<? super O> completed = subscriber;
+            subscriber = null;
+            completed.onComplete();
+        }
+    }
+
+    private void fail(Throwable error) {
+        terminated = true;
+        Flow.Subscriber<? super O> failed = subscriber;
+        subscriber = null;
+        failed.onError(error);
+    }
+
+    private void request(T target) {
+        long n = requested.getAndSet(0);
+        if (subscriber == null)
+            return;
+        demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+        drain();
+        if (subscriber != null && demand > 0 && !completing)
+            onDemand.accept(target, demand);
+    }
+
+    private void cancel(T target) {
+        cancelled = true;
+        subscriber = null;
+        buffer.clear();
+    }
+
+    private class Subscription implements Flow.Subscription {
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                actor.tell(target -> {
+                    if (subscriber != null && this == subscription)
+                        fail(new IllegalArgumentException("Requested " + n + " items, should be positive"));
+                });
+                return;
+            }
+            if (this == subscription && requested.getAndAccumulate(n, (r, m) -> r + m < 0 ? Long.MAX_VALUE : r + m) == 0)
+                actor.tell(ActorPublisher.this::request);
+        }
+
+        @Override
+        public void cancel() {
+            if (this == subscription)
+                actor.tell(ActorPublisher.this::cancel);
+        }
+    }
+}
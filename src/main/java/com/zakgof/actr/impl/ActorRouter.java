@@ -0,0 +1,309 @@
+package com.zakgof.actr.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import com.zakgof.actr.IActorBatch;
+import com.zakgof.actr.IActorRef;
+import com.zakgof.actr.IActorRouter;
+import com.zakgof.actr.IActorSystem;
+import com.zakgof.actr.ICancellable;
+import com.zakgof.actr.IMessageLatency;
+import com.zakgof.actr.IStreamSink;
+import com.zakgof.actr.RoutingStrategy;
+
+/**
+ * Router over a pool of actors. The pool is an immutable snapshot replaced on resize, so that routing a message reads a single volatile field.
+ */
+class ActorRouter<T> implements IActorRouter<T> {
+
+    /** Points per routee on the consistent hash ring. */
+    private static final int VIRTUAL_NODES = 100;
+
+    private final ActorSystemImpl actorSystem;
+    private final ActorSystemImpl.ActorBuilderImpl<T> builder;
+    private final RoutingStrategy strategy;
+    private final AtomicInteger turn = new AtomicInteger();
+    private volatile Pool<T> pool;
+    private volatile boolean closed;
+
+    // Guarded by this; routee names are never reused, as a removed routee may still hold its name
+    private int nextIndex;
+
+    ActorRouter(ActorSystemImpl actorSystem, ActorSystemImpl.ActorBuilderImpl<T> builder, RoutingStrategy strategy, int size) {
+        if (size < 1)
+            throw new IllegalArgumentException("Router size should be positive");
+        this.actorSystem = actorSystem;
+        this.builder = builder;
+        this.strategy = strategy;
+        this.pool = new Pool<>(builder.routees(0, size), strategy == RoutingStrategy.CONSISTENT_HASH);
+        this.nextIndex = size;
+    }
+
+    private ActorImpl<T> route() {
+        checkOpen();
+        ActorImpl<T>[] routees = pool.routees;
+        switch (strategy) {
+        case RANDOM:
+            return routees[ThreadLocalRandom.current().nextInt(routees.length)];
+        case SMALLEST_MAILBOX:
+            return smallestMailbox(routees);
+        default:
+            return routees[nextTurn(routees.length)];
+        }
+    }
+
+    private ActorImpl<T> route(Object key) {
+        checkOpen();
+        Pool<T> current = pool;
+        return current.ringHashes == null ? route() : current.byKey(key);
+    }
+
+    private void checkOpen() {
+        if (closed)
+            throw new IllegalStateException("Router " + this + " is closed");
+    }
+
+    private int nextTurn(int size) {
+        return (turn.getAndIncrement() & Integer.MAX_VALUE) % size;
+    }
+
+    /**
+     * Scans the routees starting from the next one in turn, so that ties, e.g. idle routees, are resolved round-robin.
+     */
+    private ActorImpl<T> smallestMailbox(ActorImpl<T>[] routees) {
+        int index = nextTurn(routees.length);
+        ActorImpl<T> smallest = null;
+        int smallestDepth = Integer.MAX_VALUE;
+        for (int i = 0; i < routees.length; i++) {
+            ActorImpl<T> routee = routees[index];
+            int depth = routee.mailbox().depth();
+            if (depth < smallestDepth) {
+                smallest = routee;
+                smallestDepth = depth;
+                if (depth == 0)
+                    break;
+            }
+            if (++index == routees.length) {
+                index = 0;
+            }
+        }
+        return smallest;
+    }
+
+    @Override
+    public IActorSystem system() {
+        return actorSystem;
+    }
+
+    @Override
+    public void tell(Consumer<T> action) {
+        route().tell(action);
+    }
+
+    @Override
+    public void tellKeyed(Object key, Consumer<T> action) {
+        route(key).tell(action);
+    }
+
+    @Override
+    public boolean tryTell(Consumer<T> action) {
+        return route().tryTell(action);
+    }
+
+    @Override
+    public void tellAll(Collection<? extends Consumer<T>> actions) {
+        route().tellAll(actions);
+    }
+
+    @Override
+    public IActorBatch<T> batch() {
+        return route().batch();
+    }
+
+    @Override
+    public ICancellable later(Consumer<T> action, long ms) {
+        return route().later(action, ms);
+    }
+
+    @Override
+    public ICancellable every(Consumer<T> action, long periodMs) {
+        return route().every(action, periodMs);
+    }
+
+    @Override
+    public ICancellable atFixedRate(Consumer<T> action, long initialDelayMs, long periodMs) {
+        return route().atFixedRate(action, initialDelayMs, periodMs);
+    }
+
+    @Override
+    public <R> void ask(Function<T, R> action, Consumer<R> consumer) {
+        route().ask(action, consumer);
+    }
+
+    @Override
+    public <R> void ask(BiConsumer<T, Consumer<R>> action, Consumer<R> consumer) {
+        route().ask(action, consumer);
+    }
+
+    @Override
+    public <R> CompletableFuture<R> ask(Function<T, R> action) {
+        return route().ask(action);
+    }
+
+    @Override
+    public <R> CompletableFuture<R> ask(BiConsumer<T, Consumer<R>> action) {
+        return route().ask(action);
+    }
+
+    @Override
+    public <R> void ask(Function<T, R> action, Consumer<R> consumer, Consumer<TimeoutException> onTimeout, long timeoutMs) {
+        route().ask(action, consumer, onTimeout, timeoutMs);
+    }
+
+    @Override
+    public <R> void ask(BiConsumer<T, Consumer<R>> action, Consumer<R> consumer, Consumer<TimeoutException> onTimeout, long timeoutMs) {
+        route().ask(action, consumer, onTimeout, timeoutMs);
+    }
+
+    @Override
+    public <R> CompletableFuture<R> ask(Function<T, R> action, long timeoutMs) {
+        return route().ask(action, timeoutMs);
+    }
+
+    @Override
+    public <R> CompletableFuture<R> ask(BiConsumer<T, Consumer<R>> action, long timeoutMs) {
+        return route().ask(action, timeoutMs);
+    }
+
+    @Override
+    public <R> CompletableFuture<Void> askStream(BiConsumer<T, IStreamSink<R>> action, Consumer<R> consumer) {
+        return route().askStream(action, consumer);
+    }
+
+    @Override
+    public <R> CompletableFuture<Void> askStream(BiConsumer<T, IStreamSink<R>> action, Consumer<R> consumer, int chunkSize) {
+        return route().askStream(action, consumer, chunkSize);
+    }
+
+    @Override
+    public <R> CompletableFuture<R> askKeyed(Object key, Function<T, R> action) {
+        return route(key).ask(action);
+    }
+
+    /**
+     * Routers have no latency summary of their own, latencies are tracked per routee.
+     *
+     * @return null
+     */
+    @Override
+    public IMessageLatency messageLatency() {
+        return null;
+    }
+
+    @Override
+    public List<IActorRef<T>> routees() {
+        return Collections.unmodifiableList(Arrays.asList(pool.routees));
+    }
+
+    @Override
+    public synchronized void resize(int size) {
+        if (size < 1)
+            throw new IllegalArgumentException("Router size should be positive");
+        checkOpen();
+        List<ActorImpl<T>> routees = new ArrayList<>(Arrays.asList(pool.routees));
+        if (size > routees.size()) {
+            int added = size - routees.size();
+            routees.addAll(builder.routees(nextIndex, added));
+            nextIndex += added;
+            pool = new Pool<>(routees, strategy == RoutingStrategy.CONSISTENT_HASH);
+        } else if (size < routees.size()) {
+            List<ActorImpl<T>> removed = routees.subList(size, routees.size());
+            List<ActorImpl<T>> retained = new ArrayList<>(routees.subList(0, size));
+            pool = new Pool<>(retained, strategy == RoutingStrategy.CONSISTENT_HASH);
+            removed.forEach(ActorImpl::close);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed)
+            return;
+        closed = true;
+        for (ActorImpl<T> routee : pool.routees) {
+            routee.close();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "[" + actorSystem.name() + ":router " + strategy + " x" + pool.routees.length + "]";
+    }
+
+    private static class Pool<T> {
+
+        private final ActorImpl<T>[] routees;
+        private final int[] ringHashes;
+        private final int[] ringRoutees;
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Pool(List<ActorImpl<T>> routees, boolean ring) {
+            this.routees = routees.toArray(new ActorImpl[0]);
+            if (ring) {
+                // A routee's points depend only on its index, so resizing moves only the keys of the added or removed routees
+                long[] points = new long[this.routees.length * VIRTUAL_NODES];
+                for (int i = 0; i < this.routees.length; i++) {
+                    for (int v = 0; v < VIRTUAL_NODES; v++) {
+                        int hash = (int) mix(((long) i << 32) | v);
+                        points[i * VIRTUAL_NODES + v] = ((long) hash << 32) | i;
+                    }
+                }
+                Arrays.sort(points);
+                ringHashes = new int[points.length];
+                ringRoutees = new int[points.length];
+                for (int p = 0; p < points.length; p++) {
+                    ringHashes[p] = (int) (points[p] >> 32);
+                    ringRoutees[p] = (int) points[p];
+                }
+            } else {
+                ringHashes = null;
+                ringRoutees = null;
+            }
+        }
+
+        ActorImpl<T> byKey(Object key) {
+            int hash = (int) mix(Objects.hashCode(key));
+            int point = Arrays.binarySearch(ringHashes, hash);
+            if (point < 0) {
+                point = -point - 1;
+                if (point == ringHashes.length) {
+                    point = 0;
+                }
+            }
+            return routees[ringRoutees[point]];
+        }
+
+        /**
+         * MurmurHash3 64-bit finalizer, spreading object hash codes over the ring.
+         */
+        private static long mix(long value) {
+            value ^= value >>> 33;
+            value *= 0xff51afd7ed558ccdL;
+            value ^= value >>> 33;
+            value *= 0xc4ceb9fe1a85ec53L;
+            value ^= value >>> 33;
+            return value;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.zakgof.actr.impl;
+
+import java.util.Objects;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import com.zakgof.actr.IActorRef;
+import com.zakgof.actr.IActorSubscriber;
+
+/**
+ * Subscriber telling the received items to an actor.
+ *
+ * Demand is only signalled from the actor's thread context, after the actor has processed the items: the initial request is sent from a message enqueued by {@link #onSubscribe(Flow.Subscription)}, and each batch of processed items
+ * requests as many new ones. So the subscription is called serially, and no more than the buffer size of items ever wait in the mailbox. Fields other than the subscription are confined to the actor's thread.
+ */
+public class ActorSubscriber<T, I> implements IActorSubscriber<I> {
+
+    private final IActorRef<T> actor;
+    private final BiConsumer<T, I> onNext;
+    private final BiConsumer<T, Throwable> onError;
+    private final Consumer<T> onComplete;
+    private final int bufferSize;
+    private final int batchSize;
+    private final AtomicReference<Flow.Subscription> subscription = new AtomicReference<>();
+
+    private int processed;
+    private boolean done;
+
+    public ActorSubscriber(IActorRef<T> actor, BiConsumer<T, I> onNext, BiConsumer<T, Throwable> onError, Consumer<T> onComplete, int bufferSize) {
+        this.actor = actor;
+        this.onNext = onNext;
+        this.onError = onError;
+        this.onComplete = onComplete;
+        this.bufferSize = bufferSize;
+        this.batchSize = Math.max(1, bufferSize / 2);
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        Objects.requireNonNull(subscription);
+        if (!this.subscription.compareAndSet(null, subscription)) {
+            subscription.cancel();
+            return;
+        }
+        actor.tell(target -> {
+            if (done)
+                subscription.cancel();
+            else
+                subscription.request(bufferSize);
+        });
+    }
+
+    @Override
+    public void onNext(I item) {
+        Objects.requireNonNull(item);
+        actor.tell(target -> {
+            if (done)
+                return;
+            try {
+                onNext.accept(target, item);
+            } finally {
+                if (++processed == batchSize) {
+                    processed = 0;
+                    subscription.get().request(batchSize);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void onError(Throwable error) {
+        Objects.requireNonNull(error);
+        actor.tell(target -> {
+            if (!done) {
+                done = true;
+                onError.accept(target, error);
+            }
+        });
+    }
+
+    @Override
+    public void onComplete() {
+        actor.tell(target -> {
+            if (!done) {
+                done = true;
+                onComplete.accept(target);
+            }
+        });
+    }
+
+    @Override
+    public void cancel() {
+        actor.tell(target -> {
+            if (!done) {
+                done = true;
+                Flow.Subscription current = subscription.get();
+                if (current != null)
+                    current.cancel();
+            }
+        });
+    }
+}
@@ -1,50 +1,83 @@
 package com.zakgof.actr.impl;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Random;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.IntFunction;
 import java.util.function.Supplier;
 
 import com.zakgof.actr.IActorBuilder;
+import com.zakgof.actr.IActorMetrics;
 import com.zakgof.actr.IActorRef;
+import com.zakgof.actr.IActorRouter;
 import com.zakgof.actr.IActorScheduler;
 import com.zakgof.actr.IActorSystem;
+import com.zakgof.actr.IActorSystemBuilder;
+import com.zakgof.actr.IEventSink;
+import com.zakgof.actr.ICancellable;
 import com.zakgof.actr.IForkBuilder;
+import com.zakgof.actr.IJournal;
+import com.zakgof.actr.IMessageLatency;
+import com.zakgof.actr.IPersistentActorBuilder;
+import com.zakgof.actr.IShardedActors;
+import com.zakgof.actr.ISnapshotStore;
+import com.zakgof.actr.IStateStore;
+import com.zakgof.actr.OverflowPolicy;
+import com.zakgof.actr.RoutingStrategy;
 import com.zakgof.actr.Schedulers;
+import com.zakgof.actr.impl.IRegSet.IRegistration;
 
 public class ActorSystemImpl implements IActorSystem {
 
     private static final int DEFAULT_FORKJOINSCHEDULER_THROUGHPUT = 10;
+    private static final long DEFAULT_TIMER_TICK_MS = 1;
+    private static final Object RESERVED_NAME = new Object();
 
     private final IActorScheduler defaultScheduler;
 
     private final String name;
     private final IRegSet<ActorImpl<?>> actors = new FastRegSet<>();
-    private final ScheduledExecutorService timer;
+    // Given actor names to actors, to RESERVED_NAME for unique names of actors being created, or to immutable arrays of the live actors sharing a name in creation order
+    private final ConcurrentHashMap<String, Object> names = new ConcurrentHashMap<>();
+    private final boolean uniqueNames;
+    private final AtomicLong actorIds = new AtomicLong();
+    private final HashedWheelTimer timer;
+    private final IActorMetrics metrics;
+    private final int latencySampling;
+    private final PassivationClock passivationClock;
+    private final ConcurrentMap<String, CompletableFuture<Void>> snapshotWrites = new ConcurrentHashMap<>();
 
     private final CompletableFuture<String> terminator = new CompletableFuture<>();
     private final AtomicBoolean isShuttingDown = new AtomicBoolean();
 
     private volatile boolean isShutDown;
 
-    public ActorSystemImpl(String name, IActorScheduler defaultScheduler) {
+    public ActorSystemImpl(String name, IActorScheduler defaultScheduler, long timerTickMs, IActorMetrics metrics, int latencySampling, int maxActiveActors, boolean uniqueNames) {
         this.name = name;
+        this.uniqueNames = uniqueNames;
         this.defaultScheduler = defaultScheduler;
-        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
-            Thread thread = new Thread(runnable, "actr:" + name + ":timer");
-            thread.setPriority(8);
-            return thread;
-        });
+        this.timer = new HashedWheelTimer("actr:" + name + ":timer", timerTickMs);
+        this.metrics = metrics;
+        this.latencySampling = latencySampling;
+        this.passivationClock = maxActiveActors == Integer.MAX_VALUE ? null : new PassivationClock(maxActiveActors);
+    }
+
+    public ActorSystemImpl(String name, IActorScheduler defaultScheduler) {
+        this(name, defaultScheduler, DEFAULT_TIMER_TICK_MS, null, 0, Integer.MAX_VALUE, false);
     }
 
     public ActorSystemImpl(String name) {
@@ -56,6 +89,30 @@ public class ActorSystemImpl implements IActorSystem {
         return name;
     }
 
+    IActorMetrics metrics() {
+        return metrics;
+    }
+
+    int latencySampling() {
+        return latencySampling;
+    }
+
+    PassivationClock passivationClock() {
+        return passivationClock;
+    }
+
+    @Override
+    public Map<IActorRef<?>, IMessageLatency> messageLatencies() {
+        Map<IActorRef<?>, IMessageLatency> latencies = new HashMap<>();
+        for (ActorImpl<?> actor : actors.copy()) {
+            IMessageLatency latency = actor.messageLatency();
+            if (latency != null) {
+                latencies.put(actor, latency);
+            }
+        }
+        return latencies;
+    }
+
     /**
      * Initiate an orderly shutdown of the actor system.
      *
@@ -70,28 +127,27 @@ public class ActorSystemImpl implements IActorSystem {
     @Override
     public CompletableFuture<String> shutdown() {
         if (isShuttingDown.compareAndSet(false, true)) {
-            timer.execute(() -> {
-                Collection<ActorImpl<?>> actorRefs = actors.copy();
+            timer.schedule(() -> {
+                Collection<ActorImpl<?>> actorRefs = new ArrayList<>(actors.copy());
                 if (actorRefs.isEmpty()) {
                     internalShutdown();
                     return;
                 }
-                int[] actorsToGo = { actorRefs.size() };
+                AtomicInteger actorsToGo = new AtomicInteger(actorRefs.size());
                 for (ActorImpl<?> actor : actorRefs) {
-                    actor.dispose(() -> timer.execute(() -> {
-                        actorsToGo[0]--;
-                        if (actorsToGo[0] == 0) {
-                            internalShutdown();
+                    actor.dispose(() -> {
+                        if (actorsToGo.decrementAndGet() == 0) {
+                            timer.schedule(this::internalShutdown, 0);
                         }
-                    }));
+                    });
                 }
-            });
+            }, 0);
         }
         return terminator;
     }
 
     private void internalShutdown() {
-        timer.shutdownNow();
+        timer.stop();
         defaultScheduler.close();
         isShutDown = true;
         terminator.complete("shutdown");
@@ -108,10 +164,104 @@ public class ActorSystemImpl implements IActorSystem {
     void add(ActorImpl<?> actorRef) {
         checkShutdown();
         actorRef.reg(actors.add(actorRef));
+        index(actorRef);
+    }
+
+    void addAll(List<? extends ActorImpl<?>> actorRefs) {
+        checkShutdown();
+        List<IRegistration> registrations = actors.addAll(actorRefs);
+        for (int i = 0; i < actorRefs.size(); i++) {
+            actorRefs.get(i).reg(registrations.get(i));
+            index(actorRefs.get(i));
+        }
+    }
+
+    private void index(ActorImpl<?> actorRef) {
+        String actorName = actorRef.givenName();
+        if (actorName == null) {
+            return;
+        }
+        if (uniqueNames) {
+            names.put(actorName, actorRef);
+        } else {
+            names.merge(actorName, actorRef, ActorSystemImpl::withActor);
+        }
+    }
+
+    private static Object withActor(Object indexed, Object actorRef) {
+        ActorImpl<?>[] current = indexed instanceof ActorImpl ? new ActorImpl<?>[] {(ActorImpl<?>) indexed} : (ActorImpl<?>[]) indexed;
+        ActorImpl<?>[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = (ActorImpl<?>) actorRef;
+        return updated;
+    }
+
+    private static Object withoutActor(Object indexed, ActorImpl<?> actorRef) {
+        if (indexed == actorRef)
+            return null;
+        if (!(indexed instanceof ActorImpl<?>[]))
+            return indexed;
+        ActorImpl<?>[] current = (ActorImpl<?>[]) indexed;
+        int index = Arrays.asList(current).indexOf(actorRef);
+        if (index < 0)
+            return indexed;
+        if (current.length == 2)
+            return current[1 - index];
+        ActorImpl<?>[] updated = new ActorImpl<?>[current.length - 1];
+        System.arraycopy(current, 0, updated, 0, index);
+        System.arraycopy(current, index + 1, updated, index, updated.length - index);
+        return updated;
+    }
+
+    /**
+     * Reserves a name for an actor about to be created, if names are unique. The reservation becomes the actor's entry on {@link #add}, or must be released with {@link #releaseName} if the actor is not created.
+     */
+    void reserveName(String actorName) {
+        if (uniqueNames && actorName != null && names.putIfAbsent(actorName, RESERVED_NAME) != null)
+            throw new IllegalArgumentException("Actor name " + actorName + " is already in use in " + this);
+    }
+
+    void releaseName(String actorName) {
+        if (uniqueNames && actorName != null) {
+            names.remove(actorName, RESERVED_NAME);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> IActorRef<T> lookup(String name) {
+        Object actor = names.get(name);
+        if (actor instanceof ActorImpl<?>[]) {
+            actor = ((ActorImpl<?>[]) actor)[0];
+        }
+        return actor instanceof ActorImpl ? (IActorRef<T>) actor : null;
+    }
+
+    @Override
+    public int actorCount() {
+        return actors.size();
+    }
+
+    /**
+     * Reserves a range of actor ids.
+     *
+     * @param count number of ids
+     * @return first id of the range
+     */
+    long nextActorIds(int count) {
+        return actorIds.getAndAdd(count);
     }
 
     void remove(ActorImpl<?> actorRef) {
         actorRef.reg().remove();
+        String actorName = actorRef.givenName();
+        if (actorName == null) {
+            return;
+        }
+        if (uniqueNames) {
+            names.remove(actorName, actorRef);
+        } else {
+            names.computeIfPresent(actorName, (n, indexed) -> withoutActor(indexed, actorRef));
+        }
     }
 
     private void checkShutdown() {
@@ -154,7 +304,80 @@ public class ActorSystemImpl implements IActorSystem {
      */
     @Override
     public <T> IActorRef<T> actorOf(Supplier<T> constructor) {
-        return actorOf(constructor, Long.toHexString(new Random().nextLong()));
+        return this.<T> actorBuilder().constructor(constructor).build();
+    }
+
+    /**
+     * Create several actors under this system at once, with autogenerated names.
+     *
+     * @param <T> actor POJO class
+     * @param count number of actors to create
+     * @param constructor factory to create actor POJO class instances, accepting the actor index from 0 to count - 1
+     * @return references to the new actors in the order of indexes
+     */
+    @Override
+    public <T> List<IActorRef<T>> actorsOf(int count, IntFunction<T> constructor) {
+        return new ActorBuilderImpl<T>(this).build(count, constructor);
+    }
+
+    public static class ActorSystemBuilderImpl implements IActorSystemBuilder {
+        private final String name;
+        private IActorScheduler defaultScheduler;
+        private long timerTickMs = DEFAULT_TIMER_TICK_MS;
+        private IActorMetrics metrics;
+        private int latencySampling;
+        private int maxActiveActors = Integer.MAX_VALUE;
+        private boolean uniqueNames;
+
+        public ActorSystemBuilderImpl(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public IActorSystemBuilder scheduler(IActorScheduler defaultScheduler) {
+            this.defaultScheduler = defaultScheduler;
+            return this;
+        }
+
+        @Override
+        public IActorSystemBuilder timerTick(long tickMs) {
+            this.timerTickMs = tickMs;
+            return this;
+        }
+
+        @Override
+        public IActorSystemBuilder metrics(IActorMetrics metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
+        @Override
+        public IActorSystemBuilder latencySampling(int sampleRate) {
+            if (sampleRate <= 0)
+                throw new IllegalArgumentException("Sample rate should be positive");
+            this.latencySampling = sampleRate;
+            return this;
+        }
+
+        @Override
+        public IActorSystemBuilder maxActiveActors(int maxActiveActors) {
+            if (maxActiveActors <= 0)
+                throw new IllegalArgumentException("Maximum number of active actors should be positive");
+            this.maxActiveActors = maxActiveActors;
+            return this;
+        }
+
+        @Override
+        public IActorSystemBuilder uniqueNames() {
+            this.uniqueNames = true;
+            return this;
+        }
+
+        @Override
+        public IActorSystem build() {
+            IActorScheduler scheduler = defaultScheduler == null ? Schedulers.newForkJoinPoolScheduler(DEFAULT_FORKJOINSCHEDULER_THROUGHPUT) : defaultScheduler;
+            return new ActorSystemImpl(name, scheduler, timerTickMs, metrics, latencySampling, maxActiveActors, uniqueNames);
+        }
     }
 
     public static class ActorBuilderImpl<T> implements IActorBuilder<T> {
@@ -165,6 +388,11 @@ public class ActorSystemImpl implements IActorSystem {
         private IActorScheduler scheduler;
         private String name;
         private BiConsumer<T, Exception> exceptionHandler;
+        private int mailboxCapacity = Mailbox.UNBOUNDED;
+        private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_NEWEST;
+        private Consumer<IActorRef<T>> overflowHandler;
+        private IStateStore<T> stateStore;
+        private long idleTimeoutMs;
 
         private ActorBuilderImpl(ActorSystemImpl actorSystem) {
             actorSystem.checkShutdown();
@@ -249,6 +477,67 @@ public class ActorSystemImpl implements IActorSystem {
             return this;
         }
 
+        /**
+         * Limits the number of pending messages in the actor's mailbox.
+         *
+         * When the mailbox is full, new messages are handled according to {@link #overflowPolicy(OverflowPolicy)}, which is {@link OverflowPolicy#DROP_NEWEST} by default. Mailboxes are unbounded unless this method is called.
+         *
+         * Actor destruction is never blocked by a full mailbox.
+         *
+         * @param capacity maximum number of pending messages
+         * @return this builder
+         */
+        @Override
+        public IActorBuilder<T> mailboxCapacity(int capacity) {
+            if (capacity <= 0)
+                throw new IllegalArgumentException("Mailbox capacity should be positive");
+            this.mailboxCapacity = capacity;
+            return this;
+        }
+
+        /**
+         * Sets the policy for messages sent to the actor when its mailbox is full.
+         *
+         * @param overflowPolicy overflow policy
+         * @return this builder
+         */
+        @Override
+        public IActorBuilder<T> overflowPolicy(OverflowPolicy overflowPolicy) {
+            this.overflowPolicy = overflowPolicy;
+            return this;
+        }
+
+        /**
+         * Sets a callback to be triggered whenever a message to the actor is discarded because its mailbox is full.
+         *
+         * @param overflowHandler callback receiving the reference to the overflown actor
+         * @return this builder
+         */
+        @Override
+        public IActorBuilder<T> overflowHandler(Consumer<IActorRef<T>> overflowHandler) {
+            this.overflowHandler = overflowHandler;
+            return this;
+        }
+
+        /**
+         * Enables passivation of the actor being constructed: when idle, the actor's POJO class instance is saved to a store and released. The actor reference stays valid, and the instance is loaded back from the store when the next message
+         * arrives.
+         *
+         * The actor is passivated after idleTimeoutMs without messages, and when the actor system exceeds its limit of active actors, see {@link com.zakgof.actr.IActorSystemBuilder#maxActiveActors(int)}.
+         *
+         * @param stateStore store for the state of the passivated actor
+         * @param idleTimeoutMs idle time in milliseconds before passivation, 0 to only passivate when the limit of active actors is exceeded
+         * @return this builder
+         */
+        @Override
+        public IActorBuilder<T> passivation(IStateStore<T> stateStore, long idleTimeoutMs) {
+            if (idleTimeoutMs < 0)
+                throw new IllegalArgumentException("Idle timeout should not be negative");
+            this.stateStore = stateStore;
+            this.idleTimeoutMs = idleTimeoutMs;
+            return this;
+        }
+
         /**
          * Creates an actor using this builder.
          *
@@ -261,15 +550,224 @@ public class ActorSystemImpl implements IActorSystem {
             if (constructor == null && object == null)
                 throw new IllegalArgumentException("Provide either object or constructor");
 
-            return new ActorImpl<>(object, constructor, scheduler, actorSystem, name, exceptionHandler, destructor);
+            actorSystem.reserveName(name);
+            try {
+                ActorImpl<T> actor = new ActorImpl<>(object, constructor, scheduler, actorSystem, actorSystem.nextActorIds(1), name, exceptionHandler, destructor, mailboxCapacity, overflowPolicy, overflowHandler,
+                        stateStore, idleTimeoutMs);
+                actorSystem.add(actor);
+                return actor;
+            } catch (RuntimeException e) {
+                actorSystem.releaseName(name);
+                throw e;
+            }
+        }
+
+        /**
+         * Creates several actors using this builder. Actors get their own POJO class instances created by the constructor. If a name was set, actors are named name-0, name-1 and so on.
+         *
+         * Actors are registered in the actor system in a single batch, which is cheaper than building them one by one.
+         *
+         * @param count number of actors to create
+         * @return references to the new actors
+         */
+        @Override
+        public List<IActorRef<T>> build(int count) {
+            if (object != null)
+                throw new IllegalArgumentException("Not allowed to share an object between several actors, provide constructor");
+            if (constructor == null)
+                throw new IllegalArgumentException("Provide constructor");
+            Supplier<T> supplier = constructor;
+            return build(count, index -> supplier.get());
+        }
+
+        private List<IActorRef<T>> build(int count, IntFunction<T> constructor) {
+            return Collections.unmodifiableList(build(0, count, constructor, false));
+        }
+
+        /**
+         * Creates routees for a router, with mailboxes counting their depth.
+         *
+         * @param first index of the first routee, used in names
+         * @param count number of routees
+         * @return new routees
+         */
+        List<ActorImpl<T>> routees(int first, int count) {
+            if (object != null)
+                throw new IllegalArgumentException("Not allowed to share an object between routees, provide constructor");
+            if (constructor == null)
+                throw new IllegalArgumentException("Provide constructor");
+            Supplier<T> supplier = constructor;
+            return build(first, count, index -> supplier.get(), true);
+        }
+
+        private List<ActorImpl<T>> build(int first, int count, IntFunction<T> constructor, boolean countDepth) {
+            if (count < 0)
+                throw new IllegalArgumentException("Actor count should not be negative");
+            List<String> names = new ArrayList<>(count);
+            try {
+                for (int i = 0; i < count; i++) {
+                    String actorName = name == null ? null : name + "-" + (first + i);
+                    actorSystem.reserveName(actorName);
+                    names.add(actorName);
+                }
+                long firstId = actorSystem.nextActorIds(count);
+                List<ActorImpl<T>> actors = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    ActorImpl<T> actor = new ActorImpl<>(constructor.apply(i), null, scheduler, actorSystem, firstId + i, names.get(i), exceptionHandler, destructor, mailboxCapacity, overflowPolicy, overflowHandler,
+                            stateStore, idleTimeoutMs);
+                    if (countDepth) {
+                        actor.mailbox().countDepth();
+                    }
+                    actors.add(actor);
+                }
+                actorSystem.addAll(actors);
+                return actors;
+            } catch (RuntimeException e) {
+                names.forEach(actorSystem::releaseName);
+                throw e;
+            }
         }
 
     }
 
-    void later(Runnable runnable, long ms) {
-        if (!timer.isShutdown() && !timer.isTerminated()) {
-            timer.schedule(runnable, ms, TimeUnit.MILLISECONDS);
+    /**
+     * Get an instance of {@link PersistentActorBuilderImpl} under this system
+     *
+     * @param <T> actor POJO class
+     * @param <E> event class
+     * @return PersistentActorBuilder instance
+     */
+    @Override
+    public <T, E> IPersistentActorBuilder<T, E> persistentActorBuilder() {
+        return new PersistentActorBuilderImpl<>(this);
+    }
+
+    public static class PersistentActorBuilderImpl<T, E> implements IPersistentActorBuilder<T, E> {
+        private final ActorBuilderImpl<T> actorBuilder;
+        private final ActorSystemImpl actorSystem;
+        private String persistenceId;
+        private IJournal journal;
+        private Function<IEventSink<E>, T> constructor;
+        private BiConsumer<T, E> eventHandler;
+        private Function<E, byte[]> serializer = StateSerialization::serializeEvent;
+        private Function<byte[], E> deserializer = StateSerialization::deserializeEvent;
+        private Consumer<T> destructor;
+        private ISnapshotStore snapshotStore;
+        private Function<T, ?> snapshot;
+        private BiFunction<IEventSink<E>, Object, T> restore;
+        private int snapshotEvents;
+        private long snapshotIntervalMs;
+
+        private PersistentActorBuilderImpl(ActorSystemImpl actorSystem) {
+            this.actorSystem = actorSystem;
+            this.actorBuilder = new ActorBuilderImpl<>(actorSystem);
+        }
+
+        @Override
+        public IPersistentActorBuilder<T, E> persistenceId(String persistenceId) {
+            this.persistenceId = persistenceId;
+            return this;
+        }
+
+        @Override
+        public IPersistentActorBuilder<T, E> journal(IJournal journal) {
+            this.journal = journal;
+            return this;
+        }
+
+        @Override
+        public IPersistentActorBuilder<T, E> constructor(Function<IEventSink<E>, T> constructor) {
+            this.constructor = constructor;
+            return this;
+        }
+
+        @Override
+        public IPersistentActorBuilder<T, E> eventHandler(BiConsumer<T, E> eventHandler) {
+            this.eventHandler = eventHandler;
+            return this;
+        }
+
+        @Override
+        public IPersistentActorBuilder<T, E> eventSerialization(Function<E, byte[]> serializer, Function<byte[], E> deserializer) {
+            this.serializer = serializer;
+            this.deserializer = deserializer;
+            return this;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <S> IPersistentActorBuilder<T, E> snapshots(ISnapshotStore store, Function<T, S> snapshot, BiFunction<IEventSink<E>, S, T> restore, int everyEvents, long intervalMs) {
+            this.snapshotStore = store;
+            this.snapshot = snapshot;
+            this.restore = (BiFunction<IEventSink<E>, Object, T>) restore;
+            this.snapshotEvents = everyEvents;
+            this.snapshotIntervalMs = intervalMs;
+            return this;
+        }
+
+        @Override
+        public IPersistentActorBuilder<T, E> destructor(Consumer<T> destructor) {
+            this.destructor = destructor;
+            return this;
+        }
+
+        @Override
+        public IPersistentActorBuilder<T, E> name(String name) {
+            actorBuilder.name(name);
+            return this;
+        }
+
+        @Override
+        public IPersistentActorBuilder<T, E> scheduler(IActorScheduler scheduler) {
+            actorBuilder.scheduler(scheduler);
+            return this;
         }
+
+        @Override
+        public IPersistentActorBuilder<T, E> exceptionHandler(BiConsumer<T, Exception> exceptionHandler) {
+            actorBuilder.exceptionHandler(exceptionHandler);
+            return this;
+        }
+
+        /**
+         * Creates an actor using this builder. The actor's POJO class instance is constructed or restored from the latest snapshot, and the journaled events are replayed to it in the calling thread.
+         *
+         * @return newly create ActorRef instance
+         */
+        @Override
+        public IActorRef<T> build() {
+            if (persistenceId == null || journal == null)
+                throw new IllegalArgumentException("Provide persistence id and journal");
+            if (constructor == null || eventHandler == null)
+                throw new IllegalArgumentException("Provide constructor and event handler");
+            EventSink<T, E> sink = new EventSink<>(journal, persistenceId, serializer, eventHandler);
+            if (snapshotStore != null) {
+                sink.snapshots(snapshotStore, snapshot, restore, snapshotEvents, actorSystem.snapshotWrites);
+            }
+            Consumer<T> userDestructor = destructor;
+            IActorRef<T> actor = actorBuilder
+                .constructor(() -> sink.recover(constructor, deserializer))
+                .destructor(target -> {
+                    sink.snapshot();
+                    if (userDestructor != null) {
+                        userDestructor.accept(target);
+                    }
+                })
+                .build();
+            sink.attach(actor);
+            if (snapshotStore != null && snapshotIntervalMs > 0) {
+                actor.every(target -> sink.snapshot(), snapshotIntervalMs);
+            }
+            return actor;
+        }
+    }
+
+    ICancellable later(Runnable runnable, long ms) {
+        return timer.schedule(runnable, ms);
+    }
+
+    HashedWheelTimer.Timeout periodic(Runnable runnable, long periodMs, boolean fixedRate) {
+        return timer.periodic(runnable, periodMs, fixedRate);
     }
 
     @Override
@@ -277,6 +775,19 @@ public class ActorSystemImpl implements IActorSystem {
         return "ActorSystem " + name;
     }
 
+    @Override
+    public <K, T> IShardedActors<K, T> sharded(Function<K, T> constructor, long idleTimeoutMs) {
+        checkShutdown();
+        return new ShardedActors<>(this, constructor, idleTimeoutMs);
+    }
+
+    @Override
+    public <T> IActorRouter<T> router(IActorBuilder<T> builder, RoutingStrategy strategy, int size) {
+        if (!(builder instanceof ActorBuilderImpl) || ((ActorBuilderImpl<T>) builder).actorSystem != this)
+            throw new IllegalArgumentException("Provide an actor builder of this actor system");
+        return new ActorRouter<>(this, (ActorBuilderImpl<T>) builder, strategy, size);
+    }
+
     @Override
     public <I, T> IForkBuilder<I, T> forkBuilder(Collection<I> ids) {
         return new ForkBuilderImpl<I, T>().ids(ids);
@@ -325,6 +836,7 @@ public class ActorSystemImpl implements IActorSystem {
                     .scheduler(scheduler.apply(id))
                     .build();
                 Consumer<R> callback = r -> {
+                    actor.close();
                     map.put(id, r);
                     if (map.size() == ids.size()) {
                         result.accept(map);
@@ -1,5 +1,6 @@
 package com.zakgof.actr.impl;
 
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 
@@ -19,6 +20,11 @@ public class BlockingThreadScheduler implements IActorScheduler {
         queue.add(task);
     }
 
+    @Override
+    public void scheduleAll(List<? extends Runnable> tasks, Object actorId) {
+        queue.addAll(tasks);
+    }
+
     @Override
     public void close() {
         thread.interrupt();
@@ -0,0 +1,31 @@
+package com.zakgof.actr.impl;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Pool of direct buffers of equal size. Not thread-safe: a remote endpoint only uses its pool in the endpoint thread.
+ */
+class DirectBufferPool {
+
+    private final int bufferSize;
+    private final Deque<ByteBuffer> buffers = new ArrayDeque<>();
+
+    DirectBufferPool(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * @return empty buffer
+     */
+    ByteBuffer acquire() {
+        ByteBuffer buffer = buffers.pollFirst();
+        return buffer == null ? ByteBuffer.allocateDirect(bufferSize) : buffer;
+    }
+
+    void release(ByteBuffer buffer) {
+        buffer.clear();
+        buffers.addFirst(buffer);
+    }
+}
@@ -0,0 +1,116 @@
+package com.zakgof.actr.impl;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import com.zakgof.actr.Actr;
+import com.zakgof.actr.IActorRef;
+import com.zakgof.actr.IEventSink;
+import com.zakgof.actr.IJournal;
+import com.zakgof.actr.ISnapshotStore;
+
+/**
+ * Event sink of a persistent actor: journals events, applies them to the actor's POJO class instance and takes snapshots.
+ */
+class EventSink<T, E> implements IEventSink<E> {
+
+    private final IJournal journal;
+    private final String persistenceId;
+    private final Function<E, byte[]> serializer;
+    private final BiConsumer<T, E> eventHandler;
+    private ISnapshotStore snapshotStore;
+    private Function<T, ?> snapshot;
+    private BiFunction<IEventSink<E>, Object, T> restore;
+    private int snapshotEvents;
+    private ConcurrentMap<String, CompletableFuture<Void>> snapshotWrites;
+    private T state;
+    private IActorRef<T> actor;
+    private long sequence;
+    private long snapshotSequence;
+
+    EventSink(IJournal journal, String persistenceId, Function<E, byte[]> serializer, BiConsumer<T, E> eventHandler) {
+        this.journal = journal;
+        this.persistenceId = persistenceId;
+        this.serializer = serializer;
+        this.eventHandler = eventHandler;
+    }
+
+    void snapshots(ISnapshotStore snapshotStore, Function<T, ?> snapshot, BiFunction<IEventSink<E>, Object, T> restore, int snapshotEvents, ConcurrentMap<String, CompletableFuture<Void>> snapshotWrites) {
+        this.snapshotStore = snapshotStore;
+        this.snapshot = snapshot;
+        this.restore = restore;
+        this.snapshotEvents = snapshotEvents;
+        this.snapshotWrites = snapshotWrites;
+    }
+
+    /**
+     * Restores the state from the latest snapshot, if any, and replays the events journaled after it.
+     *
+     * Fails if the journal has fewer events than the snapshot covers: new events would be numbered below the snapshot and skipped by the next recovery.
+     */
+    T recover(Function<IEventSink<E>, T> constructor, Function<byte[], E> deserializer) {
+        ISnapshotStore.Snapshot latest = snapshotStore == null ? null : snapshotStore.load(persistenceId);
+        T recovered;
+        if (latest != null) {
+            recovered = restore.apply(this, StateSerialization.deserialize(latest.data()));
+            snapshotSequence = latest.sequence();
+        } else {
+            recovered = constructor.apply(this);
+        }
+        sequence = journal.replay(persistenceId, snapshotSequence, event -> eventHandler.accept(recovered, deserializer.apply(event)));
+        if (sequence < snapshotSequence)
+            throw new IllegalStateException("Journal of " + persistenceId + " has " + sequence + " events, snapshot covers " + snapshotSequence);
+        state = recovered;
+        return recovered;
+    }
+
+    void attach(IActorRef<T> actor) {
+        this.actor = actor;
+    }
+
+    @Override
+    public void persist(E event) {
+        if (Actr.current() != actor)
+            throw new IllegalStateException("Persisting an event outside of actor " + actor + " thread context");
+        journal.append(persistenceId, serializer.apply(event));
+        sequence++;
+        eventHandler.accept(state, event);
+        if (snapshotEvents > 0 && sequence - snapshotSequence >= snapshotEvents) {
+            snapshot();
+        }
+    }
+
+    @Override
+    public void persist(E event, Runnable afterCommit) {
+        persist(event);
+        IActorRef<T> self = actor;
+        journal.commit(() -> self.tell(target -> afterCommit.run()));
+    }
+
+    /**
+     * Takes a snapshot if there are events since the previous one. Called in the actor's thread context, where only the copy is made; the copy is serialized and written in the background once the journal has committed the events
+     * it covers, so that a crash never leaves a snapshot ahead of the durable journal.
+     *
+     * Writes of a stream are chained in the system-wide map, so that they are not concurrent and land in order even across actor instances, e.g. an actor being closed and its recovered successor.
+     */
+    void snapshot() {
+        if (snapshotStore == null || sequence == snapshotSequence)
+            return;
+        Object copy = snapshot.apply(state);
+        long copySequence = sequence;
+        snapshotSequence = sequence;
+        CompletableFuture<Void> committed = new CompletableFuture<>();
+        journal.commit(() -> committed.complete(null));
+        CompletableFuture<Void> write = snapshotWrites.compute(persistenceId, (id, previous) -> (previous == null ? committed : previous.thenCompose(v -> committed))
+            .thenRunAsync(() -> snapshotStore.save(persistenceId, copySequence, StateSerialization.serialize(copy)))
+            .exceptionally(e -> {
+                e.printStackTrace();
+                return null;
+            }));
+        write.whenComplete((v, e) -> snapshotWrites.remove(persistenceId, write));
+    }
+
+}
@@ -1,77 +1,115 @@
 package com.zakgof.actr.impl;
 
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.TimeUnit;
 
 import com.zakgof.actr.IActorScheduler;
 
 /**
  * Scheduler based on a provided executor service.
+ *
+ * Messages are added directly to the actor's mailbox in the caller's thread; a drain task is submitted to the executor only when the mailbox goes from idle to scheduled.
+ *
+ * A drain task processes a batch of messages and then resubmits itself if more messages are pending, so that other actors sharing the executor get their turn. The batch is limited by:
+ * <ul>
+ * <li>message count (throughput)</li>
+ * <li>time slice: no new message is started once the slice is used up</li>
+ * <li>adaptive batch size: message count is tuned per actor so that a batch takes approximately the time slice, based on the observed processing time of previous batches</li>
+ * </ul>
  */
 public class ExecutorBasedScheduler implements IActorScheduler {
 
+    private static final int MAX_ADAPTIVE_THROUGHPUT = 1 << 16;
+
     private final int throughput;
+    private final long timeSliceNanos;
+    private final boolean adaptive;
     private final ExecutorService executor;
 
     private volatile boolean shutdown = false;
 
     public ExecutorBasedScheduler(ExecutorService executor, int throughput) {
-        this.executor = executor;
-        this.throughput = throughput;
+        this(executor, throughput, 0, false);
     }
 
-    private static class Mailbox {
-        private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
-        private final AtomicInteger queued = new AtomicInteger(0);
+    /**
+     * @param executor executor service for scheduling the tasks
+     * @param throughput maximum number of pending actor messages to be processed at once; initial batch size in adaptive mode
+     * @param timeSliceMicros time slice for processing pending messages of an actor at once, 0 for no time limit
+     * @param adaptive whether batch size should be tuned to match the time slice instead of checking time after each message
+     */
+    public ExecutorBasedScheduler(ExecutorService executor, int throughput, long timeSliceMicros, boolean adaptive) {
+        if (throughput <= 0)
+            throw new IllegalArgumentException("Throughput should be positive");
+        if (adaptive && timeSliceMicros <= 0)
+            throw new IllegalArgumentException("Adaptive mode requires a time slice");
+        this.executor = executor;
+        this.throughput = throughput;
+        this.timeSliceNanos = TimeUnit.MICROSECONDS.toNanos(timeSliceMicros);
+        this.adaptive = adaptive;
     }
 
     @Override
     public void actorCreated(Object actorId) {
-        ((ActorImpl<?>) actorId).box(new Mailbox());
+        Mailbox mailbox = ((ActorImpl<?>) actorId).mailbox();
+        mailbox.batch(throughput);
+        mailbox.drainer(adaptive ? () -> processMailboxAdaptive(mailbox) : () -> processMailbox(mailbox));
     }
 
     @Override
-    public void actorDisposed(Object actorId) {
-        ((ActorImpl<?>) actorId).box(null);
+    public void schedule(Runnable raw, Object actorId) {
+
+        if (shutdown) {
+            return;
+        }
+
+        Mailbox mailbox = ((ActorImpl<?>) actorId).mailbox();
+        if (mailbox.push(Mailbox.node(raw))) {
+            executor.execute(mailbox.drainer());
+        }
     }
 
     @Override
-    public void schedule(Runnable raw, Object actorId) {
+    public void scheduleAll(List<? extends Runnable> tasks, Object actorId) {
 
         if (shutdown) {
             return;
         }
 
-        Runnable task = () -> {
-            Mailbox mailbox = (Mailbox) ((ActorImpl<?>) actorId).box();
-            mailbox.queue.add(raw);
-            int before = mailbox.queued.getAndIncrement();
-            if (before == 0) {
-                processMailbox(mailbox);
-            }
-        };
-        executor.execute(task);
+        Mailbox mailbox = ((ActorImpl<?>) actorId).mailbox();
+        if (mailbox.pushAll(tasks)) {
+            executor.execute(mailbox.drainer());
+        }
     }
 
     private void processMailbox(Mailbox mailbox) {
-        int processed = 0;
-        for (;;) {
-            Runnable runnable = mailbox.queue.poll();
-            if (runnable == null)
-                break;
-            runnable.run();
-            processed++;
-            if (processed >= throughput)
-                break;
+        if (mailbox.drain(throughput, timeSliceNanos) > 0) {
+            executor.execute(mailbox.drainer());
         }
-        int remaining = mailbox.queued.addAndGet(-processed);
-        if (remaining > 0) {
-            executor.execute(() -> processMailbox(mailbox));
+    }
+
+    private void processMailboxAdaptive(Mailbox mailbox) {
+        int batch = mailbox.batch();
+        long start = System.nanoTime();
+        int processed = mailbox.drain(batch, 0L);
+        long elapsed = System.nanoTime() - start;
+        if (processed > 0) {
+            // Batch used up: the queue is deeper than the batch, tune the batch to the time slice
+            mailbox.batch(adjustBatch(batch, processed, elapsed));
+            executor.execute(mailbox.drainer());
+        } else if (elapsed > timeSliceNanos) {
+            // Mailbox became idle but took too long: shrink the batch
+            mailbox.batch(adjustBatch(batch, -processed, elapsed));
         }
     }
 
+    private int adjustBatch(int batch, int processed, long elapsed) {
+        long ideal = processed * timeSliceNanos / Math.max(elapsed, 1L);
+        long smoothed = (batch + ideal) / 2;
+        return (int) Math.max(1L, Math.min(MAX_ADAPTIVE_THROUGHPUT, smoothed));
+    }
+
     @Override
     public void close() {
         this.shutdown = true;
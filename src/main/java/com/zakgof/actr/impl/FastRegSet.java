@@ -1,20 +1,95 @@
 package com.zakgof.actr.impl;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
 
 class FastRegSet<T> implements IRegSet<T> {
 
-    private final ConcurrentDoublyLinkedList<T> list = new ConcurrentDoublyLinkedList<>();
+    /** Contains elements and batches of elements. */
+    private final ConcurrentDoublyLinkedList<Object> list = new ConcurrentDoublyLinkedList<>();
+
+    /** Number of elements, as counting the list is linear. */
+    private final LongAdder size = new LongAdder();
 
     @Override
     public IRegistration add(T element) {
-        Node<T> node = list.coolAdd(element);
-        return () -> {while(!node.delete());};
+        Node<Object> node = list.coolAdd(element);
+        size.increment();
+        return () -> {
+            while(!node.delete());
+            size.decrement();
+        };
+    }
+
+    /**
+     * Adds the elements as a single list node.
+     */
+    @Override
+    public List<IRegistration> addAll(List<? extends T> elements) {
+        if (elements.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Batch batch = new Batch(elements, size);
+        batch.node = list.coolAdd(batch);
+        size.add(elements.size());
+        List<IRegistration> registrations = new ArrayList<>(elements.size());
+        for (int i = 0; i < elements.size(); i++) {
+            int index = i;
+            registrations.add(() -> batch.remove(index));
+        }
+        return registrations;
     }
 
+    @SuppressWarnings("unchecked")
     @Override
     public Collection<T> copy() {
-        return list;
+        List<T> copy = new ArrayList<>(size());
+        for (Object entry : list) {
+            if (entry instanceof Batch) {
+                AtomicReferenceArray<Object> elements = ((Batch) entry).elements;
+                for (int i = 0; i < elements.length(); i++) {
+                    Object element = elements.get(i);
+                    if (element != null) {
+                        copy.add((T) element);
+                    }
+                }
+            } else {
+                copy.add((T) entry);
+            }
+        }
+        return copy;
+    }
+
+    @Override
+    public int size() {
+        return Math.max(0, size.intValue());
+    }
+
+    private static class Batch {
+
+        private final AtomicReferenceArray<Object> elements;
+        private final AtomicInteger remaining;
+        private final LongAdder size;
+        private volatile Node<Object> node;
+
+        private Batch(List<?> elements, LongAdder size) {
+            this.elements = new AtomicReferenceArray<>(elements.toArray());
+            this.remaining = new AtomicInteger(elements.size());
+            this.size = size;
+        }
+
+        private void remove(int index) {
+            if (elements.getAndSet(index, null) != null) {
+                size.decrement();
+                if (remaining.decrementAndGet() == 0) {
+                    while(!node.delete());
+                }
+            }
+        }
     }
 
 }
@@ -0,0 +1,73 @@
+package com.zakgof.actr.impl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import com.zakgof.actr.ISnapshotStore;
+
+/**
+ * Snapshot store keeping the latest snapshot of each stream in a file.
+ *
+ * A snapshot is written with a file channel to a temporary file, synced and renamed over the previous one, so that a crash leaves either snapshot intact. Snapshots are read back memory-mapped.
+ */
+public class FileSnapshotStore implements ISnapshotStore {
+
+    private final Path directory;
+
+    public FileSnapshotStore(Path directory) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void save(String persistenceId, long sequence, byte[] snapshot) {
+        Path file = file(persistenceId);
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        ByteBuffer header = ByteBuffer.allocate(Long.BYTES).putLong(0, sequence);
+        ByteBuffer[] buffers = {header, ByteBuffer.wrap(snapshot)};
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffers[0].hasRemaining() || buffers[1].hasRemaining()) {
+                channel.write(buffers);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public Snapshot load(String persistenceId) {
+        try (FileChannel channel = FileChannel.open(file(persistenceId), StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            long sequence = buffer.getLong(0);
+            buffer.position(Long.BYTES);
+            return new Snapshot(sequence, buffer.slice());
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path file(String persistenceId) {
+        return directory.resolve(URLEncoder.encode(persistenceId, StandardCharsets.UTF_8) + ".snapshot");
+    }
+}
@@ -0,0 +1,58 @@
+package com.zakgof.actr.impl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import com.zakgof.actr.IStateStore;
+
+/**
+ * State store keeping actor state serialized and compressed in files, one file per actor.
+ *
+ * @param <T> actor POJO class
+ */
+public class FileStateStore<T> implements IStateStore<T> {
+
+    private final Path directory;
+
+    public FileStateStore(Path directory) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void save(long id, T state) {
+        try {
+            Files.write(file(id), StateSerialization.serialize(state));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public T load(long id) {
+        try {
+            return StateSerialization.deserialize(Files.readAllBytes(file(id)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void remove(long id) {
+        try {
+            Files.deleteIfExists(file(id));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path file(long id) {
+        return directory.resolve(id + ".state");
+    }
+}
@@ -0,0 +1,319 @@
+package com.zakgof.actr.impl;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+import com.zakgof.actr.ICancellable;
+
+/**
+ * Hashed timing wheel.
+ *
+ * Timeouts are hashed into a fixed wheel of buckets by their deadline tick; a bucket is a doubly linked list, so both scheduling and cancellation are O(1). Timeouts further than one wheel revolution away carry a number of remaining rounds.
+ *
+ * New and cancelled timeouts are passed to the timer thread via lock-free intrusive stacks, without allocation. A cancelled timeout releases its task at once and is unlinked from its bucket on the next tick. The timer thread parks
+ * when the wheel is empty instead of ticking idly.
+ *
+ * Periodic timeouts are reused for every period, so they do not allocate after being scheduled. Fixed-rate timeouts are rearmed by the timer thread itself at the original deadline plus a whole number of periods, so they do not drift;
+ * periods missed because of timer thread lag are skipped. Fixed-delay timeouts are rearmed by their owner via {@link Timeout#rearm(long)}, typically after the actual work triggered by the timeout is done.
+ *
+ * Tasks are executed in the timer thread, so they should be short.
+ */
+class HashedWheelTimer {
+
+    private static final int WHEEL_SIZE = 512;
+    private static final int MASK = WHEEL_SIZE - 1;
+
+    private static final int PENDING = 0;
+    private static final int EXPIRED = 1;
+    private static final int CANCELLED = 2;
+
+    private static final VarHandle STATE;
+
+    static {
+        try {
+            STATE = MethodHandles.lookup().findVarHandle(Timeout.class, "state", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final long tickNanos;
+    private final Bucket[] wheel = new Bucket[WHEEL_SIZE];
+    private final AtomicReference<Timeout> scheduled = new AtomicReference<>();
+    private final AtomicReference<Timeout> cancelled = new AtomicReference<>();
+    private final Thread thread;
+    private final long startTime;
+
+    private volatile boolean stopped;
+    private volatile boolean idle;
+
+    // Accessed by the timer thread only
+    private long tick;
+    private int size;
+
+    /**
+     * Creates and starts a timer.
+     *
+     * @param name timer thread name
+     * @param tickMs tick duration in milliseconds, i.e. timer resolution
+     */
+    HashedWheelTimer(String name, long tickMs) {
+        if (tickMs <= 0)
+            throw new IllegalArgumentException("Timer tick should be positive");
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMs);
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.startTime = System.nanoTime();
+        this.thread = new Thread(this::run, name);
+        thread.setPriority(8);
+        thread.start();
+    }
+
+    /**
+     * Schedules a task to be executed once after a delay.
+     *
+     * @param task task to execute in the timer thread
+     * @param delayMs delay in milliseconds
+     * @return cancellation handle; an already cancelled handle if the timer is stopped
+     */
+    ICancellable schedule(Runnable task, long delayMs) {
+        Timeout timeout = new Timeout(task, 0L, false);
+        timeout.rearm(delayMs);
+        return timeout;
+    }
+
+    /**
+     * Creates a periodic timeout. The timeout is not scheduled until {@link Timeout#rearm(long)} is called.
+     *
+     * @param task task to execute in the timer thread
+     * @param periodMs period in milliseconds
+     * @param fixedRate true to have the timer rearm the timeout after each execution, false if the owner is responsible for rearming it
+     * @return periodic timeout
+     */
+    Timeout periodic(Runnable task, long periodMs, boolean fixedRate) {
+        if (periodMs <= 0)
+            throw new IllegalArgumentException("Period should be positive");
+        return new Timeout(task, TimeUnit.MILLISECONDS.toNanos(periodMs), fixedRate);
+    }
+
+    /**
+     * Stops the timer. Pending tasks are discarded.
+     */
+    void stop() {
+        stopped = true;
+        LockSupport.unpark(thread);
+    }
+
+    boolean isStopped() {
+        return stopped;
+    }
+
+    private void run() {
+        while (!stopped) {
+            if (size == 0 && scheduled.get() == null) {
+                idle = true;
+                // Recheck after announcing idleness: a scheduler either sees the flag or its timeout is visible here
+                if (scheduled.get() == null && !stopped) {
+                    LockSupport.park(this);
+                }
+                idle = false;
+                // Wheel is empty: jump to the current tick instead of walking through the buckets
+                tick = (System.nanoTime() - startTime) / tickNanos;
+                continue;
+            }
+            waitForTick();
+            transferCancelled();
+            transferScheduled();
+            expire(wheel[(int) (tick & MASK)]);
+            tick++;
+        }
+    }
+
+    private void waitForTick() {
+        long deadline = startTime + (tick + 1) * tickNanos;
+        for (;;) {
+            long sleep = deadline - System.nanoTime();
+            if (sleep <= 0 || stopped) {
+                return;
+            }
+            LockSupport.parkNanos(this, sleep);
+        }
+    }
+
+    private void transferScheduled() {
+        for (Timeout timeout = scheduled.getAndSet(null); timeout != null;) {
+            Timeout next = timeout.nextScheduled;
+            timeout.nextScheduled = null;
+            if (timeout.state == PENDING) {
+                add(timeout, tick);
+            }
+            timeout = next;
+        }
+    }
+
+    private void add(Timeout timeout, long earliestTick) {
+        long calculated = Math.max((timeout.deadline - startTime + tickNanos - 1) / tickNanos, earliestTick);
+        timeout.rounds = (calculated - tick) / WHEEL_SIZE;
+        wheel[(int) (calculated & MASK)].add(timeout);
+        size++;
+    }
+
+    private void transferCancelled() {
+        for (Timeout timeout = cancelled.getAndSet(null); timeout != null;) {
+            Timeout next = timeout.nextCancelled;
+            timeout.nextCancelled = null;
+            // Not in the wheel yet if it was cancelled before being transferred, or already removed by expiration
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+                size--;
+            }
+            timeout = next;
+        }
+    }
+
+    private void expire(Bucket bucket) {
+        Timeout timeout = bucket.head;
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            if (timeout.rounds <= 0) {
+                bucket.remove(timeout);
+                size--;
+                timeout.expire();
+                if (timeout.fixedRate && timeout.state == PENDING) {
+                    timeout.deadline = nextDeadline(timeout);
+                    add(timeout, tick + 1);
+                }
+            } else {
+                timeout.rounds--;
+            }
+            timeout = next;
+        }
+    }
+
+    private long nextDeadline(Timeout timeout) {
+        long deadline = timeout.deadline + timeout.period;
+        long now = System.nanoTime();
+        if (deadline - now < 0) {
+            deadline += ((now - deadline) / timeout.period + 1) * timeout.period;
+        }
+        return deadline;
+    }
+
+    private static class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.prev == null) {
+                head = timeout.next;
+            } else {
+                timeout.prev.next = timeout.next;
+            }
+            if (timeout.next == null) {
+                tail = timeout.prev;
+            } else {
+                timeout.next.prev = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+
+    class Timeout implements ICancellable {
+
+        private final long period;
+        private final boolean fixedRate;
+        private volatile Runnable task;
+        private volatile int state;
+        private long deadline;
+
+        // Links in the scheduled and cancelled stacks; a timeout may be in both at once
+        private Timeout nextScheduled;
+        private Timeout nextCancelled;
+
+        // Accessed by the timer thread only
+        private Timeout prev;
+        private Timeout next;
+        private Bucket bucket;
+        private long rounds;
+
+        private Timeout(Runnable task, long period, boolean fixedRate) {
+            this.task = task;
+            this.period = period;
+            this.fixedRate = fixedRate;
+        }
+
+        /**
+         * Schedules this timeout to expire after a delay. A one-shot or fixed-rate timeout must be armed once; a fixed-delay timeout is armed once initially and then again after each expiration.
+         *
+         * @param delayMs delay in milliseconds
+         */
+        void rearm(long delayMs) {
+            if (stopped) {
+                cancel();
+                return;
+            }
+            if (state != PENDING) {
+                return;
+            }
+            deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(delayMs, 0L));
+            do {
+                nextScheduled = scheduled.get();
+            } while (!scheduled.compareAndSet(nextScheduled, this));
+            if (idle) {
+                LockSupport.unpark(thread);
+            }
+        }
+
+        @Override
+        public boolean cancel() {
+            if (!STATE.compareAndSet(this, PENDING, CANCELLED)) {
+                return false;
+            }
+            task = null;
+            do {
+                nextCancelled = cancelled.get();
+            } while (!cancelled.compareAndSet(nextCancelled, this));
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return state == CANCELLED;
+        }
+
+        private void expire() {
+            Runnable runnable = task;
+            if (period == 0) {
+                if (!STATE.compareAndSet(this, PENDING, EXPIRED)) {
+                    return;
+                }
+                task = null;
+            } else if (state != PENDING || runnable == null) {
+                return;
+            }
+            try {
+                runnable.run();
+            } catch (Exception e) {
+                e.printStackTrace(); // TODO: logging
+            }
+        }
+    }
+
+}
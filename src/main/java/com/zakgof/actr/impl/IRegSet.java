@@ -1,6 +1,8 @@
 package com.zakgof.actr.impl;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 interface IRegSet<T> {
 
@@ -10,5 +12,18 @@ interface IRegSet<T> {
 
     IRegistration add(T element);
 
+    default List<IRegistration> addAll(List<? extends T> elements) {
+        List<IRegistration> registrations = new ArrayList<>(elements.size());
+        for (T element : elements) {
+            registrations.add(add(element));
+        }
+        return registrations;
+    }
+
     Collection<T> copy();
+
+    /**
+     * @return number of registered elements
+     */
+    int size();
 }
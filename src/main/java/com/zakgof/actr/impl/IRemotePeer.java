@@ -0,0 +1,39 @@
+package com.zakgof.actr.impl;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+/**
+ * Remote side of a link as seen by actor proxies, see {@link RemoteActorRef}.
+ */
+interface IRemotePeer {
+
+    /**
+     * @return local actor system, timing delayed messages
+     */
+    ActorSystemImpl system();
+
+    /**
+     * Encodes a tell frame, may be sent several times.
+     */
+    RemoteFrame tellFrame(byte[] target, Object action);
+
+    /**
+     * Sends a frame.
+     *
+     * @return false if the frame was not sent because the link or the connection is closed
+     */
+    boolean send(RemoteFrame frame);
+
+    /**
+     * Sends an ask.
+     *
+     * @return future completed in the transport thread
+     */
+    CompletableFuture<Object> ask(byte[] target, Object action);
+
+    /**
+     * Sends a streaming ask, subscribing the subscriber; the subscriber is called in the transport thread.
+     */
+    void askStream(byte[] target, Object action, int chunkSize, Flow.Subscriber<Object> subscriber);
+}
@@ -0,0 +1,41 @@
+package com.zakgof.actr.impl;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.zakgof.actr.IStateStore;
+
+/**
+ * State store keeping actor state serialized and compressed in memory.
+ *
+ * @param <T> actor POJO class
+ */
+public class InMemoryStateStore<T> implements IStateStore<T> {
+
+    private final Map<Long, byte[]> states = new ConcurrentHashMap<>();
+
+    @Override
+    public void save(long id, T state) {
+        states.put(id, StateSerialization.serialize(state));
+    }
+
+    @Override
+    public T load(long id) {
+        byte[] data = states.get(id);
+        if (data == null)
+            throw new IllegalStateException("No state stored for actor " + id);
+        return StateSerialization.deserialize(data);
+    }
+
+    @Override
+    public void remove(long id) {
+        states.remove(id);
+    }
+
+    /**
+     * @return total size of the stored states in bytes
+     */
+    public long size() {
+        return states.values().stream().mapToLong(data -> data.length).sum();
+    }
+}
@@ -0,0 +1,105 @@
+package com.zakgof.actr.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+
+import com.zakgof.actr.IRemoteCodec;
+
+/**
+ * Remote codec using Java serialization, reading directly from the receive buffer.
+ *
+ * Decoding is either unfiltered or restricted to an allow-list: the classes actr itself passes between peers, i.e. serialized lambdas, common java.lang, java.util, java.time and java.math classes, and the classes matched by a
+ * pattern. Any other class in a received stream is rejected before it is instantiated.
+ */
+public class JavaSerializationCodec implements IRemoteCodec {
+
+    private static final String ALWAYS_ALLOWED = "java.lang.*;java.lang.invoke.SerializedLambda;java.util.*;java.time.*;java.math.*";
+
+    private final ObjectInputFilter filter;
+
+    /**
+     * Creates a codec decoding any serializable class.
+     */
+    public JavaSerializationCodec() {
+        this.filter = null;
+    }
+
+    /**
+     * Creates a codec decoding only allowed classes.
+     *
+     * @param allowedClasses classes to be allowed in addition to the built-in ones, in {@link ObjectInputFilter.Config#createFilter(String)} pattern syntax
+     * @throws IllegalArgumentException if the pattern is malformed
+     */
+    public JavaSerializationCodec(String allowedClasses) {
+        ObjectInputFilter patterns = ObjectInputFilter.Config.createFilter(ALWAYS_ALLOWED + ";" + allowedClasses + ";!*");
+        this.filter = info -> isLambda(info.serialClass()) ? ObjectInputFilter.Status.ALLOWED : patterns.checkInput(info);
+    }
+
+    /**
+     * A lambda is only resolved from a SerializedLambda by its declaring class, which has already passed the filter.
+     */
+    private static boolean isLambda(Class<?> type) {
+        return type != null && type.isSynthetic() && type.getName().contains("$$Lambda");
+    }
+
+    @Override
+    public byte[] encode(Object object) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream(256);
+        try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
+            oos.writeObject(object);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot serialize " + object, e);
+        }
+        return baos.toByteArray();
+    }
+
+    @Override
+    public Object decode(ByteBuffer data) {
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteBufferInputStream(data))) {
+            if (filter != null) {
+                ois.setObjectInputFilter(filter);
+            }
+            return ois.readObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0)
+                return 0;
+            if (!buffer.hasRemaining())
+                return -1;
+            int count = Math.min(len, buffer.remaining());
+            buffer.get(b, off, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
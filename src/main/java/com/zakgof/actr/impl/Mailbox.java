@@ -0,0 +1,280 @@
+package com.zakgof.actr.impl;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Intrusive multi-producer single-consumer actor mailbox.
+ *
+ * Messages are linked through their own {@link Node#next} field, so enqueueing does not allocate anything beyond the message itself. Producers need a single atomic swap of the tail pointer per message.
+ *
+ * The "scheduled" flag is a part of the queue state: tail is null while the mailbox is idle. A producer that finds the mailbox idle owns the transition to scheduled and must submit the drain task, see {@link #push(Node)}. The consumer only
+ * returns the mailbox to idle when it has run the last message, see {@link #drain(int, long)}.
+ *
+ * Bounded mailboxes additionally count reserved messages, see {@link #reserve()}. Counting is done by the actor when a message is sent and when it is about to run, so that capacity is respected with any scheduler. Unbounded mailboxes
+ * only count pending messages on request, see {@link #countDepth()}.
+ */
+class Mailbox {
+
+    static final int UNBOUNDED = Integer.MAX_VALUE;
+
+    private static final VarHandle TAIL;
+    private static final VarHandle NEXT;
+    private static final VarHandle SIZE;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            TAIL = lookup.findVarHandle(Mailbox.class, "tail", Node.class);
+            NEXT = lookup.findVarHandle(Node.class, "next", Node.class);
+            SIZE = lookup.findVarHandle(Mailbox.class, "size", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * Mailbox message. A node can only be enqueued once.
+     */
+    abstract static class Node implements Runnable {
+        private volatile Node next;
+    }
+
+    private static class RunnableNode extends Node {
+        private final Runnable runnable;
+
+        RunnableNode(Runnable runnable) {
+            this.runnable = runnable;
+        }
+
+        @Override
+        public void run() {
+            runnable.run();
+        }
+    }
+
+    /** Last enqueued message, null when the mailbox is idle. */
+    private volatile Node tail;
+
+    /** Next message to run; only accessed by the consumer, or by the producer that scheduled the mailbox. */
+    private Node head;
+
+    /** Task draining this mailbox, supplied by the actor's scheduler. */
+    private Runnable drainer;
+
+    /** Listener notified after each drain, only set when metrics are collected. */
+    private DrainListener drainListener;
+
+    private final int capacity;
+    private final boolean dropOldest;
+
+    /** Adaptive drain batch size, maintained by the scheduler as a heuristic. */
+    private int batch;
+
+    /** Index of the worker that last drained this mailbox, maintained by the scheduler as a heuristic. */
+    private volatile int affinity = -1;
+
+    /** Number of reserved messages for bounded mailboxes, or of pending messages when counting depth. */
+    private volatile int size;
+
+    /** Whether an unbounded mailbox counts pending messages in {@link #size}. */
+    private boolean countingDepth;
+
+    Mailbox() {
+        this(UNBOUNDED, false);
+    }
+
+    /**
+     * @param capacity maximum number of pending messages, or {@link #UNBOUNDED}
+     * @param dropOldest whether a full mailbox accepts new messages and drops the oldest ones instead
+     */
+    Mailbox(int capacity, boolean dropOldest) {
+        this.capacity = capacity;
+        this.dropOldest = dropOldest;
+    }
+
+    /**
+     * Wraps a runnable into a mailbox node unless it already is one.
+     *
+     * @param runnable message
+     * @return mailbox node
+     */
+    static Node node(Runnable runnable) {
+        return runnable instanceof Node ? (Node) runnable : new RunnableNode(runnable);
+    }
+
+    /**
+     * Adds a message to this mailbox.
+     *
+     * @param node message
+     * @return true if the mailbox was idle; the caller is then responsible for scheduling the drain task
+     */
+    boolean push(Node node) {
+        if (countingDepth) {
+            SIZE.getAndAdd(this, 1);
+        }
+        return push(node, node);
+    }
+
+    /**
+     * Adds several messages to this mailbox at once, preserving their order. The messages are linked together before being published with a single tail swap, so that they become visible to the consumer all together.
+     *
+     * @param runnables messages
+     * @return true if the mailbox was idle; the caller is then responsible for scheduling the drain task
+     */
+    boolean pushAll(List<? extends Runnable> runnables) {
+        if (runnables.isEmpty()) {
+            return false;
+        }
+        if (countingDepth) {
+            SIZE.getAndAdd(this, runnables.size());
+        }
+        Iterator<? extends Runnable> iterator = runnables.iterator();
+        Node first = node(iterator.next());
+        Node last = first;
+        while (iterator.hasNext()) {
+            Node node = node(iterator.next());
+            NEXT.set(last, node);
+            last = node;
+        }
+        return push(first, last);
+    }
+
+    private boolean push(Node first, Node last) {
+        Node prev = (Node) TAIL.getAndSet(this, last);
+        if (prev == null) {
+            head = first;
+            return true;
+        }
+        NEXT.setRelease(prev, first);
+        return false;
+    }
+
+    /**
+     * Runs pending messages. Must be called by a single consumer at a time, and only after {@link #push(Node)} reported the mailbox as scheduled.
+     *
+     * @param max maximum number of messages to run
+     * @param budgetNanos time budget: no more messages are started once it is exceeded, 0 for no time limit
+     * @return number of messages run; the number is negated if the mailbox became idle, otherwise the mailbox still has pending messages and has to be drained again
+     */
+    int drain(int max, long budgetNanos) {
+        if (drainListener == null) {
+            return drainMessages(max, budgetNanos);
+        }
+        long start = System.nanoTime();
+        int result = drainMessages(max, budgetNanos);
+        drainListener.drained(Math.abs(result), System.nanoTime() - start);
+        return result;
+    }
+
+    private int drainMessages(int max, long budgetNanos) {
+        long start = budgetNanos > 0 ? System.nanoTime() : 0L;
+        Node current = head;
+        int processed = 0;
+        while (processed < max) {
+            if (countingDepth) {
+                SIZE.getAndAdd(this, -1);
+            }
+            current.run();
+            processed++;
+            Node next = current.next;
+            if (next == null) {
+                // Clear head before going idle: once idle, the next producer owns it
+                head = null;
+                if (TAIL.compareAndSet(this, current, null)) {
+                    return -processed;
+                }
+                // A producer has swapped the tail but not linked its message yet
+                while ((next = current.next) == null) {
+                    Thread.onSpinWait();
+                }
+            }
+            current.next = null;
+            current = next;
+            if (budgetNanos > 0 && System.nanoTime() - start >= budgetNanos) {
+                break;
+            }
+        }
+        head = current;
+        return processed;
+    }
+
+    boolean bounded() {
+        return capacity != UNBOUNDED;
+    }
+
+    /**
+     * Reserves a place for a new message in a bounded mailbox. Every successful reservation must be followed by a {@link #release()} when the message is about to run.
+     *
+     * @return false if the mailbox is full and the message should be rejected
+     */
+    boolean reserve() {
+        int before = (int) SIZE.getAndAdd(this, 1);
+        if (before < capacity || dropOldest) {
+            return true;
+        }
+        SIZE.getAndAdd(this, -1);
+        return false;
+    }
+
+    /**
+     * Releases a place reserved by a message that is about to run.
+     *
+     * @return false if the message should be dropped as the oldest one in an overflown mailbox
+     */
+    boolean release() {
+        int before = (int) SIZE.getAndAdd(this, -1);
+        return !dropOldest || before <= capacity;
+    }
+
+    /**
+     * Makes an unbounded mailbox count pending messages, see {@link #depth()}. Must be called before the first message is pushed.
+     */
+    void countDepth() {
+        countingDepth = !bounded();
+    }
+
+    /**
+     * Returns the number of pending messages, not including the running one. Only available for bounded mailboxes and for mailboxes counting depth, and only when messages are pushed by the scheduler.
+     *
+     * @return number of pending messages, or 0 if not counted
+     */
+    int depth() {
+        return Math.min(size, capacity);
+    }
+
+    void batch(int batch) {
+        this.batch = batch;
+    }
+
+    int batch() {
+        return batch;
+    }
+
+    void affinity(int affinity) {
+        this.affinity = affinity;
+    }
+
+    int affinity() {
+        return affinity;
+    }
+
+    void drainer(Runnable drainer) {
+        this.drainer = drainer;
+    }
+
+    Runnable drainer() {
+        return drainer;
+    }
+
+    void drainListener(DrainListener drainListener) {
+        this.drainListener = drainListener;
+    }
+
+    interface DrainListener {
+        void drained(int messages, long busyNanos);
+    }
+
+}
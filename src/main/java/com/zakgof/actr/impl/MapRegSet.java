@@ -19,4 +19,9 @@ class MapRegSet<T> implements IRegSet<T> {
         return map.keySet();
     }
 
+    @Override
+    public int size() {
+        return map.size();
+    }
+
 }
@@ -0,0 +1,298 @@
+package com.zakgof.actr.impl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import com.zakgof.actr.IJournal;
+
+/**
+ * Journal stored in memory-mapped segment files.
+ *
+ * Record layout: payload length (int, 0 marks the end of a segment), CRC32 of id and payload (int), id length (short), UTF-8 id, payload. A record failing the CRC check ends the journal, discarding a torn write.
+ *
+ * Records are located by an in-memory index from persistence id to record positions, built by a sequential scan on opening. A single commit thread forces dirty segments and then runs the commit callbacks registered before the force.
+ */
+public class MappedJournal implements IJournal {
+
+    private static final int HEADER_SIZE = 10;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final long commitIntervalMs;
+    private final Thread committer;
+
+    // Guarded by this
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    private final Map<String, EventStream> streams = new HashMap<>();
+    private final CRC32 crc = new CRC32();
+    private MappedByteBuffer current;
+    private int firstDirty = -1;
+    private List<Runnable> callbacks = new ArrayList<>();
+    private boolean commitRequested;
+    private boolean closed;
+
+    public MappedJournal(Path directory, int segmentSize, long commitIntervalMs) {
+        if (segmentSize <= HEADER_SIZE)
+            throw new IllegalArgumentException("Segment size too small: " + segmentSize);
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.commitIntervalMs = commitIntervalMs;
+        try {
+            Files.createDirectories(directory);
+            List<Path> files;
+            try (Stream<Path> list = Files.list(directory)) {
+                files = list.filter(p -> p.getFileName().toString().matches("journal-\\d{8}\\.seg")).sorted().collect(Collectors.toList());
+            }
+            for (int i = 0; i < files.size(); i++) {
+                if (!files.get(i).equals(segmentPath(i)))
+                    throw new IllegalStateException("Missing journal segment " + segmentPath(i));
+                MappedByteBuffer segment = map(files.get(i));
+                segments.add(segment);
+                if (!scan(i, segment)) {
+                    // The journal ends here, segments past the end are stale
+                    for (Path stale : files.subList(i + 1, files.size())) {
+                        Files.delete(stale);
+                    }
+                    break;
+                }
+            }
+            if (segments.isEmpty()) {
+                segments.add(map(segmentPath(0)));
+            }
+            current = segments.get(segments.size() - 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open journal " + directory, e);
+        }
+        committer = new Thread(this::commitLoop, "actr:journal:" + directory.getFileName());
+        committer.setDaemon(true);
+        committer.start();
+    }
+
+    private Path segmentPath(int index) {
+        return directory.resolve(String.format("journal-%08d.seg", index));
+    }
+
+    private MappedByteBuffer map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+    }
+
+    /**
+     * Indexes the records of a segment and positions it after the last valid record.
+     *
+     * @return true if the segment is complete and the journal continues in the next one
+     */
+    private boolean scan(int index, MappedByteBuffer segment) {
+        ByteBuffer buffer = segment.duplicate();
+        byte[] idBytes = new byte[256];
+        int position = 0;
+        while (position + HEADER_SIZE <= segmentSize) {
+            int length = buffer.getInt(position);
+            if (length == 0) {
+                segment.position(position);
+                return buffer.get(position + 4) == 1;
+            }
+            int idLength = buffer.getShort(position + 8);
+            int end = position + HEADER_SIZE + idLength + length;
+            if (length < 0 || idLength < 0 || end > segmentSize || end < 0)
+                break;
+            if (idBytes.length < idLength) {
+                idBytes = new byte[idLength];
+            }
+            buffer.position(position + HEADER_SIZE);
+            buffer.get(idBytes, 0, idLength);
+            crc.reset();
+            crc.update(idBytes, 0, idLength);
+            buffer.limit(end);
+            crc.update(buffer);
+            buffer.limit(segmentSize);
+            if ((int) crc.getValue() != buffer.getInt(position + 4))
+                break;
+            stream(new String(idBytes, 0, idLength, StandardCharsets.UTF_8)).add(((long) index << 32) | position);
+            position = end;
+        }
+        // Torn or corrupted tail: truncate the journal here
+        segment.position(position);
+        for (int i = position; i < Math.min(position + HEADER_SIZE, segmentSize); i++) {
+            segment.put(i, (byte) 0);
+        }
+        return false;
+    }
+
+    private EventStream stream(String persistenceId) {
+        return streams.computeIfAbsent(persistenceId, id -> new EventStream());
+    }
+
+    @Override
+    public synchronized long append(String persistenceId, byte[] event) {
+        if (closed)
+            throw new IllegalStateException("Journal " + directory + " is closed");
+        byte[] id = persistenceId.getBytes(StandardCharsets.UTF_8);
+        int size = HEADER_SIZE + id.length + event.length;
+        if (id.length > Short.MAX_VALUE || event.length == 0 || size > segmentSize - HEADER_SIZE)
+            throw new IllegalArgumentException("Cannot journal event of " + event.length + " bytes for " + persistenceId);
+        if (current.position() + size > segmentSize - HEADER_SIZE) {
+            roll();
+        }
+        int position = current.position();
+        crc.reset();
+        crc.update(id);
+        crc.update(event);
+        current.putInt(position + 4, (int) crc.getValue());
+        current.putShort(position + 8, (short) id.length);
+        current.position(position + HEADER_SIZE);
+        current.put(id);
+        current.put(event);
+        // Length goes last so that a record is never seen without its body
+        current.putInt(position, event.length);
+        int index = segments.size() - 1;
+        dirty(index);
+        return stream(persistenceId).add(((long) index << 32) | position);
+    }
+
+    private void dirty(int index) {
+        if (firstDirty < 0) {
+            firstDirty = index;
+            notifyAll();
+        }
+    }
+
+    private void roll() {
+        // End marker with the continuation flag, see scan. The flag is forced with the next commit too: without it the journal would end here on opening, and the segments past it would be deleted
+        current.put(current.position() + 4, (byte) 1);
+        dirty(segments.size() - 1);
+        try {
+            current = map(segmentPath(segments.size()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create journal segment in " + directory, e);
+        }
+        segments.add(current);
+    }
+
+    @Override
+    public long replay(String persistenceId, long fromSequence, Consumer<byte[]> consumer) {
+        long[] positions;
+        int count;
+        ByteBuffer[] buffers;
+        synchronized (this) {
+            EventStream stream = streams.get(persistenceId);
+            if (stream == null)
+                return 0;
+            positions = stream.positions;
+            count = stream.count;
+            buffers = new ByteBuffer[segments.size()];
+        }
+        for (int i = (int) Math.min(fromSequence, count); i < count; i++) {
+            int segment = (int) (positions[i] >>> 32);
+            int position = (int) positions[i];
+            ByteBuffer buffer = buffers[segment];
+            if (buffer == null) {
+                synchronized (this) {
+                    buffer = buffers[segment] = segments.get(segment).duplicate();
+                }
+            }
+            byte[] event = new byte[buffer.getInt(position)];
+            buffer.position(position + HEADER_SIZE + buffer.getShort(position + 8));
+            buffer.get(event);
+            consumer.accept(event);
+        }
+        return count;
+    }
+
+    @Override
+    public synchronized void commit(Runnable callback) {
+        if (closed)
+            throw new IllegalStateException("Journal " + directory + " is closed");
+        callbacks.add(callback);
+        if (!commitRequested) {
+            commitRequested = true;
+            notifyAll();
+        }
+    }
+
+    private void commitLoop() {
+        long interval = TimeUnit.MILLISECONDS.toNanos(commitIntervalMs);
+        long lastCommit = System.nanoTime() - interval;
+        for (;;) {
+            List<Runnable> committed;
+            List<MappedByteBuffer> dirty;
+            synchronized (this) {
+                try {
+                    while (!closed && !commitRequested && firstDirty < 0) {
+                        wait();
+                    }
+                    // Commits are at least an interval apart, the ones requested meanwhile are grouped
+                    long wait;
+                    while (!closed && (wait = lastCommit + interval - System.nanoTime()) > 0) {
+                        TimeUnit.NANOSECONDS.timedWait(this, wait);
+                    }
+                } catch (InterruptedException e) {
+                    return;
+                }
+                lastCommit = System.nanoTime();
+                dirty = firstDirty < 0 ? List.of() : new ArrayList<>(segments.subList(firstDirty, segments.size()));
+                firstDirty = -1;
+                committed = callbacks;
+                callbacks = new ArrayList<>();
+                commitRequested = false;
+            }
+            dirty.forEach(MappedByteBuffer::force);
+            committed.forEach(Runnable::run);
+            synchronized (this) {
+                if (closed && firstDirty < 0 && callbacks.isEmpty())
+                    return;
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed)
+                return;
+            closed = true;
+            notifyAll();
+        }
+        try {
+            committer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "MappedJournal " + directory;
+    }
+
+    private static class EventStream {
+        private long[] positions = new long[4];
+        private int count;
+
+        long add(long position) {
+            if (count == positions.length) {
+                positions = Arrays.copyOf(positions, count * 2);
+            }
+            positions[count] = position;
+            return count++;
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.zakgof.actr.impl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Single-producer single-consumer ring of {@link RemoteFrame}s in a memory-mapped file, shared by two processes.
+ *
+ * File layout: magic (int), capacity (int), session (long), write position (long, at 64), read position (long, at 128), data (from 192). Positions grow monotonically and are taken modulo the capacity; each sits on its own cache line, written with
+ * release and read with acquire semantics. A record is a frame padded to 8 bytes; a frame that does not fit before the end of the data is preceded by a padding marker (-1) filling the rest. The positions survive in the file, so that
+ * records written while the consumer is not running are read when it starts.
+ *
+ * Another local user able to write the file could feed arbitrary frames to the consumer. So a missing file is created readable and writable by its owner only, and an existing file is only mapped if it is a regular file owned by the
+ * current user and, where POSIX permissions are supported, not accessible to anyone else.
+ *
+ * In-process producers are serialized by the ring's lock.
+ */
+class MappedRing {
+
+    private static final int MAGIC = 0x41637452;
+    private static final int SESSION = 8;
+    private static final int WRITE_POSITION = 64;
+    private static final int READ_POSITION = 128;
+    private static final int DATA = 192;
+    private static final int PADDING = -1;
+
+    private static final int SPINS = 100;
+    private static final int YIELDS = 100;
+    private static final long MAX_PARK_NANOS = 1_000_000;
+
+    private static final Set<PosixFilePermission> OWNER_ONLY = EnumSet.of(PosixFilePermission.OWNER_READ, PosixFilePermission.OWNER_WRITE);
+
+    private static final VarHandle POSITION = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private final Path file;
+    private final int capacity;
+    private final int mask;
+    private final MappedByteBuffer buffer;
+
+    // Producer only, guarded by lock
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ByteBuffer writeView;
+    private long writePosition;
+    private long readPositionCache;
+
+    // Consumer only
+    private final ByteBuffer readView;
+    private long readPosition;
+
+    MappedRing(Path file, int capacity) {
+        if (capacity < 4096 || Integer.bitCount(capacity) != 1)
+            throw new IllegalArgumentException("Ring capacity must be a power of two of at least 4096: " + capacity);
+        this.file = file;
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        try (FileChannel channel = open(file)) {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, DATA + capacity);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot map ring " + file, e);
+        }
+        if (buffer.getInt(0) == 0) {
+            buffer.putInt(4, capacity);
+            buffer.putInt(0, MAGIC);
+        } else if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != capacity) {
+            throw new IllegalArgumentException("File " + file + " is not a ring of capacity " + capacity);
+        }
+        writeView = buffer.duplicate();
+        readView = buffer.duplicate();
+        writePosition = (long) POSITION.getAcquire(buffer, WRITE_POSITION);
+        readPosition = (long) POSITION.getAcquire(buffer, READ_POSITION);
+        readPositionCache = readPosition;
+    }
+
+    private static FileChannel open(Path file) throws IOException {
+        boolean posix = file.getFileSystem().supportedFileAttributeViews().contains("posix");
+        try {
+            Set<StandardOpenOption> options = EnumSet.of(StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            return posix ? FileChannel.open(file, options, PosixFilePermissions.asFileAttribute(OWNER_ONLY)) : FileChannel.open(file, options);
+        } catch (FileAlreadyExistsException e) {
+            checkAccess(file, posix);
+            return FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE, LinkOption.NOFOLLOW_LINKS);
+        }
+    }
+
+    private static void checkAccess(Path file, boolean posix) throws IOException {
+        if (!Files.isRegularFile(file, LinkOption.NOFOLLOW_LINKS))
+            throw new AccessDeniedException(file.toString(), null, "not a regular file");
+        if (file.getFileSystem().supportedFileAttributeViews().contains("owner")) {
+            UserPrincipal owner = Files.getOwner(file, LinkOption.NOFOLLOW_LINKS);
+            UserPrincipal user = file.getFileSystem().getUserPrincipalLookupService().lookupPrincipalByName(System.getProperty("user.name"));
+            if (!owner.equals(user))
+                throw new AccessDeniedException(file.toString(), null, "owned by " + owner.getName() + ", not " + user.getName());
+        }
+        if (posix) {
+            Set<PosixFilePermission> permissions = Files.getPosixFilePermissions(file, LinkOption.NOFOLLOW_LINKS);
+            if (!OWNER_ONLY.containsAll(permissions))
+                throw new AccessDeniedException(file.toString(), null, "accessible to other users: " + PosixFilePermissions.toString(permissions));
+        }
+    }
+
+    /**
+     * Counts the producer's sessions, so that it can tell its own frames from those of a previous process.
+     *
+     * @return number of the new session, starting at 1
+     */
+    long nextSession() {
+        lock.lock();
+        try {
+            long session = (long) POSITION.getAcquire(buffer, SESSION) + 1;
+            POSITION.setRelease(buffer, SESSION, session);
+            return session;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes a frame, waiting while the ring is full.
+     *
+     * @param frame frame
+     * @param closed condition to stop waiting
+     * @return false if closed while waiting
+     */
+    boolean write(RemoteFrame frame, BooleanSupplier closed) {
+        lock.lock();
+        try {
+            return put(frame, closed);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes a frame if the ring has space and no other producer is writing, without waiting.
+     *
+     * @return false if the frame was not written
+     */
+    boolean tryWrite(RemoteFrame frame) {
+        if (!lock.tryLock())
+            return false;
+        try {
+            return put(frame, () -> true);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean put(RemoteFrame frame, BooleanSupplier closed) {
+        int recordSize = align(frame.size());
+        if (recordSize > capacity)
+            throw new IllegalArgumentException("Message of " + frame.size() + " bytes does not fit ring " + file);
+        int index = (int) (writePosition & mask);
+        int toEnd = capacity - index;
+        if (recordSize > toEnd) {
+            if (!awaitSpace(toEnd, closed))
+                return false;
+            buffer.putInt(DATA + index, PADDING);
+            writePosition += toEnd;
+            POSITION.setRelease(buffer, WRITE_POSITION, writePosition);
+            index = 0;
+        }
+        if (!awaitSpace(recordSize, closed))
+            return false;
+        writeView.limit(DATA + index + frame.size()).position(DATA + index);
+        frame.copyTo(writeView, 0);
+        writePosition += recordSize;
+        POSITION.setRelease(buffer, WRITE_POSITION, writePosition);
+        return true;
+    }
+
+    private boolean awaitSpace(int size, BooleanSupplier closed) {
+        for (int attempt = 0; writePosition + size - readPositionCache > capacity; attempt++) {
+            readPositionCache = (long) POSITION.getAcquire(buffer, READ_POSITION);
+            if (writePosition + size - readPositionCache > capacity) {
+                if (closed.getAsBoolean())
+                    return false;
+                idle(attempt);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Passes all the available frames to the dispatcher, in the consumer thread.
+     *
+     * @return number of frames read
+     */
+    int read(RemoteDispatcher dispatcher) {
+        long available = (long) POSITION.getAcquire(buffer, WRITE_POSITION);
+        int count = 0;
+        while (readPosition < available) {
+            int index = (int) (readPosition & mask);
+            int length = buffer.getInt(DATA + index);
+            if (length == PADDING) {
+                readPosition += capacity - index;
+            } else {
+                if (length < RemoteFrame.HEADER_SIZE - Integer.BYTES || Integer.BYTES + length > capacity - index)
+                    throw new IllegalStateException("Corrupt ring " + file + " at " + readPosition);
+                readView.limit(DATA + index + Integer.BYTES + length).position(DATA + index + Integer.BYTES);
+                dispatcher.receive(readView);
+                readPosition += align(Integer.BYTES + length);
+                count++;
+            }
+            POSITION.setRelease(buffer, READ_POSITION, readPosition);
+        }
+        return count;
+    }
+
+    private static int align(int size) {
+        return (size + 7) & ~7;
+    }
+
+    /**
+     * Waits progressively longer: spins, then yields, then parks for up to 1 ms.
+     *
+     * @param attempt number of unsuccessful attempts so far
+     */
+    static void idle(int attempt) {
+        if (attempt < SPINS) {
+            Thread.onSpinWait();
+        } else if (attempt < SPINS + YIELDS) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(Math.min(MAX_PARK_NANOS, 1000L << Math.min(attempt - SPINS - YIELDS, 10)));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Ring " + file;
+    }
+}
@@ -0,0 +1,30 @@
+package com.zakgof.actr.impl;
+
+import com.zakgof.actr.Histogram;
+import com.zakgof.actr.IMessageLatency;
+
+class MessageLatency implements IMessageLatency {
+
+    private final Histogram queueTime = new Histogram();
+    private final Histogram runTime = new Histogram();
+
+    void record(long queueNanos, long runNanos) {
+        queueTime.record(queueNanos);
+        runTime.record(runNanos);
+    }
+
+    @Override
+    public Histogram queueTime() {
+        return queueTime;
+    }
+
+    @Override
+    public Histogram runTime() {
+        return runTime;
+    }
+
+    @Override
+    public String toString() {
+        return "queue=[" + queueTime + "] run=[" + runTime + "]";
+    }
+}
@@ -0,0 +1,447 @@
+package com.zakgof.actr.impl;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.zakgof.actr.IActorRef;
+import com.zakgof.actr.IActorSystem;
+import com.zakgof.actr.IRemoteCodec;
+import com.zakgof.actr.IRemoteEndpoint;
+
+/**
+ * Remote endpoint running a non-blocking selector in a single thread. Messages are sent as {@link RemoteFrame}s.
+ *
+ * Sending threads encode frames and queue them to the connection's lock-free outbox, scheduling a flush in the endpoint thread unless one is already scheduled. A flush copies as many queued frames as fit into a pooled direct buffer
+ * and writes them at once, so that frames queued while the previous write was in progress are coalesced. Received frames are decoded from a pooled direct buffer in place; frames larger than the buffer are assembled in a heap buffer.
+ *
+ * Frames are limited in size, so that a peer cannot make the endpoint allocate arbitrary amounts of memory: a connection receiving a larger frame is closed, and sending a larger message fails.
+ */
+public class NioRemoteEndpoint implements IRemoteEndpoint {
+
+    private static final int BUFFER_SIZE = 64 << 10;
+    private static final int DEFAULT_MAX_FRAME_SIZE = 16 << 20;
+
+    private final ActorSystemImpl system;
+    private final IRemoteCodec codec;
+    private final int maxFrameSize;
+    private final Selector selector;
+    private final ServerSocketChannel server;
+    private final InetSocketAddress address;
+    private final Thread thread;
+    private final Map<String, IActorRef<?>> exposed = new ConcurrentHashMap<>();
+    private final Map<InetSocketAddress, Connection> outgoing = new ConcurrentHashMap<>();
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private volatile boolean closed;
+
+    // Endpoint thread only
+    private final DirectBufferPool pool = new DirectBufferPool(BUFFER_SIZE);
+    private final Set<Connection> connections = new HashSet<>();
+
+    public NioRemoteEndpoint(IActorSystem system, InetSocketAddress bindAddress, IRemoteCodec codec) {
+        this(system, bindAddress, codec, DEFAULT_MAX_FRAME_SIZE);
+    }
+
+    public NioRemoteEndpoint(IActorSystem system, InetSocketAddress bindAddress, IRemoteCodec codec, int maxFrameSize) {
+        if (maxFrameSize < RemoteFrame.HEADER_SIZE)
+            throw new IllegalArgumentException("Maximum frame size too small: " + maxFrameSize);
+        this.system = (ActorSystemImpl) system;
+        this.codec = codec;
+        this.maxFrameSize = maxFrameSize;
+        try {
+            selector = Selector.open();
+            server = bindAddress == null ? null : listen(bindAddress);
+            address = server == null ? null : (InetSocketAddress) server.getLocalAddress();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open remote endpoint " + bindAddress, e);
+        }
+        thread = new Thread(this::run, "actr:remote:" + (address == null ? "client" : address.getPort()));
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private ServerSocketChannel listen(InetSocketAddress bindAddress) throws IOException {
+        ServerSocketChannel channel = ServerSocketChannel.open();
+        channel.bind(bindAddress);
+        channel.configureBlocking(false);
+        channel.register(selector, SelectionKey.OP_ACCEPT);
+        return channel;
+    }
+
+    @Override
+    public InetSocketAddress address() {
+        return address;
+    }
+
+    @Override
+    public <T> void expose(String name, IActorRef<T> actor) {
+        exposed.put(name, actor);
+    }
+
+    @Override
+    public void unexpose(String name) {
+        exposed.remove(name);
+    }
+
+    @Override
+    public <T> IActorRef<T> actor(InetSocketAddress address, String name) {
+        return new RemoteActorRef<>(new Peer(address), name);
+    }
+
+    private Connection connection(InetSocketAddress remote) {
+        if (closed)
+            throw new IllegalStateException("Remote endpoint closed");
+        Connection connection = outgoing.get(remote);
+        return connection == null ? outgoing.computeIfAbsent(remote, this::connect) : connection;
+    }
+
+    private Connection connect(InetSocketAddress remote) {
+        try {
+            SocketChannel channel = SocketChannel.open();
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            Connection connection = new Connection(channel, remote);
+            boolean connected = channel.connect(remote);
+            execute(() -> connection.register(connected));
+            return connection;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot connect to " + remote, e);
+        }
+    }
+
+    private void execute(Runnable task) {
+        tasks.add(task);
+        selector.wakeup();
+    }
+
+    private void run() {
+        try {
+            while (!closed) {
+                selector.select(this::handle);
+                for (Runnable task; (task = tasks.poll()) != null;) {
+                    task.run();
+                }
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
+            List<Connection> all = new ArrayList<>(connections);
+            all.addAll(outgoing.values());
+            IOException failure = new IOException("Remote endpoint closed");
+            all.forEach(connection -> connection.close(failure));
+            try {
+                if (server != null) {
+                    server.close();
+                }
+                selector.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private void handle(SelectionKey key) {
+        if (key.isAcceptable()) {
+            accept();
+        } else {
+            ((Connection) key.attachment()).handle(key);
+        }
+    }
+
+    private void accept() {
+        SocketChannel channel = null;
+        try {
+            channel = server.accept();
+            if (channel != null) {
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                new Connection(channel, null).register(true);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException ce) {
+                    e.addSuppressed(ce);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        selector.wakeup();
+        if (Thread.currentThread() != thread) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RemoteEndpoint " + (address == null ? "client" : address);
+    }
+
+    /**
+     * Remote endpoint at an address, reached through the current connection to it.
+     */
+    private class Peer implements IRemotePeer {
+
+        private final InetSocketAddress remote;
+
+        private Peer(InetSocketAddress remote) {
+            this.remote = remote;
+        }
+
+        @Override
+        public ActorSystemImpl system() {
+            return system;
+        }
+
+        @Override
+        public RemoteFrame tellFrame(byte[] target, Object action) {
+            return checkSize(new RemoteFrame(RemoteFrame.TELL, 0, target, codec.encode(action)));
+        }
+
+        @Override
+        public boolean send(RemoteFrame frame) {
+            return !closed && connection(remote).send(frame);
+        }
+
+        @Override
+        public CompletableFuture<Object> ask(byte[] target, Object action) {
+            return connection(remote).ask(target, action);
+        }
+
+        @Override
+        public void askStream(byte[] target, Object action, int chunkSize, Flow.Subscriber<Object> subscriber) {
+            connection(remote).askStream(target, action, chunkSize, subscriber);
+        }
+
+        @Override
+        public String toString() {
+            return remote.toString();
+        }
+    }
+
+    private RemoteFrame checkSize(RemoteFrame frame) {
+        if (frame.size() > maxFrameSize)
+            throw new IllegalArgumentException("Message of " + frame.size() + " bytes exceeds the maximum frame size " + maxFrameSize + " of " + this);
+        return frame;
+    }
+
+    private class Connection extends RemoteDispatcher {
+
+        private final SocketChannel channel;
+        private final InetSocketAddress remote;
+        private final Queue<RemoteFrame> outbox = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean flushScheduled = new AtomicBoolean();
+        private final Runnable flush = this::flush;
+        private volatile boolean closed;
+
+        // Endpoint thread only
+        private SelectionKey key;
+        private boolean connected;
+        private ByteBuffer readBuffer;
+        private ByteBuffer largeFrame;
+        private ByteBuffer writeBuffer;
+        private RemoteFrame partial;
+        private int partialOffset;
+
+        private Connection(SocketChannel channel, InetSocketAddress remote) {
+            super(codec, exposed);
+            this.channel = channel;
+            this.remote = remote;
+        }
+
+        @Override
+        boolean send(RemoteFrame frame) {
+            checkSize(frame);
+            if (closed)
+                return false;
+            outbox.add(frame);
+            if (flushScheduled.compareAndSet(false, true)) {
+                execute(flush);
+            }
+            return true;
+        }
+
+        private void register(boolean connected) {
+            try {
+                key = channel.register(selector, connected ? SelectionKey.OP_READ : SelectionKey.OP_CONNECT, this);
+                connections.add(this);
+                if (connected) {
+                    open();
+                }
+            } catch (IOException e) {
+                close(e);
+            }
+        }
+
+        private void open() {
+            connected = true;
+            readBuffer = pool.acquire();
+            flush();
+        }
+
+        private void handle(SelectionKey key) {
+            try {
+                if (key.isConnectable()) {
+                    channel.finishConnect();
+                    key.interestOps(SelectionKey.OP_READ);
+                    open();
+                }
+                if (key.isValid() && key.isReadable()) {
+                    read();
+                }
+                if (key.isValid() && key.isWritable()) {
+                    flush();
+                }
+            } catch (IOException | RuntimeException e) {
+                close(e);
+            }
+        }
+
+        private void flush() {
+            flushScheduled.set(false);
+            if (!connected || closed)
+                return;
+            try {
+                for (;;) {
+                    if (writeBuffer == null) {
+                        writeBuffer = pool.acquire();
+                    }
+                    fill();
+                    writeBuffer.flip();
+                    if (!writeBuffer.hasRemaining())
+                        break;
+                    channel.write(writeBuffer);
+                    if (writeBuffer.hasRemaining()) {
+                        writeBuffer.compact();
+                        key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                        return;
+                    }
+                    writeBuffer.clear();
+                }
+                pool.release(writeBuffer);
+                writeBuffer = null;
+                if ((key.interestOps() & SelectionKey.OP_WRITE) != 0) {
+                    key.interestOps(SelectionKey.OP_READ);
+                }
+            } catch (IOException e) {
+                close(e);
+            }
+        }
+
+        private void fill() {
+            while (writeBuffer.hasRemaining()) {
+                if (partial == null) {
+                    partial = outbox.poll();
+                    partialOffset = 0;
+                    if (partial == null)
+                        return;
+                }
+                partialOffset = partial.copyTo(writeBuffer, partialOffset);
+                if (partialOffset == partial.size()) {
+                    partial = null;
+                }
+            }
+        }
+
+        private void read() throws IOException {
+            if (largeFrame != null) {
+                if (channel.read(largeFrame) < 0)
+                    throw new EOFException();
+                if (!largeFrame.hasRemaining()) {
+                    largeFrame.flip();
+                    receive(largeFrame);
+                    largeFrame = null;
+                }
+                return;
+            }
+            if (channel.read(readBuffer) < 0)
+                throw new EOFException();
+            readBuffer.flip();
+            while (readBuffer.remaining() >= Integer.BYTES) {
+                int position = readBuffer.position();
+                int length = readBuffer.getInt(position);
+                if (length < RemoteFrame.HEADER_SIZE - Integer.BYTES)
+                    throw new IOException("Malformed frame");
+                if (length > maxFrameSize - Integer.BYTES)
+                    throw new IOException("Frame of " + (Integer.BYTES + (long) length) + " bytes exceeds the maximum frame size " + maxFrameSize);
+                if (readBuffer.remaining() - Integer.BYTES >= length) {
+                    int limit = readBuffer.limit();
+                    int end = position + Integer.BYTES + length;
+                    readBuffer.position(position + Integer.BYTES).limit(end);
+                    receive(readBuffer);
+                    readBuffer.limit(limit).position(end);
+                } else {
+                    if (Integer.BYTES + length > readBuffer.capacity()) {
+                        readBuffer.position(position + Integer.BYTES);
+                        largeFrame = ByteBuffer.allocate(length).put(readBuffer);
+                    }
+                    break;
+                }
+            }
+            readBuffer.compact();
+        }
+
+        private void close(Exception cause) {
+            if (closed)
+                return;
+            closed = true;
+            if (key != null) {
+                key.cancel();
+            }
+            try {
+                channel.close();
+            } catch (IOException e) {
+                cause.addSuppressed(e);
+            }
+            connections.remove(this);
+            if (remote != null) {
+                outgoing.remove(remote, this);
+            }
+            if (readBuffer != null) {
+                pool.release(readBuffer);
+                readBuffer = null;
+            }
+            if (writeBuffer != null) {
+                pool.release(writeBuffer);
+                writeBuffer = null;
+            }
+            largeFrame = null;
+            partial = null;
+            outbox.clear();
+            failPending(new IOException(this + " closed", cause));
+        }
+
+        @Override
+        public String toString() {
+            return "Connection to " + (remote == null ? "peer" : remote);
+        }
+    }
+}
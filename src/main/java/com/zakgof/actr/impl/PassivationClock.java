@@ -0,0 +1,69 @@
+package com.zakgof.actr.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Limits the number of active passivating actors in an actor system, approximating LRU eviction with the CLOCK algorithm.
+ *
+ * Active actors are kept in a ring. Instead of reordering the ring on every message, which would make message delivery contend on the ring, the clock hand checks whether an actor has processed messages since the hand passed it last time; such
+ * actors get a second chance, the first one that has not is passivated.
+ */
+class PassivationClock {
+
+    private final int maxActive;
+    private final List<ActorImpl<?>> ring = new ArrayList<>();
+    private int hand;
+
+    PassivationClock(int maxActive) {
+        this.maxActive = maxActive;
+    }
+
+    synchronized void activated(ActorImpl<?> actor) {
+        ActorImpl.Passivation<?> passivation = actor.passivation();
+        if (passivation.clockSlot >= 0) {
+            return;
+        }
+        passivation.clockSlot = ring.size();
+        // Give a new actor a second chance before it processes any messages
+        passivation.clockActivity = -1;
+        ring.add(actor);
+        while (ring.size() > maxActive) {
+            evict();
+        }
+    }
+
+    synchronized void deactivated(ActorImpl<?> actor) {
+        if (actor.passivation().clockSlot >= 0) {
+            remove(actor);
+        }
+    }
+
+    private void evict() {
+        for (;;) {
+            if (hand >= ring.size()) {
+                hand = 0;
+            }
+            ActorImpl<?> actor = ring.get(hand);
+            ActorImpl.Passivation<?> passivation = actor.passivation();
+            long activity = passivation.activity;
+            if (activity == passivation.clockActivity) {
+                remove(actor);
+                actor.evict();
+                return;
+            }
+            passivation.clockActivity = activity;
+            hand++;
+        }
+    }
+
+    private void remove(ActorImpl<?> actor) {
+        int slot = actor.passivation().clockSlot;
+        ActorImpl<?> last = ring.remove(ring.size() - 1);
+        if (last != actor) {
+            ring.set(slot, last);
+            last.passivation().clockSlot = slot;
+        }
+        actor.passivation().clockSlot = -1;
+    }
+}
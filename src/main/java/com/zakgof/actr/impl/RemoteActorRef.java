@@ -0,0 +1,249 @@
+package com.zakgof.actr.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import com.zakgof.actr.Actr;
+import com.zakgof.actr.IActorBatch;
+import com.zakgof.actr.IActorRef;
+import com.zakgof.actr.IActorSubscriber;
+import com.zakgof.actr.IActorSystem;
+import com.zakgof.actr.ICancellable;
+import com.zakgof.actr.IMessageLatency;
+import com.zakgof.actr.IStreamSink;
+
+/**
+ * Proxy to an actor exposed by a remote peer.
+ *
+ * Delayed and periodic messages are timed by the local actor system's timer; their action is encoded once and the same frame is sent on every period. A delayed or periodic message that cannot be sent because the link is
+ * closed is dropped.
+ *
+ * @param <T> remote actor POJO class
+ */
+class RemoteActorRef<T> implements IActorRef<T> {
+
+    private static final int DEFAULT_STREAM_CHUNK_SIZE = 256;
+
+    private final IRemotePeer peer;
+    private final String name;
+    private final byte[] target;
+
+    RemoteActorRef(IRemotePeer peer, String name) {
+        this.peer = peer;
+        this.name = name;
+        this.target = RemoteFrame.target(name);
+    }
+
+    @Override
+    public IActorSystem system() {
+        return peer.system();
+    }
+
+    @Override
+    public void tell(Consumer<T> action) {
+        if (!tryTell(action))
+            throw new IllegalStateException("Link to " + this + " closed");
+    }
+
+    @Override
+    public boolean tryTell(Consumer<T> action) {
+        return peer.send(peer.tellFrame(target, action));
+    }
+
+    @Override
+    public void tellAll(Collection<? extends Consumer<T>> actions) {
+        for (Consumer<T> action : actions) {
+            tell(action);
+        }
+    }
+
+    @Override
+    public IActorBatch<T> batch() {
+        return new Batch();
+    }
+
+    @Override
+    public ICancellable later(Consumer<T> action, long ms) {
+        RemoteFrame frame = peer.tellFrame(target, action);
+        return peer.system().later(() -> peer.send(frame), ms);
+    }
+
+    @Override
+    public ICancellable every(Consumer<T> action, long periodMs) {
+        return periodic(action, periodMs, periodMs, false);
+    }
+
+    @Override
+    public ICancellable atFixedRate(Consumer<T> action, long initialDelayMs, long periodMs) {
+        return periodic(action, initialDelayMs, periodMs, true);
+    }
+
+    private ICancellable periodic(Consumer<T> action, long initialDelayMs, long periodMs, boolean fixedRate) {
+        RemoteFrame frame = peer.tellFrame(target, action);
+        HashedWheelTimer.Timeout[] timeout = new HashedWheelTimer.Timeout[1];
+        timeout[0] = peer.system().periodic(() -> {
+            peer.send(frame);
+            if (!fixedRate) {
+                timeout[0].rearm(periodMs);
+            }
+        }, periodMs, fixedRate);
+        timeout[0].rearm(initialDelayMs);
+        return timeout[0];
+    }
+
+    @Override
+    public <R> void ask(Function<T, R> action, Consumer<R> consumer) {
+        this.<R> request(action).thenAccept(consumer);
+    }
+
+    @Override
+    public <R> void ask(BiConsumer<T, Consumer<R>> action, Consumer<R> consumer) {
+        this.<R> request(action).thenAccept(consumer);
+    }
+
+    @Override
+    public <R> CompletableFuture<R> ask(Function<T, R> action) {
+        return request(action);
+    }
+
+    @Override
+    public <R> CompletableFuture<R> ask(BiConsumer<T, Consumer<R>> action) {
+        return request(action);
+    }
+
+    @Override
+    public <R> void ask(Function<T, R> action, Consumer<R> consumer, Consumer<TimeoutException> onTimeout, long timeoutMs) {
+        this.<R> request(action, timeoutMs).whenComplete((result, e) -> complete(result, e, consumer, onTimeout));
+    }
+
+    @Override
+    public <R> void ask(BiConsumer<T, Consumer<R>> action, Consumer<R> consumer, Consumer<TimeoutException> onTimeout, long timeoutMs) {
+        this.<R> request(action, timeoutMs).whenComplete((result, e) -> complete(result, e, consumer, onTimeout));
+    }
+
+    @Override
+    public <R> CompletableFuture<R> ask(Function<T, R> action, long timeoutMs) {
+        return request(action, timeoutMs);
+    }
+
+    @Override
+    public <R> CompletableFuture<R> ask(BiConsumer<T, Consumer<R>> action, long timeoutMs) {
+        return request(action, timeoutMs);
+    }
+
+    private static <R> void complete(R result, Throwable e, Consumer<R> consumer, Consumer<TimeoutException> onTimeout) {
+        if (e == null) {
+            consumer.accept(result);
+        } else if (e instanceof TimeoutException) {
+            onTimeout.accept((TimeoutException) e);
+        }
+    }
+
+    /**
+     * Sends an ask, completing the returned future in the caller's thread context, or in the transport thread when called from non-actor context.
+     */
+    private <R> CompletableFuture<R> request(Object action) {
+        return reply(Actr.current(), peer.ask(target, action));
+    }
+
+    /**
+     * Sends an ask failing with {@link TimeoutException} after a timeout. The timeout fails the transport's future, which drops the pending request; a response in time cancels the timeout.
+     */
+    private <R> CompletableFuture<R> request(Object action, long timeoutMs) {
+        IActorRef<?> current = Actr.current();
+        CompletableFuture<Object> reply = peer.ask(target, action);
+        ICancellable timeout = peer.system().later(() -> reply.completeExceptionally(new TimeoutException("Ask to remote actor " + this + " timed out after " + timeoutMs + " ms")), timeoutMs);
+        reply.whenComplete((result, e) -> timeout.cancel());
+        return reply(current, reply);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <R> CompletableFuture<R> reply(IActorRef<?> current, CompletableFuture<Object> reply) {
+        if (current == null)
+            return (CompletableFuture<R>) reply;
+        CompletableFuture<R> future = new CompletableFuture<>();
+        reply.whenComplete((result, e) -> current.tell(c -> {
+            if (e == null) {
+                future.complete((R) result);
+            } else {
+                future.completeExceptionally(e);
+            }
+        }));
+        return future;
+    }
+
+    @Override
+    public <R> CompletableFuture<Void> askStream(BiConsumer<T, IStreamSink<R>> action, Consumer<R> consumer) {
+        return askStream(action, consumer, DEFAULT_STREAM_CHUNK_SIZE);
+    }
+
+    /**
+     * Sends a streaming ask. The elements are passed to the consumer in the caller's thread context, or in a temporary actor's thread context when called from non-actor context, which is closed once the stream ends.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <R> CompletableFuture<Void> askStream(BiConsumer<T, IStreamSink<R>> action, Consumer<R> consumer, int chunkSize) {
+        StreamSink.checkChunkSize(chunkSize);
+        IActorRef<?> current = Actr.current();
+        IActorRef<?> receiver = current == null ? peer.system().actorOf(Object::new) : current;
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        IActorSubscriber<R> subscriber = StreamSink.subscriber(receiver, consumer, future, chunkSize);
+        if (current == null) {
+            // Closing after a cancellation is passed to the subscription
+            future.whenComplete((v, e) -> {
+                subscriber.cancel();
+                receiver.close();
+            });
+        }
+        try {
+            peer.askStream(target, action, chunkSize, (Flow.Subscriber<Object>) subscriber);
+        } catch (RuntimeException e) {
+            if (current == null)
+                receiver.close();
+            throw e;
+        }
+        return future;
+    }
+
+    @Override
+    public IMessageLatency messageLatency() {
+        return null;
+    }
+
+    @Override
+    public void close() {
+        // The remote actor is not affected
+    }
+
+    @Override
+    public String toString() {
+        return "RemoteActor " + name + " at " + peer;
+    }
+
+    private class Batch implements IActorBatch<T> {
+
+        private final List<Consumer<T>> actions = new ArrayList<>();
+
+        @Override
+        public IActorBatch<T> tell(Consumer<T> action) {
+            actions.add(action);
+            return this;
+        }
+
+        @Override
+        public void send() {
+            try {
+                tellAll(actions);
+            } finally {
+                actions.clear();
+            }
+        }
+    }
+}
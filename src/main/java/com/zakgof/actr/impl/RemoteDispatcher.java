@@ -0,0 +1,392 @@
+package com.zakgof.actr.impl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import com.zakgof.actr.IActorRef;
+import com.zakgof.actr.IRemoteCodec;
+
+/**
+ * One side of a remote link, independent of the transport: sends asks and completes them on replies, passes received messages to the exposed actors and sends back their results.
+ *
+ * Streaming asks carry the {@link Flow} protocol over the link: the caller's subscription sends demand and cancellation frames, and the target actor's stream is subscribed by a subscriber sending element and completion frames.
+ * As the caller only requests more elements once it has processed some, at most two chunks of elements are in flight or buffered.
+ *
+ * Frames are received in a single transport thread and sent from any thread.
+ */
+abstract class RemoteDispatcher {
+
+    private final IRemoteCodec codec;
+    private final Map<String, IActorRef<?>> exposed;
+    private final Map<Long, CompletableFuture<Object>> pending = new ConcurrentHashMap<>();
+    private final Map<Long, Flow.Subscriber<Object>> streams = new ConcurrentHashMap<>();
+    private final Map<Long, CompletableFuture<Flow.Subscription>> served = new ConcurrentHashMap<>();
+    private final AtomicLong requestIds;
+
+    // Receiving thread only
+    private byte[] lastTarget = RemoteFrame.NO_TARGET;
+    private String lastTargetName = "";
+
+    RemoteDispatcher(IRemoteCodec codec, Map<String, IActorRef<?>> exposed) {
+        this(codec, exposed, 0);
+    }
+
+    /**
+     * @param requestIdBase request ids start after it, for transports keeping replies to a previous dispatcher that must not match this one's requests
+     */
+    RemoteDispatcher(IRemoteCodec codec, Map<String, IActorRef<?>> exposed, long requestIdBase) {
+        this.codec = codec;
+        this.exposed = exposed;
+        this.requestIds = new AtomicLong(requestIdBase);
+    }
+
+    /**
+     * Queues a frame to the remote side, called in any thread.
+     *
+     * @return false if the link is closed
+     */
+    abstract boolean send(RemoteFrame frame);
+
+    RemoteFrame tellFrame(byte[] target, Object action) {
+        return new RemoteFrame(RemoteFrame.TELL, 0, target, codec.encode(action));
+    }
+
+    /**
+     * Sends an ask. Completing the returned future by other means, e.g. on a timeout, drops the pending request.
+     *
+     * @return future completed in the receiving thread
+     */
+    CompletableFuture<Object> ask(byte[] target, Object action) {
+        RemoteFrame frame = new RemoteFrame(RemoteFrame.ASK, requestIds.incrementAndGet(), target, codec.encode(action));
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        pending.put(frame.requestId, future);
+        future.whenComplete((result, e) -> pending.remove(frame.requestId, future));
+        boolean sent;
+        try {
+            sent = send(frame);
+        } catch (RuntimeException e) {
+            pending.remove(frame.requestId);
+            throw e;
+        }
+        if (!sent && pending.remove(frame.requestId) != null) {
+            future.completeExceptionally(new IOException(this + " closed"));
+        }
+        return future;
+    }
+
+    /**
+     * Sends a streaming ask. The subscriber is subscribed before this method returns and is called in the receiving thread; its subscription sends demand and cancellation to the remote side.
+     */
+    void askStream(byte[] target, Object action, int chunkSize, Flow.Subscriber<Object> subscriber) {
+        byte[] encoded = codec.encode(action);
+        byte[] payload = ByteBuffer.allocate(Integer.BYTES + encoded.length).putInt(chunkSize).put(encoded).array();
+        RemoteFrame frame = new RemoteFrame(RemoteFrame.STREAM, requestIds.incrementAndGet(), target, payload);
+        streams.put(frame.requestId, subscriber);
+        boolean sent;
+        try {
+            sent = send(frame);
+        } catch (RuntimeException e) {
+            streams.remove(frame.requestId);
+            throw e;
+        }
+        // Subscribing after the stream frame is queued, so that demand follows it on the link
+        subscriber.onSubscribe(new RemoteSubscription(frame.requestId));
+        if (!sent && streams.remove(frame.requestId) != null) {
+            subscriber.onError(new IOException(this + " closed"));
+        }
+    }
+
+    /**
+     * Handles a frame between the buffer's position and limit, following the frame length.
+     */
+    void receive(ByteBuffer frame) {
+        byte type = frame.get();
+        long requestId = frame.getLong();
+        String target = target(frame, frame.getShort() & 0xFFFF);
+        switch (type) {
+        case RemoteFrame.REQUEST:
+            request(requestId, frame.getLong());
+            return;
+        case RemoteFrame.CANCEL:
+            cancel(requestId);
+            return;
+        case RemoteFrame.COMPLETE:
+            completeStream(requestId);
+            return;
+        default:
+            break;
+        }
+        int chunkSize = type == RemoteFrame.STREAM ? frame.getInt() : 0;
+        Object message;
+        try {
+            message = codec.decode(frame);
+        } catch (RuntimeException e) {
+            if (type == RemoteFrame.ASK || type == RemoteFrame.STREAM) {
+                reply(requestId, null, e);
+            } else if (type == RemoteFrame.REPLY || type == RemoteFrame.FAILURE) {
+                fail(requestId, e);
+            } else if (type == RemoteFrame.ELEMENT) {
+                Flow.Subscriber<Object> subscriber = streams.remove(requestId);
+                if (subscriber != null) {
+                    send(new RemoteFrame(RemoteFrame.CANCEL, requestId, RemoteFrame.NO_TARGET, RemoteFrame.NO_TARGET));
+                    subscriber.onError(e);
+                }
+            } else {
+                e.printStackTrace();
+            }
+            return;
+        }
+        switch (type) {
+        case RemoteFrame.TELL:
+            tell(target, message);
+            break;
+        case RemoteFrame.ASK:
+            ask(requestId, target, message);
+            break;
+        case RemoteFrame.STREAM:
+            stream(requestId, target, chunkSize, message);
+            break;
+        case RemoteFrame.REPLY:
+            complete(requestId, message, null);
+            break;
+        case RemoteFrame.FAILURE:
+            fail(requestId, (Throwable) message);
+            break;
+        case RemoteFrame.ELEMENT:
+            Flow.Subscriber<Object> subscriber = streams.get(requestId);
+            if (subscriber != null) {
+                subscriber.onNext(message);
+            }
+            break;
+        default:
+            throw new IllegalStateException("Unknown frame type " + type);
+        }
+    }
+
+    /**
+     * Decodes target name, reusing the previous one if unchanged.
+     */
+    private String target(ByteBuffer frame, int length) {
+        int position = frame.position();
+        frame.position(position + length);
+        if (length == lastTarget.length) {
+            int i = 0;
+            while (i < length && frame.get(position + i) == lastTarget[i]) {
+                i++;
+            }
+            if (i == length)
+                return lastTargetName;
+        }
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = frame.get(position + i);
+        }
+        lastTarget = bytes;
+        lastTargetName = new String(bytes, StandardCharsets.UTF_8);
+        return lastTargetName;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private void tell(String target, Object message) {
+        IActorRef actor = exposed.get(target);
+        if (actor != null) {
+            actor.tell((Consumer) message);
+        }
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private void ask(long requestId, String target, Object message) {
+        IActorRef actor = exposed.get(target);
+        if (actor == null) {
+            reply(requestId, null, new IllegalArgumentException("No actor exposed as " + target));
+            return;
+        }
+        CompletableFuture<Object> result = message instanceof Function
+                ? actor.ask((Function) message)
+                : actor.ask((BiConsumer) message);
+        result.whenComplete((value, e) -> reply(requestId, value, e));
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private void stream(long requestId, String target, int chunkSize, Object message) {
+        IActorRef actor = exposed.get(target);
+        if (actor == null) {
+            reply(requestId, null, new IllegalArgumentException("No actor exposed as " + target));
+            return;
+        }
+        CompletableFuture<Flow.Subscription> subscription = new CompletableFuture<>();
+        served.put(requestId, subscription);
+        try {
+            StreamSink.open(actor, (BiConsumer) message, new StreamReply(requestId, subscription), chunkSize);
+        } catch (RuntimeException e) {
+            served.remove(requestId);
+            reply(requestId, null, e);
+        }
+    }
+
+    /**
+     * Passes the caller's demand to a served stream. Demand may arrive before the stream is subscribed in the target actor's thread context.
+     */
+    private void request(long requestId, long n) {
+        CompletableFuture<Flow.Subscription> subscription = served.get(requestId);
+        if (subscription != null) {
+            subscription.thenAccept(s -> s.request(n));
+        }
+    }
+
+    private void cancel(long requestId) {
+        CompletableFuture<Flow.Subscription> subscription = served.remove(requestId);
+        if (subscription != null) {
+            subscription.thenAccept(Flow.Subscription::cancel);
+        }
+    }
+
+    /**
+     * Sends the result of an ask or the failure of a stream, called in any thread.
+     */
+    private void reply(long requestId, Object value, Throwable e) {
+        if (e == null) {
+            try {
+                send(new RemoteFrame(RemoteFrame.REPLY, requestId, RemoteFrame.NO_TARGET, codec.encode(value)));
+                return;
+            } catch (RuntimeException sendingFailure) {
+                // Result cannot be encoded or is too large for the link, the ask fails instead
+                e = sendingFailure;
+            }
+        }
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        RemoteFrame frame;
+        try {
+            frame = new RemoteFrame(RemoteFrame.FAILURE, requestId, RemoteFrame.NO_TARGET, codec.encode(cause));
+        } catch (RuntimeException encodingFailure) {
+            frame = new RemoteFrame(RemoteFrame.FAILURE, requestId, RemoteFrame.NO_TARGET, codec.encode(new RuntimeException(cause.toString())));
+        }
+        send(frame);
+    }
+
+    private void fail(long requestId, Throwable e) {
+        Flow.Subscriber<Object> subscriber = streams.remove(requestId);
+        if (subscriber != null) {
+            subscriber.onError(e);
+        } else {
+            complete(requestId, null, e);
+        }
+    }
+
+    private void completeStream(long requestId) {
+        Flow.Subscriber<Object> subscriber = streams.remove(requestId);
+        if (subscriber != null) {
+            subscriber.onComplete();
+        }
+    }
+
+    private void complete(long requestId, Object value, Throwable e) {
+        CompletableFuture<Object> future = pending.remove(requestId);
+        if (future != null) {
+            if (e == null) {
+                future.complete(value);
+            } else {
+                future.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * Fails all the pending asks and streams and cancels the served streams, called once the link is closed.
+     */
+    void failPending(IOException failure) {
+        for (Long requestId : pending.keySet()) {
+            complete(requestId, null, failure);
+        }
+        for (Long requestId : streams.keySet()) {
+            fail(requestId, failure);
+        }
+        for (Long requestId : served.keySet()) {
+            cancel(requestId);
+        }
+    }
+
+    /**
+     * Caller's subscription to a remote stream, called in the caller's thread context.
+     */
+    private class RemoteSubscription implements Flow.Subscription {
+
+        private final long requestId;
+
+        private RemoteSubscription(long requestId) {
+            this.requestId = requestId;
+        }
+
+        @Override
+        public void request(long n) {
+            if (streams.containsKey(requestId)) {
+                send(new RemoteFrame(RemoteFrame.REQUEST, requestId, RemoteFrame.NO_TARGET, ByteBuffer.allocate(Long.BYTES).putLong(n).array()));
+            }
+        }
+
+        @Override
+        public void cancel() {
+            if (streams.remove(requestId) != null) {
+                send(new RemoteFrame(RemoteFrame.CANCEL, requestId, RemoteFrame.NO_TARGET, RemoteFrame.NO_TARGET));
+            }
+        }
+    }
+
+    /**
+     * Subscriber to a stream served to the remote side, sending its elements and completion; called in the target actor's thread context.
+     */
+    private class StreamReply implements Flow.Subscriber<Object> {
+
+        private final long requestId;
+        private final CompletableFuture<Flow.Subscription> subscription;
+
+        private StreamReply(long requestId, CompletableFuture<Flow.Subscription> subscription) {
+            this.requestId = requestId;
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription.complete(subscription);
+        }
+
+        @Override
+        public void onNext(Object item) {
+            if (!served.containsKey(requestId))
+                return;
+            try {
+                send(new RemoteFrame(RemoteFrame.ELEMENT, requestId, RemoteFrame.NO_TARGET, codec.encode(item)));
+            } catch (RuntimeException e) {
+                // Element cannot be encoded or is too large for the link, the stream fails instead
+                if (served.remove(requestId) != null) {
+                    subscription.join().cancel();
+                    reply(requestId, null, e);
+                }
+            }
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            if (served.remove(requestId) != null) {
+                reply(requestId, null, error);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (served.remove(requestId) != null) {
+                send(new RemoteFrame(RemoteFrame.COMPLETE, requestId, RemoteFrame.NO_TARGET, RemoteFrame.NO_TARGET));
+            }
+        }
+    }
+}
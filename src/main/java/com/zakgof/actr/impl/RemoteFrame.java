@@ -0,0 +1,76 @@
+package com.zakgof.actr.impl;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encoded remote message: header bytes followed by the encoded payload. Immutable, so that a frame may be sent several times.
+ *
+ * Layout: length of the rest of the frame (int), type (byte), request id (long), target name length (short), UTF-8 target name, payload. Tells and asks carry the target actor name and the action; replies and failures carry the request
+ * id of their ask and the result or exception.
+ *
+ * A streaming ask opens with a stream frame carrying the target name, the chunk size (int) and the action; the caller signals demand with request frames carrying the number of elements (long) and may cancel, the target answers with
+ * element frames and ends the stream with a complete or failure frame. All of them carry the request id of the stream.
+ */
+final class RemoteFrame {
+
+    static final byte TELL = 1;
+    static final byte ASK = 2;
+    static final byte REPLY = 3;
+    static final byte FAILURE = 4;
+    static final byte STREAM = 5;
+    static final byte REQUEST = 6;
+    static final byte CANCEL = 7;
+    static final byte ELEMENT = 8;
+    static final byte COMPLETE = 9;
+
+    static final int HEADER_SIZE = 15;
+    static final byte[] NO_TARGET = new byte[0];
+
+    final long requestId;
+    private final byte[] header;
+    private final byte[] payload;
+
+    RemoteFrame(byte type, long requestId, byte[] target, byte[] payload) {
+        this.requestId = requestId;
+        this.payload = payload;
+        this.header = ByteBuffer.allocate(HEADER_SIZE + target.length)
+                .putInt(HEADER_SIZE - Integer.BYTES + target.length + payload.length)
+                .put(type)
+                .putLong(requestId)
+                .putShort((short) target.length)
+                .put(target)
+                .array();
+    }
+
+    static byte[] target(String name) {
+        byte[] target = name.getBytes(StandardCharsets.UTF_8);
+        if (target.length > 0xFFFF)
+            throw new IllegalArgumentException("Actor name too long: " + name);
+        return target;
+    }
+
+    int size() {
+        return header.length + payload.length;
+    }
+
+    /**
+     * Copies frame bytes to the buffer, as many as fit.
+     *
+     * @return offset of the first byte not copied
+     */
+    int copyTo(ByteBuffer buffer, int offset) {
+        if (offset < header.length) {
+            int count = Math.min(header.length - offset, buffer.remaining());
+            buffer.put(header, offset, count);
+            offset += count;
+        }
+        int payloadOffset = offset - header.length;
+        if (payloadOffset >= 0) {
+            int count = Math.min(payload.length - payloadOffset, buffer.remaining());
+            buffer.put(payload, payloadOffset, count);
+            offset += count;
+        }
+        return offset;
+    }
+}
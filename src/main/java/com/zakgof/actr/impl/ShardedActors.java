@@ -0,0 +1,210 @@
+package com.zakgof.actr.impl;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import com.zakgof.actr.IActorRef;
+import com.zakgof.actr.IShardedActors;
+
+/**
+ * Actors addressed by entity key.
+ *
+ * Entries live in a {@link ConcurrentHashMap}, whose reads are lock-free and whose updates only lock a single bin, so lookups of different keys do not contend. An entry is created in the map without its actor, and the actor is
+ * created outside of the map's bin lock by the first sender.
+ *
+ * Each entry counts senders in flight between looking the entry up and enqueueing their message. Eviction only succeeds by swapping a zero count for the evicted mark, after which senders find the entry dead, remove it and retry with a
+ * fresh one; so every message either reaches the actor before its dispose message or goes to a new actor.
+ *
+ * On close, entries with senders in flight are disposed by their last sender, which rechecks the closed flag after releasing the entry.
+ *
+ * Idleness is tracked in sweep epochs: senders stamp the entry with the current epoch, and a sweep evicts entries not stamped for {@link #IDLE_EPOCHS} epochs. The first sender stamping an entry in an epoch also queues it in the
+ * epoch's bucket, and a sweep only visits the bucket of the epoch going idle, so its cost follows the number of entries used in that epoch rather than the number of keys. Live actors are counted as they are created and evicted.
+ */
+class ShardedActors<K, T> implements IShardedActors<K, T> {
+
+    private static final int IDLE_EPOCHS = 3;
+    private static final int EVICTED = -1;
+
+    private static final VarHandle IN_FLIGHT;
+
+    static {
+        try {
+            IN_FLIGHT = MethodHandles.lookup().findVarHandle(Entry.class, "inFlight", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final ActorSystemImpl actorSystem;
+    private final Function<K, T> constructor;
+    private final ConcurrentHashMap<K, Entry<K, T>> entries = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Entry<K, T>>[] buckets;
+    private final LongAdder live = new LongAdder();
+    private final HashedWheelTimer.Timeout sweepTimer;
+    private final long sweepPeriodMs;
+    private volatile int epoch;
+    private volatile boolean closed;
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    ShardedActors(ActorSystemImpl actorSystem, Function<K, T> constructor, long idleTimeoutMs) {
+        if (idleTimeoutMs <= 0)
+            throw new IllegalArgumentException("Idle timeout should be positive");
+        this.actorSystem = actorSystem;
+        this.constructor = constructor;
+        // A bucket is drained by the sweep IDLE_EPOCHS epochs after its own, before it is reused
+        this.buckets = new ConcurrentLinkedQueue[IDLE_EPOCHS + 1];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.sweepPeriodMs = Math.max(1, idleTimeoutMs / (IDLE_EPOCHS - 1));
+        this.sweepTimer = actorSystem.periodic(() -> CompletableFuture.runAsync(this::sweep), sweepPeriodMs, false);
+        sweepTimer.rearm(sweepPeriodMs);
+    }
+
+    @Override
+    public void tell(K key, Consumer<T> action) {
+        Entry<K, T> entry = acquire(key);
+        try {
+            entry.actor.tell(action);
+        } finally {
+            release(entry);
+        }
+    }
+
+    @Override
+    public <R> void ask(K key, Function<T, R> action, Consumer<R> consumer) {
+        Entry<K, T> entry = acquire(key);
+        try {
+            entry.actor.ask(action, consumer);
+        } finally {
+            release(entry);
+        }
+    }
+
+    @Override
+    public <R> CompletableFuture<R> ask(K key, Function<T, R> action) {
+        Entry<K, T> entry = acquire(key);
+        try {
+            return entry.actor.ask(action);
+        } finally {
+            release(entry);
+        }
+    }
+
+    private Entry<K, T> acquire(K key) {
+        if (closed)
+            throw new IllegalStateException("Sharded actors are closed");
+        for (;;) {
+            Entry<K, T> entry = entries.computeIfAbsent(key, Entry::new);
+            if (entry.acquire()) {
+                int current = epoch;
+                if (entry.lastUsed != current) {
+                    entry.lastUsed = current;
+                    buckets[Math.floorMod(current, buckets.length)].add(entry);
+                }
+                if (entry.actor == null) {
+                    try {
+                        entry.create(this);
+                    } catch (RuntimeException e) {
+                        release(entry);
+                        throw e;
+                    }
+                }
+                return entry;
+            }
+            entries.remove(key, entry);
+        }
+    }
+
+    private void release(Entry<K, T> entry) {
+        // Pairs with close() setting the flag before scanning: either the scan or the last sender sees the other
+        if (entry.release() && closed) {
+            dispose(entry);
+        }
+    }
+
+    private void dispose(Entry<K, T> entry) {
+        if (entry.evict()) {
+            live.decrement();
+            entries.remove(entry.key, entry);
+            entry.actor.close();
+        }
+    }
+
+    private void sweep() {
+        int now = epoch + 1;
+        epoch = now;
+        // Entries stamped since are queued in a later bucket too, and are skipped here
+        ConcurrentLinkedQueue<Entry<K, T>> bucket = buckets[Math.floorMod(now - IDLE_EPOCHS, buckets.length)];
+        for (Entry<K, T> entry; (entry = bucket.poll()) != null;) {
+            if (now - entry.lastUsed >= IDLE_EPOCHS) {
+                dispose(entry);
+            }
+        }
+        if (!closed) {
+            sweepTimer.rearm(sweepPeriodMs);
+        }
+    }
+
+    @Override
+    public int size() {
+        return live.intValue();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        sweepTimer.cancel();
+        for (Entry<K, T> entry : entries.values()) {
+            dispose(entry);
+        }
+    }
+
+    private static class Entry<K, T> {
+        private final K key;
+        private volatile IActorRef<T> actor;
+        private volatile int inFlight;
+        private volatile int lastUsed = -1;
+
+        Entry(K key) {
+            this.key = key;
+        }
+
+        boolean acquire() {
+            for (;;) {
+                int current = inFlight;
+                if (current == EVICTED)
+                    return false;
+                if (IN_FLIGHT.compareAndSet(this, current, current + 1))
+                    return true;
+            }
+        }
+
+        /**
+         * @return true if this was the last sender in flight
+         */
+        boolean release() {
+            return (int) IN_FLIGHT.getAndAdd(this, -1) == 1;
+        }
+
+        /**
+         * Marks an entry with a created actor and no senders in flight as evicted.
+         */
+        boolean evict() {
+            return actor != null && IN_FLIGHT.compareAndSet(this, 0, EVICTED);
+        }
+
+        synchronized void create(ShardedActors<K, T> sharded) {
+            if (actor == null) {
+                actor = sharded.actorSystem.<T> actorBuilder().constructor(() -> sharded.constructor.apply(key)).build();
+                sharded.live.increment();
+            }
+        }
+    }
+}
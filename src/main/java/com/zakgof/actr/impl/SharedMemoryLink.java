@@ -0,0 +1,188 @@
+package com.zakgof.actr.impl;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+import com.zakgof.actr.IActorRef;
+import com.zakgof.actr.IActorSystem;
+import com.zakgof.actr.IRemoteCodec;
+import com.zakgof.actr.ISharedMemoryLink;
+
+/**
+ * Shared memory link writing frames to an outbound {@link MappedRing} and reading the inbound one in a single reader thread. The reader spins, then yields, then parks for up to 1 ms while the inbound ring is empty.
+ *
+ * As the rings outlive the processes, the inbound ring may hold replies to a previous process on the same files. Request ids are prefixed with a session counted in the outbound ring, so those replies match no pending request
+ * and are dropped.
+ *
+ * The reader never waits for space in the outbound ring, as the other side's reader could be waiting for it as well: frames it sends, such as failures or stream demand, are queued while the ring is full or busy and written
+ * between reads.
+ */
+public class SharedMemoryLink implements ISharedMemoryLink {
+
+    private static final int SESSION_SHIFT = 40;
+
+    private final ActorSystemImpl system;
+    private final IRemoteCodec codec;
+    private final MappedRing outbound;
+    private final MappedRing inbound;
+    private final Map<String, IActorRef<?>> exposed = new ConcurrentHashMap<>();
+    private final Dispatcher dispatcher;
+    private final Peer peer = new Peer();
+    private final Thread reader;
+    private final AtomicBoolean started = new AtomicBoolean();
+    private volatile boolean closed;
+
+    // Reader only
+    private final Queue<RemoteFrame> backlog = new ArrayDeque<>();
+
+    public SharedMemoryLink(IActorSystem system, Path outbound, Path inbound, int ringSize, IRemoteCodec codec) {
+        this.system = (ActorSystemImpl) system;
+        this.codec = codec;
+        this.outbound = new MappedRing(outbound, ringSize);
+        this.inbound = new MappedRing(inbound, ringSize);
+        this.dispatcher = new Dispatcher(this.outbound.nextSession() << SESSION_SHIFT);
+        reader = new Thread(this::read, "actr:shm:" + inbound.getFileName());
+        reader.setDaemon(true);
+    }
+
+    private void read() {
+        try {
+            int attempt = 0;
+            while (!closed) {
+                if (flush() + inbound.read(dispatcher) > 0) {
+                    attempt = 0;
+                } else {
+                    MappedRing.idle(attempt++);
+                }
+            }
+        } catch (RuntimeException e) {
+            closed = true;
+            e.printStackTrace();
+        } finally {
+            dispatcher.failPending(new IOException(this + " closed"));
+        }
+    }
+
+    private int flush() {
+        int count = 0;
+        while (!backlog.isEmpty() && outbound.tryWrite(backlog.peek())) {
+            backlog.remove();
+            count++;
+        }
+        return count;
+    }
+
+    @Override
+    public <T> void expose(String name, IActorRef<T> actor) {
+        exposed.put(name, actor);
+        start();
+    }
+
+    @Override
+    public void unexpose(String name) {
+        exposed.remove(name);
+    }
+
+    @Override
+    public <T> IActorRef<T> actor(String name) {
+        start();
+        return new RemoteActorRef<>(peer, name);
+    }
+
+    /**
+     * Starts reading on the first exposed actor or proxy, so that messages left in the inbound ring are not dropped before the actors are exposed.
+     */
+    private void start() {
+        if (started.compareAndSet(false, true)) {
+            reader.start();
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        if (started.get() && Thread.currentThread() != reader) {
+            try {
+                reader.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SharedMemoryLink " + outbound + " / " + inbound;
+    }
+
+    private class Peer implements IRemotePeer {
+
+        @Override
+        public ActorSystemImpl system() {
+            return system;
+        }
+
+        @Override
+        public RemoteFrame tellFrame(byte[] target, Object action) {
+            return dispatcher.tellFrame(target, action);
+        }
+
+        @Override
+        public boolean send(RemoteFrame frame) {
+            return dispatcher.send(frame);
+        }
+
+        @Override
+        public CompletableFuture<Object> ask(byte[] target, Object action) {
+            if (closed)
+                throw new IllegalStateException(SharedMemoryLink.this + " closed");
+            return dispatcher.ask(target, action);
+        }
+
+        @Override
+        public void askStream(byte[] target, Object action, int chunkSize, Flow.Subscriber<Object> subscriber) {
+            if (closed)
+                throw new IllegalStateException(SharedMemoryLink.this + " closed");
+            dispatcher.askStream(target, action, chunkSize, subscriber);
+        }
+
+        @Override
+        public String toString() {
+            return SharedMemoryLink.this.toString();
+        }
+    }
+
+    private class Dispatcher extends RemoteDispatcher {
+
+        private final BooleanSupplier isClosed = () -> closed;
+
+        private Dispatcher(long requestIdBase) {
+            super(codec, exposed, requestIdBase);
+        }
+
+        @Override
+        boolean send(RemoteFrame frame) {
+            if (closed)
+                return false;
+            if (Thread.currentThread() != reader)
+                return outbound.write(frame, isClosed);
+            if (backlog.isEmpty() && outbound.tryWrite(frame))
+                return true;
+            backlog.add(frame);
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return SharedMemoryLink.this.toString();
+        }
+    }
+}
@@ -1,32 +1,17 @@
 package com.zakgof.actr.impl;
 
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
-import com.zakgof.actr.IActorScheduler;
-
 /**
  * Scheduler that processed all the actors messages sequentially in a
  * single-thread executor service.
  */
-public class SingleThreadScheduler implements IActorScheduler {
+public class SingleThreadScheduler extends ExecutorBasedScheduler {
 
-	private final ExecutorService executor;
+	private static final int THROUGHPUT = 10;
 
 	public SingleThreadScheduler() {
-		this.executor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "actr:single"));
-	}
-
-	@Override
-	public void schedule(Runnable task, Object actorId) {
-		if (!executor.isShutdown() && !executor.isTerminated()) {
-			executor.submit(task);
-		}
-	}
-
-	@Override
-	public void close() {
-		executor.shutdown();
+		super(Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "actr:single")), THROUGHPUT);
 	}
 
 }
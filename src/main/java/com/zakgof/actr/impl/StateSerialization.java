@@ -0,0 +1,85 @@
+package com.zakgof.actr.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Java serialization for passivated actor state and snapshots, compressed with deflate, and for journaled events.
+ */
+class StateSerialization {
+
+    private StateSerialization() {
+    }
+
+    static byte[] serialize(Object state) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(new DeflaterOutputStream(bytes))) {
+            out.writeObject(state);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot serialize actor state " + state.getClass().getName(), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static <T> T deserialize(byte[] data) {
+        return deserialize(new ByteArrayInputStream(data));
+    }
+
+    static <T> T deserialize(ByteBuffer data) {
+        return deserialize(new InputStream() {
+            @Override
+            public int read() {
+                return data.hasRemaining() ? data.get() & 0xFF : -1;
+            }
+
+            @Override
+            public int read(byte[] bytes, int offset, int length) {
+                if (!data.hasRemaining())
+                    return -1;
+                int count = Math.min(length, data.remaining());
+                data.get(bytes, offset, count);
+                return count;
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T deserialize(InputStream data) {
+        try (ObjectInputStream in = new ObjectInputStream(new InflaterInputStream(data))) {
+            return (T) in.readObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot deserialize actor state", e);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Cannot deserialize actor state", e);
+        }
+    }
+
+    static byte[] serializeEvent(Object event) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(event);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot serialize event " + event.getClass().getName(), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    static <E> E deserializeEvent(byte[] data) {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data))) {
+            return (E) in.readObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot deserialize event", e);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Cannot deserialize event", e);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.zakgof.actr.impl;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+import com.zakgof.actr.Actr;
+import com.zakgof.actr.IActorRef;
+import com.zakgof.actr.IActorSubscriber;
+import com.zakgof.actr.IStreamSink;
+import com.zakgof.actr.MailboxOverflowException;
+
+/**
+ * Streaming ask: an {@link ActorPublisher} in the target actor connected to an {@link ActorSubscriber} in the caller actor, so that the target pushes at most a chunk of elements ahead of the caller.
+ */
+class StreamSink<T, R> implements IStreamSink<R> {
+
+    private final ActorPublisher<T, R> publisher;
+    private LongConsumer producer;
+
+    private StreamSink(IActorRef<T> actor, int chunkSize) {
+        this.publisher = new ActorPublisher<>(actor, (target, demand) -> produce(demand), chunkSize);
+    }
+
+    static <T, R> CompletableFuture<Void> ask(IActorRef<T> actor, BiConsumer<T, IStreamSink<R>> action, Consumer<R> consumer, int chunkSize) {
+        IActorRef<?> current = Actr.current();
+        IActorRef<?> receiver = current == null ? actor : current;
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        IActorSubscriber<R> subscriber = subscriber(receiver, consumer, future, chunkSize);
+        try {
+            open(actor, action, subscriber, chunkSize);
+        } catch (MailboxOverflowException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Runs the action on the actor's object with a sink pushing the elements to the subscriber.
+     *
+     * @throws MailboxOverflowException if the actor's mailbox is full
+     */
+    static <T, R> void open(IActorRef<T> actor, BiConsumer<T, IStreamSink<R>> action, Flow.Subscriber<? super R> subscriber, int chunkSize) {
+        checkChunkSize(chunkSize);
+        StreamSink<T, R> sink = new StreamSink<>(actor, chunkSize);
+        sink.publisher.subscribe(subscriber);
+        actor.tell(target -> {
+            try {
+                action.accept(target, sink);
+            } catch (RuntimeException e) {
+                sink.error(e);
+            }
+        });
+    }
+
+    static void checkChunkSize(int chunkSize) {
+        if (chunkSize <= 0)
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+    }
+
+    /**
+     * Creates a subscriber passing the elements to the consumer in the receiver's thread context and completing the future; cancelling the future cancels the subscription.
+     */
+    static <C, R> IActorSubscriber<R> subscriber(IActorRef<C> receiver, Consumer<R> consumer, CompletableFuture<Void> future, int chunkSize) {
+        IActorSubscriber<R> subscriber = new ActorSubscriber<C, R>(receiver, (c, element) -> consumer.accept(element), (c, error) -> future.completeExceptionally(error), c -> future.complete(null), chunkSize);
+        future.whenComplete((v, e) -> {
+            if (e instanceof CancellationException)
+                subscriber.cancel();
+        });
+        return subscriber;
+    }
+
+    @Override
+    public void onDemand(LongConsumer producer) {
+        this.producer = producer;
+        if (publisher.demand() > 0)
+            produce(publisher.demand());
+    }
+
+    private void produce(long demand) {
+        if (producer == null)
+            return;
+        try {
+            producer.accept(demand);
+        } catch (RuntimeException e) {
+            publisher.error(e);
+        }
+    }
+
+    @Override
+    public boolean next(R element) {
+        return publisher.offer(element);
+    }
+
+    @Override
+    public void complete() {
+        publisher.complete();
+    }
+
+    @Override
+    public void error(Throwable error) {
+        publisher.error(error);
+    }
+
+    @Override
+    public long demand() {
+        return publisher.demand();
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return publisher.isCancelled();
+    }
+}
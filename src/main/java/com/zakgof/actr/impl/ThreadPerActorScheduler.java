@@ -1,23 +1,46 @@
 package com.zakgof.actr.impl;
 
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
+import java.util.function.Function;
 
 import com.zakgof.actr.IActorScheduler;
 
 /**
  * Scheduler that creates a single-thread executor for each actor.
+ *
+ * Messages are added to the actor's mailbox, the actor's thread is only woken up when the mailbox goes from idle to scheduled.
  */
 public class ThreadPerActorScheduler implements IActorScheduler {
 
     private final Map<Object, ExecutorService> executors = new ConcurrentHashMap<>();
+    private final Function<String, ThreadFactory> threadFactory;
+
+    /**
+     * Creates a scheduler running each actor in a dedicated platform thread.
+     */
+    public ThreadPerActorScheduler() {
+        this(name -> runnable -> new Thread(runnable, name));
+    }
+
+    /**
+     * Creates a scheduler running each actor in a dedicated thread.
+     *
+     * @param threadFactory provides a factory for actor's thread by thread name
+     */
+    public ThreadPerActorScheduler(Function<String, ThreadFactory> threadFactory) {
+        this.threadFactory = threadFactory;
+    }
 
     @Override
     public void actorCreated(Object actorId) {
-        executors.put(actorId, Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "actr:" + actorId)));
+        executors.put(actorId, Executors.newSingleThreadExecutor(threadFactory.apply("actr:" + actorId)));
+        Mailbox mailbox = ((ActorImpl<?>) actorId).mailbox();
+        mailbox.drainer(() -> mailbox.drain(Integer.MAX_VALUE, 0L));
     }
 
     @Override
@@ -29,8 +52,22 @@ public class ThreadPerActorScheduler implements IActorScheduler {
     @Override
     public void schedule(Runnable task, Object actorId) {
         ExecutorService executor = executors.get(actorId);
-        if (!executor.isShutdown()) {
-            executor.execute(task);
+        if (executor != null && !executor.isShutdown()) {
+            Mailbox mailbox = ((ActorImpl<?>) actorId).mailbox();
+            if (mailbox.push(Mailbox.node(task))) {
+                executor.execute(mailbox.drainer());
+            }
+        }
+    }
+
+    @Override
+    public void scheduleAll(List<? extends Runnable> tasks, Object actorId) {
+        ExecutorService executor = executors.get(actorId);
+        if (executor != null && !executor.isShutdown()) {
+            Mailbox mailbox = ((ActorImpl<?>) actorId).mailbox();
+            if (mailbox.pushAll(tasks)) {
+                executor.execute(mailbox.drainer());
+            }
         }
     }
 
@@ -0,0 +1,46 @@
+package com.zakgof.actr.impl;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Access to virtual threads.
+ *
+ * This is the baseline implementation for JDKs without virtual threads support. actr jar is a multi-release jar, the JDK 21+ implementation is located in META-INF/versions/21.
+ */
+public final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * @return true if virtual threads are available in the running JDK
+     */
+    public static boolean isSupported() {
+        return false;
+    }
+
+    /**
+     * Creates a factory for virtual threads with the specified name.
+     *
+     * @param name thread name
+     * @return thread factory
+     */
+    public static ThreadFactory threadFactory(String name) {
+        throw unsupported();
+    }
+
+    /**
+     * Creates an executor that starts a new virtual thread for each task.
+     *
+     * @return executor service
+     */
+    public static ExecutorService newThreadPerTaskExecutor() {
+        throw unsupported();
+    }
+
+    private static UnsupportedOperationException unsupported() {
+        return new UnsupportedOperationException("Virtual threads require JDK 21 or newer");
+    }
+
+}
@@ -0,0 +1,197 @@
+package com.zakgof.actr.impl;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import com.zakgof.actr.IActorScheduler;
+
+/**
+ * Scheduler with a dedicated pool of worker threads, each having its own run queue of scheduled mailboxes.
+ *
+ * A mailbox is scheduled on the worker that drained it last, so that actor state stays warm in that worker's CPU cache. If that worker already has pending mailboxes, the current worker or the less loaded of two random workers is used
+ * instead. Idle workers steal mailboxes from other workers' run queues.
+ */
+public class WorkStealingScheduler implements IActorScheduler {
+
+    private static final int SPINS = 64;
+
+    private final Worker[] workers;
+    private final int throughput;
+    private final AtomicInteger parkedWorkers = new AtomicInteger();
+
+    private volatile boolean shutdown;
+
+    /**
+     * @param threads number of worker threads
+     * @param throughput maximum number of pending actor messages to be processed at once
+     */
+    public WorkStealingScheduler(int threads, int throughput) {
+        if (threads <= 0)
+            throw new IllegalArgumentException("Number of threads should be positive");
+        if (throughput <= 0)
+            throw new IllegalArgumentException("Throughput should be positive");
+        this.throughput = throughput;
+        this.workers = new Worker[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Worker(i);
+        }
+        for (Worker worker : workers) {
+            worker.start();
+        }
+    }
+
+    @Override
+    public void schedule(Runnable task, Object actorId) {
+        if (shutdown) {
+            return;
+        }
+        Mailbox mailbox = ((ActorImpl<?>) actorId).mailbox();
+        if (mailbox.push(Mailbox.node(task))) {
+            submit(mailbox, target(mailbox));
+        }
+    }
+
+    @Override
+    public void scheduleAll(List<? extends Runnable> tasks, Object actorId) {
+        if (shutdown) {
+            return;
+        }
+        Mailbox mailbox = ((ActorImpl<?>) actorId).mailbox();
+        if (mailbox.pushAll(tasks)) {
+            submit(mailbox, target(mailbox));
+        }
+    }
+
+    private Worker target(Mailbox mailbox) {
+        int affinity = mailbox.affinity();
+        Worker last = affinity < 0 ? null : workers[affinity];
+        if (last != null && last.pending.get() == 0) {
+            return last;
+        }
+        Thread thread = Thread.currentThread();
+        if (thread instanceof Worker && ((Worker) thread).scheduler() == this && ((Worker) thread).pending.get() == 0) {
+            return (Worker) thread;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Worker first = workers[random.nextInt(workers.length)];
+        Worker second = workers[random.nextInt(workers.length)];
+        Worker candidate = first.pending.get() <= second.pending.get() ? first : second;
+        return last != null && last.pending.get() <= candidate.pending.get() ? last : candidate;
+    }
+
+    private void submit(Mailbox mailbox, Worker worker) {
+        worker.pending.incrementAndGet();
+        worker.queue.add(mailbox);
+        if (worker.parked) {
+            LockSupport.unpark(worker);
+        } else if (parkedWorkers.get() > 0) {
+            wakeUpThief();
+        }
+    }
+
+    private void wakeUpThief() {
+        for (Worker worker : workers) {
+            if (worker.parked) {
+                LockSupport.unpark(worker);
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        shutdown = true;
+        for (Worker worker : workers) {
+            LockSupport.unpark(worker);
+        }
+    }
+
+    private class Worker extends Thread {
+
+        private final int index;
+        private final Queue<Mailbox> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pending = new AtomicInteger();
+        private volatile boolean parked;
+
+        private Worker(int index) {
+            super("actr:ws:" + index);
+            this.index = index;
+        }
+
+        private WorkStealingScheduler scheduler() {
+            return WorkStealingScheduler.this;
+        }
+
+        @Override
+        public void run() {
+            int idleSpins = 0;
+            while (!shutdown) {
+                Mailbox mailbox = take();
+                if (mailbox == null) {
+                    if (idleSpins++ < SPINS) {
+                        Thread.onSpinWait();
+                    } else {
+                        park();
+                        idleSpins = 0;
+                    }
+                    continue;
+                }
+                idleSpins = 0;
+                mailbox.affinity(index);
+                if (mailbox.drain(throughput, 0L) > 0) {
+                    submit(mailbox, this);
+                }
+            }
+        }
+
+        private Mailbox take() {
+            Mailbox mailbox = poll(this);
+            if (mailbox != null) {
+                return mailbox;
+            }
+            int start = ThreadLocalRandom.current().nextInt(workers.length);
+            for (int i = 0; i < workers.length; i++) {
+                Worker victim = workers[(start + i) % workers.length];
+                if (victim != this && (mailbox = poll(victim)) != null) {
+                    return mailbox;
+                }
+            }
+            return null;
+        }
+
+        private Mailbox poll(Worker worker) {
+            Mailbox mailbox = worker.queue.poll();
+            if (mailbox != null) {
+                worker.pending.decrementAndGet();
+            }
+            return mailbox;
+        }
+
+        private void park() {
+            parked = true;
+            parkedWorkers.incrementAndGet();
+            try {
+                // Recheck after announcing parking: a submitter either sees the flag or its mailbox is visible here
+                if (!shutdown && pendingAnywhere() == 0) {
+                    LockSupport.park(this);
+                }
+            } finally {
+                parkedWorkers.decrementAndGet();
+                parked = false;
+            }
+        }
+
+        private int pendingAnywhere() {
+            int total = 0;
+            for (Worker worker : workers) {
+                total += worker.pending.get();
+            }
+            return total;
+        }
+    }
+
+}
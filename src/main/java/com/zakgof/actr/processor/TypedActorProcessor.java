@@ -0,0 +1,374 @@
+package com.zakgof.actr.processor;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+import com.zakgof.actr.TypedActor;
+
+/**
+ * Annotation processor generating typed messages and proxies for interfaces annotated with {@link TypedActor}.
+ *
+ * Each method gets a final message class holding its arguments in typed fields, so that a call allocates a single object with no boxing, and calls without arguments share a constant message. The message calls the method directly;
+ * a switch over the method index recreates messages from their arguments, for codecs. No reflection is involved at runtime.
+ */
+@SupportedAnnotationTypes("com.zakgof.actr.TypedActor")
+public class TypedActorProcessor extends AbstractProcessor {
+
+    private static final Set<String> OBJECT_METHODS = Set.of("toString()", "hashCode()", "equals(java.lang.Object)");
+    private static final Set<String> RESERVED_METHODS = Set.of("actor()", "create(int,java.lang.Object[])");
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(TypedActor.class)) {
+            if (element.getKind() != ElementKind.INTERFACE) {
+                error("@TypedActor must annotate an interface", element);
+            } else {
+                generate((TypeElement) element);
+            }
+        }
+        return true;
+    }
+
+    private void generate(TypeElement type) {
+        if (!type.getTypeParameters().isEmpty()) {
+            error("@TypedActor interface must not be generic", type);
+            return;
+        }
+        List<Method> methods = new ArrayList<>();
+        Set<String> signatures = new HashSet<>();
+        Set<String> classNames = new HashSet<>();
+        collect((DeclaredType) type.asType(), type, methods, signatures, classNames);
+        if (methods.stream().anyMatch(method -> method.invalid))
+            return;
+        String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        String baseName = baseName(type);
+        String modifier = type.getModifiers().contains(Modifier.PUBLIC) ? "public " : "";
+        try {
+            writeMessages(type, packageName, baseName, modifier, methods);
+            writeRef(type, packageName, baseName, modifier, methods);
+        } catch (IOException e) {
+            error("Cannot generate typed actor classes: " + e, type);
+        }
+    }
+
+    /**
+     * Collects instance methods of an interface and its superinterfaces, in declaration order, skipping the overridden ones and the ones of {@link Object}. Method types are taken as members of the annotated interface, so that
+     * type arguments of generic superinterfaces are substituted.
+     */
+    private void collect(DeclaredType actorType, TypeElement type, List<Method> methods, Set<String> signatures, Set<String> classNames) {
+        for (ExecutableElement element : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            if (element.getModifiers().contains(Modifier.STATIC))
+                continue;
+            ExecutableType methodType = (ExecutableType) processingEnv.getTypeUtils().asMemberOf(actorType, element);
+            String signature = signature(element, methodType);
+            if (!OBJECT_METHODS.contains(signature) && signatures.add(signature)) {
+                Method method = new Method(element, methodType, methods.size(), classNames);
+                if (RESERVED_METHODS.contains(signature)) {
+                    method.invalid(element, "@TypedActor interface method " + signature + " clashes with a generated method");
+                }
+                methods.add(method);
+            }
+        }
+        for (TypeMirror superinterface : type.getInterfaces()) {
+            collect(actorType, (TypeElement) ((DeclaredType) superinterface).asElement(), methods, signatures, classNames);
+        }
+    }
+
+    private String signature(ExecutableElement element, ExecutableType methodType) {
+        return element.getSimpleName() + methodType.getParameterTypes().stream()
+                .map(parameter -> processingEnv.getTypeUtils().erasure(parameter).toString())
+                .collect(Collectors.joining(",", "(", ")"));
+    }
+
+    private static String baseName(TypeElement type) {
+        String name = type.getSimpleName().toString();
+        for (Element enclosing = type.getEnclosingElement(); enclosing instanceof TypeElement; enclosing = enclosing.getEnclosingElement()) {
+            name = enclosing.getSimpleName() + "_" + name;
+        }
+        return name;
+    }
+
+    private void writeMessages(TypeElement type, String packageName, String baseName, String modifier, List<Method> methods) throws IOException {
+        String interfaceName = type.getQualifiedName().toString();
+        String className = baseName + "Messages";
+        try (PrintWriter out = new PrintWriter(processingEnv.getFiler().createSourceFile(qualified(packageName, className), type).openWriter())) {
+            header(out, packageName);
+            out.println("/**");
+            out.println(" * Messages calling {@link " + interfaceName + "} methods.");
+            out.println(" */");
+            out.println("@javax.annotation.processing.Generated(\"" + getClass().getName() + "\")");
+            out.println(modifier + "final class " + className + " {");
+            out.println();
+            for (Method method : methods) {
+                if (method.parameters.isEmpty()) {
+                    out.println("    private static final " + method.className + " " + method.constant() + " = new " + method.className + "();");
+                }
+            }
+            out.println();
+            out.println("    private " + className + "() {");
+            out.println("    }");
+            for (Method method : methods) {
+                out.println();
+                out.println("    /**");
+                out.println("     * @return message calling {@link " + interfaceName + "#" + method.name + "}");
+                out.println("     */");
+                out.println("    public static " + method.className + " " + method.name + "(" + method.parameterDeclarations() + ") {");
+                out.println("        return " + (method.parameters.isEmpty() ? method.constant() : "new " + method.className + "(" + method.parameterNames("") + ")") + ";");
+                out.println("    }");
+            }
+            out.println();
+            out.println("    /**");
+            out.println("     * Creates a message from its method index and arguments, see {@link com.zakgof.actr.IActorMessage#arguments()}.");
+            out.println("     *");
+            out.println("     * @param methodIndex method index");
+            out.println("     * @param arguments method arguments, primitives boxed");
+            out.println("     * @return message");
+            out.println("     */");
+            out.println("    @SuppressWarnings(\"unchecked\")");
+            out.println("    public static com.zakgof.actr.IActorMessage<" + interfaceName + ", ?> create(int methodIndex, java.lang.Object... arguments) {");
+            out.println("        switch (methodIndex) {");
+            for (Method method : methods) {
+                out.println("        case " + method.index + ":");
+                out.println("            return " + method.name + "(" + method.castArguments() + ");");
+            }
+            out.println("        default:");
+            out.println("            throw new java.lang.IllegalArgumentException(\"No method with index \" + methodIndex + \" in " + interfaceName + "\");");
+            out.println("        }");
+            out.println("    }");
+            for (Method method : methods) {
+                out.println();
+                writeMessageClass(out, interfaceName, method);
+            }
+            out.println("}");
+        }
+    }
+
+    private void writeMessageClass(PrintWriter out, String interfaceName, Method method) {
+        out.println("    public static final class " + method.className + " implements com.zakgof.actr.IActorMessage<" + interfaceName + ", " + method.resultType + "> {");
+        out.println();
+        out.println("        private static final long serialVersionUID = 1L;");
+        if (!method.parameters.isEmpty()) {
+            out.println();
+        }
+        for (Parameter parameter : method.parameters) {
+            out.println("        private final " + parameter.type + " " + parameter.name + ";");
+        }
+        out.println();
+        out.println("        private " + method.className + "(" + method.parameterDeclarations() + ") {");
+        for (Parameter parameter : method.parameters) {
+            out.println("            this." + parameter.name + " = " + parameter.name + ";");
+        }
+        out.println("        }");
+        out.println();
+        out.println("        @Override");
+        out.println("        public " + method.resultType + " apply(" + interfaceName + " target) {");
+        String call = "target." + method.name + "(" + method.parameterNames("this.") + ")";
+        if (method.isVoid) {
+            out.println("            " + call + ";");
+            out.println("            return null;");
+        } else {
+            out.println("            return " + call + ";");
+        }
+        out.println("        }");
+        out.println();
+        out.println("        @Override");
+        out.println("        public int methodIndex() {");
+        out.println("            return " + method.index + ";");
+        out.println("        }");
+        out.println();
+        out.println("        @Override");
+        out.println("        public java.lang.String methodName() {");
+        out.println("            return \"" + method.name + "\";");
+        out.println("        }");
+        out.println();
+        out.println("        @Override");
+        out.println("        public java.lang.Object[] arguments() {");
+        out.println("            return new java.lang.Object[] {" + (method.parameters.isEmpty() ? "" : " " + method.parameterNames("this.") + " ") + "};");
+        out.println("        }");
+        if (method.parameters.isEmpty()) {
+            out.println();
+            out.println("        private java.lang.Object readResolve() {");
+            out.println("            return " + method.constant() + ";");
+            out.println("        }");
+        }
+        out.println();
+        out.println("        @Override");
+        out.println("        public java.lang.String toString() {");
+        out.println("            return \"" + method.name + "\" + java.util.Arrays.deepToString(arguments());");
+        out.println("        }");
+        out.println("    }");
+    }
+
+    private void writeRef(TypeElement type, String packageName, String baseName, String modifier, List<Method> methods) throws IOException {
+        String interfaceName = type.getQualifiedName().toString();
+        String className = baseName + "Ref";
+        String messages = baseName + "Messages";
+        try (PrintWriter out = new PrintWriter(processingEnv.getFiler().createSourceFile(qualified(packageName, className), type).openWriter())) {
+            header(out, packageName);
+            out.println("/**");
+            out.println(" * Typed reference to an actor implementing {@link " + interfaceName + "}. Void methods send a message; other methods ask the actor, see {@link com.zakgof.actr.IActorRef#ask(java.util.function.Function)}.");
+            out.println(" */");
+            out.println("@javax.annotation.processing.Generated(\"" + getClass().getName() + "\")");
+            out.println(modifier + "final class " + className + " {");
+            out.println();
+            out.println("    private final com.zakgof.actr.IActorRef<" + interfaceName + "> actor;");
+            out.println();
+            out.println("    public " + className + "(com.zakgof.actr.IActorRef<" + interfaceName + "> actor) {");
+            out.println("        this.actor = actor;");
+            out.println("    }");
+            out.println();
+            out.println("    /**");
+            out.println("     * @return wrapped actor reference");
+            out.println("     */");
+            out.println("    public com.zakgof.actr.IActorRef<" + interfaceName + "> actor() {");
+            out.println("        return actor;");
+            out.println("    }");
+            for (Method method : methods) {
+                out.println();
+                out.println("    /**");
+                out.println("     * " + (method.isVoid ? "Sends" : "Asks") + " {@link " + interfaceName + "#" + method.name + "}.");
+                out.println("     */");
+                String message = messages + "." + method.name + "(" + method.parameterNames("") + ")";
+                if (method.isVoid) {
+                    out.println("    public void " + method.name + "(" + method.parameterDeclarations() + ") {");
+                    out.println("        this.actor.tell(" + message + ");");
+                } else {
+                    out.println("    public java.util.concurrent.CompletableFuture<" + method.resultType + "> " + method.name + "(" + method.parameterDeclarations() + ") {");
+                    out.println("        return this.actor.ask(" + message + ");");
+                }
+                out.println("    }");
+            }
+            out.println();
+            out.println("    @Override");
+            out.println("    public java.lang.String toString() {");
+            out.println("        return \"" + className + " \" + actor;");
+            out.println("    }");
+            out.println("}");
+        }
+    }
+
+    private static void header(PrintWriter out, String packageName) {
+        if (!packageName.isEmpty()) {
+            out.println("package " + packageName + ";");
+            out.println();
+        }
+    }
+
+    private static String qualified(String packageName, String className) {
+        return packageName.isEmpty() ? className : packageName + "." + className;
+    }
+
+    private void error(String message, Element element) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private static class Parameter {
+
+        private final String name;
+        private final String type;
+        private final String declaredType;
+
+        private Parameter(String name, String type, String declaredType) {
+            this.name = name;
+            this.type = type;
+            this.declaredType = declaredType;
+        }
+    }
+
+    private class Method {
+
+        private final String name;
+        private final int index;
+        private final String className;
+        private final boolean isVoid;
+        private final String resultType;
+        private final List<Parameter> parameters = new ArrayList<>();
+        private boolean invalid;
+
+        private Method(ExecutableElement element, ExecutableType methodType, int index, Set<String> classNames) {
+            this.name = element.getSimpleName().toString();
+            this.index = index;
+            String capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+            this.className = classNames.add(capitalized) ? capitalized : capitalized + index;
+            classNames.add(className);
+            TypeMirror returnType = methodType.getReturnType();
+            this.isVoid = returnType.getKind() == TypeKind.VOID;
+            this.resultType = isVoid ? "java.lang.Void" : boxed(returnType);
+            List<? extends VariableElement> elementParameters = element.getParameters();
+            for (int i = 0; i < elementParameters.size(); i++) {
+                String type = methodType.getParameterTypes().get(i).toString();
+                boolean varArg = element.isVarArgs() && i == elementParameters.size() - 1;
+                String declaredType = varArg ? type.substring(0, type.length() - 2) + "..." : type;
+                parameters.add(new Parameter(elementParameters.get(i).getSimpleName().toString(), type, declaredType));
+            }
+            if (!element.getTypeParameters().isEmpty()) {
+                invalid(element, "@TypedActor interface methods must not be generic");
+            }
+            TypeMirror runtimeException = processingEnv.getElementUtils().getTypeElement(RuntimeException.class.getName()).asType();
+            TypeMirror error = processingEnv.getElementUtils().getTypeElement(Error.class.getName()).asType();
+            for (TypeMirror thrown : element.getThrownTypes()) {
+                if (!processingEnv.getTypeUtils().isAssignable(thrown, runtimeException) && !processingEnv.getTypeUtils().isAssignable(thrown, error)) {
+                    invalid(element, "@TypedActor interface methods must not declare checked exceptions");
+                }
+            }
+        }
+
+        private void invalid(Element element, String message) {
+            error(message, element);
+            invalid = true;
+        }
+
+        private String boxed(TypeMirror type) {
+            return type.getKind().isPrimitive()
+                    ? processingEnv.getTypeUtils().boxedClass(processingEnv.getTypeUtils().getPrimitiveType(type.getKind())).getQualifiedName().toString()
+                    : type.toString();
+        }
+
+        private String constant() {
+            return className.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase();
+        }
+
+        private String parameterDeclarations() {
+            return parameters.stream().map(parameter -> parameter.declaredType + " " + parameter.name).collect(Collectors.joining(", "));
+        }
+
+        private String parameterNames(String prefix) {
+            return parameters.stream().map(parameter -> prefix + parameter.name).collect(Collectors.joining(", "));
+        }
+
+        private String castArguments() {
+            List<String> casts = new ArrayList<>();
+            for (int i = 0; i < parameters.size(); i++) {
+                casts.add("(" + parameters.get(i).type + ") arguments[" + i + "]");
+            }
+            return String.join(", ", casts);
+        }
+    }
+}
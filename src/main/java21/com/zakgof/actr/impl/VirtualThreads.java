@@ -0,0 +1,43 @@
+package com.zakgof.actr.impl;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Access to virtual threads.
+ *
+ * This is the JDK 21+ implementation, see the baseline implementation for older JDKs in the main source set.
+ */
+public final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * @return true if virtual threads are available in the running JDK
+     */
+    public static boolean isSupported() {
+        return true;
+    }
+
+    /**
+     * Creates a factory for virtual threads with the specified name.
+     *
+     * @param name thread name
+     * @return thread factory
+     */
+    public static ThreadFactory threadFactory(String name) {
+        return Thread.ofVirtual().name(name).factory();
+    }
+
+    /**
+     * Creates an executor that starts a new virtual thread for each task.
+     *
+     * @return executor service
+     */
+    public static ExecutorService newThreadPerTaskExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("actr:virtual").factory());
+    }
+
+}
@@ -0,0 +1,125 @@
+package com.zakgof.actr.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.zakgof.actr.Actr;
+import com.zakgof.actr.IActorRef;
+import com.zakgof.actr.IActorSystem;
+import com.zakgof.actr.IStreamSink;
+
+class AskStreamTest {
+
+    private static final int ELEMENTS = 100_000;
+    private static final int CHUNK_SIZE = 64;
+
+    @Test
+    void streamToActor() throws Exception {
+        IActorSystem system = Actr.newSystem("ask-stream");
+        IActorRef<Table> table = system.actorOf(Table::new);
+        IActorRef<Reader> reader = system.actorOf(Reader::new);
+
+        CompletableFuture<Reader> done = new CompletableFuture<>();
+        reader.tell(r -> r.read(table, reader, done));
+
+        Reader result = done.get(5, TimeUnit.SECONDS);
+        assertEquals(ELEMENTS, result.count);
+        assertTrue(result.inOrder);
+        assertTrue(result.inContext);
+        int maxAhead = table.ask(t -> t.maxAhead).join();
+        assertTrue(maxAhead <= 2 * CHUNK_SIZE, "Pushed ahead: " + maxAhead);
+        system.shutdown().join();
+    }
+
+    @Test
+    void streamOutsideActorContext() throws Exception {
+        IActorSystem system = Actr.newSystem("ask-stream-outside");
+        IActorRef<Table> table = system.actorOf(Table::new);
+        AtomicInteger count = new AtomicInteger();
+        table.<Integer> askStream(Table::scan, element -> {
+            assertSame(table, Actr.current());
+            count.incrementAndGet();
+        }).get(5, TimeUnit.SECONDS);
+        assertEquals(ELEMENTS, count.get());
+        system.shutdown().join();
+    }
+
+    @Test
+    void producerFailure() {
+        IActorSystem system = Actr.newSystem("ask-stream-failure");
+        IActorRef<Table> table = system.actorOf(Table::new);
+        CompletableFuture<Void> future = table.<Integer> askStream((t, sink) -> sink.onDemand(demand -> {
+            sink.next(1);
+            throw new IllegalStateException("broken");
+        }), element -> {
+        }, CHUNK_SIZE);
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertEquals("broken", e.getCause().getMessage());
+        system.shutdown().join();
+    }
+
+    @Test
+    void cancel() throws Exception {
+        IActorSystem system = Actr.newSystem("ask-stream-cancel");
+        IActorRef<Table> table = system.actorOf(Table::new);
+        AtomicInteger count = new AtomicInteger();
+        CompletableFuture<Void> started = new CompletableFuture<>();
+        CompletableFuture<Void> stream = table.<Integer> askStream(Table::scan, element -> {
+            if (count.incrementAndGet() == 10)
+                started.complete(null);
+        }, CHUNK_SIZE);
+        started.get(5, TimeUnit.SECONDS);
+        stream.cancel(false);
+        table.ask(t -> t.pushed).join();
+        assertTrue(table.ask(t -> t.sink.isCancelled()).join());
+        assertTrue(table.ask(t -> t.pushed).join() < ELEMENTS);
+        system.shutdown().join();
+    }
+
+    private static class Table {
+
+        private int pushed;
+        private int maxAhead;
+        private IStreamSink<Integer> sink;
+
+        private void scan(IStreamSink<Integer> sink) {
+            this.sink = sink;
+            Iterator<Integer> rows = IntStream.range(0, ELEMENTS).iterator();
+            sink.onDemand(demand -> {
+                for (long i = 0; i < demand && rows.hasNext(); i++) {
+                    sink.next(rows.next());
+                    pushed++;
+                }
+                if (!rows.hasNext())
+                    sink.complete();
+            });
+        }
+    }
+
+    private static class Reader {
+
+        private int count;
+        private boolean inOrder = true;
+        private boolean inContext = true;
+
+        private void read(IActorRef<Table> table, IActorRef<Reader> self, CompletableFuture<Reader> done) {
+            table.<Integer> askStream(Table::scan, element -> {
+                inOrder &= element == count;
+                inContext &= Actr.<Reader> current() == self;
+                count++;
+                table.tell(t -> t.maxAhead = Math.max(t.maxAhead, t.pushed - element));
+            }, CHUNK_SIZE).thenRun(() -> done.complete(this));
+        }
+    }
+}
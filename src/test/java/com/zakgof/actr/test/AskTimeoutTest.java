@@ -0,0 +1,99 @@
+package com.zakgof.actr.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.zakgof.actr.Actr;
+import com.zakgof.actr.IActorRef;
+import com.zakgof.actr.IActorSystem;
+import com.zakgof.actr.Schedulers;
+
+class AskTimeoutTest {
+
+    private IActorSystem system;
+    private IActorRef<Worker> worker;
+
+    @BeforeEach
+    void setUp() {
+        system = Actr.newSystem("ask-timeout");
+        worker = system.<Worker> actorBuilder()
+            .constructor(Worker::new)
+            .scheduler(Schedulers.newThreadPerActorScheduler())
+            .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        system.shutdown().join();
+    }
+
+    @Test
+    void stuckActor() throws Exception {
+        CountDownLatch stuck = new CountDownLatch(1);
+        worker.tell(w -> await(stuck));
+        CompletableFuture<Integer> future = worker.ask(w -> ++w.calls, 50);
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertTrue(exception.getCause() instanceof TimeoutException);
+
+        stuck.countDown();
+        assertEquals(1, worker.ask(w -> ++w.calls).join(), "Timed out call should be skipped");
+    }
+
+    @Test
+    void timeoutInCallerContext() throws Exception {
+        CountDownLatch stuck = new CountDownLatch(1);
+        worker.tell(w -> await(stuck));
+        IActorRef<Worker> caller = system.actorOf(Worker::new);
+        CompletableFuture<IActorRef<?>> timedOut = new CompletableFuture<>();
+        caller.tell(c -> worker.ask(w -> ++w.calls, calls -> timedOut.completeExceptionally(new AssertionError("Unexpected response")), e -> timedOut.complete(Actr.current()), 50));
+
+        assertSame(caller, timedOut.get(5, TimeUnit.SECONDS));
+        stuck.countDown();
+    }
+
+    @Test
+    void responseCancelsTimeout() throws Exception {
+        AtomicBoolean timedOut = new AtomicBoolean();
+        CompletableFuture<Integer> response = new CompletableFuture<>();
+        worker.ask(w -> ++w.calls, response::complete, e -> timedOut.set(true), 50);
+
+        assertEquals(1, response.get(5, TimeUnit.SECONDS));
+        assertEquals(2, worker.ask((w, callback) -> callback.accept(++w.calls), 50).get(5, TimeUnit.SECONDS));
+        Thread.sleep(150);
+        assertFalse(timedOut.get());
+    }
+
+    @Test
+    void closedActor() {
+        worker.close();
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> worker.ask(w -> ++w.calls, 50).get(5, TimeUnit.SECONDS));
+        assertTrue(exception.getCause() instanceof TimeoutException);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class Worker {
+        private int calls;
+    }
+}
@@ -0,0 +1,135 @@
+package com.zakgof.actr.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.zakgof.actr.Actr;
+import com.zakgof.actr.IActorMetrics;
+import com.zakgof.actr.IActorRef;
+import com.zakgof.actr.IActorSystem;
+import com.zakgof.actr.MailboxOverflowException;
+import com.zakgof.actr.OverflowPolicy;
+import com.zakgof.actr.Schedulers;
+
+class BatchTellTest {
+
+    private final IActorSystem system = Actr.newSystem("batch", Schedulers.newForkJoinPoolScheduler(10));
+
+    @AfterEach
+    void shutdown() {
+        system.shutdown().join();
+    }
+
+    @Test
+    void keepsOrder() {
+        IActorRef<List<Integer>> actor = system.actorOf(ArrayList::new);
+        int value = 0;
+        for (int round = 0; round < 100; round++) {
+            List<Consumer<List<Integer>>> actions = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                int v = value++;
+                actions.add(list -> list.add(v));
+            }
+            actor.tellAll(actions);
+            int v = value++;
+            actor.tell(list -> list.add(v));
+        }
+        List<Integer> result = actor.ask((List<Integer> list) -> new ArrayList<>(list)).join();
+        assertEquals(value, result.size());
+        for (int i = 0; i < value; i++) {
+            assertEquals(i, result.get(i));
+        }
+    }
+
+    @Test
+    void builder() {
+        IActorRef<List<Integer>> actor = system.actorOf(ArrayList::new);
+        actor.batch().tell(list -> list.add(1)).tell(list -> list.add(2)).tell(list -> list.add(3)).send();
+        assertEquals(Arrays.asList(1, 2, 3), actor.ask((List<Integer> list) -> new ArrayList<>(list)).join());
+    }
+
+    @Test
+    void overflowKeepsPrefix() throws InterruptedException {
+        CountDownLatch busy = new CountDownLatch(1);
+        List<Integer> result = new ArrayList<>();
+        IActorRef<List<Integer>> actor = system.<List<Integer>>actorBuilder()
+                .constructor(ArrayList::new)
+                .destructor(result::addAll)
+                .mailboxCapacity(2)
+                .overflowPolicy(OverflowPolicy.FAIL)
+                .build();
+        actor.tell(list -> {
+            busy.countDown();
+            sleep(200);
+        });
+        busy.await();
+        assertThrows(MailboxOverflowException.class, () -> actor.batch().tell(list -> list.add(1)).tell(list -> list.add(2)).tell(list -> list.add(3)).send());
+        system.shutdown().join();
+        assertEquals(Arrays.asList(1, 2), result);
+    }
+
+    @Test
+    void overflowReportsEachDiscardedMessage() throws InterruptedException {
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger handled = new AtomicInteger();
+        IActorSystem metered = Actr.systemBuilder("batch-metrics").metrics(new IActorMetrics() {
+            @Override
+            public void rejected(IActorRef<?> actor) {
+                rejected.incrementAndGet();
+            }
+        }).build();
+        CountDownLatch busy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> result = new ArrayList<>();
+        IActorRef<List<Integer>> actor = metered.<List<Integer>>actorBuilder()
+                .constructor(ArrayList::new)
+                .destructor(result::addAll)
+                .mailboxCapacity(2)
+                .overflowPolicy(OverflowPolicy.DROP_NEWEST)
+                .overflowHandler(a -> handled.incrementAndGet())
+                .build();
+        actor.tell(list -> {
+            busy.countDown();
+            await(release);
+        });
+        busy.await();
+        List<Consumer<List<Integer>>> actions = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            int v = i;
+            actions.add(list -> list.add(v));
+        }
+        actor.tellAll(actions);
+        release.countDown();
+        metered.shutdown().join();
+        assertEquals(Arrays.asList(0, 1), result);
+        assertEquals(3, handled.get());
+        assertEquals(3, rejected.get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
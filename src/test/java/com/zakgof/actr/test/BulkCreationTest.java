@@ -0,0 +1,52 @@
+package com.zakgof.actr.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.zakgof.actr.Actr;
+import com.zakgof.actr.IActorRef;
+import com.zakgof.actr.IActorSystem;
+
+class BulkCreationTest {
+
+    private static final int ACTORS = 1000;
+
+    private final IActorSystem system = Actr.newSystem("bulk");
+
+    @Test
+    void actorsOf() {
+        List<IActorRef<int[]>> actors = system.actorsOf(ACTORS, i -> new int[] { i });
+        assertEquals(ACTORS, actors.size());
+        Set<String> names = new HashSet<>();
+        for (int i = 0; i < ACTORS; i++) {
+            assertEquals(i, actors.get(i).ask((int[] value) -> value[0]).join());
+            names.add(actors.get(i).toString());
+        }
+        assertEquals(ACTORS, names.size());
+        system.shutdown().join();
+    }
+
+    @Test
+    void buildSeveral() {
+        AtomicInteger destroyed = new AtomicInteger();
+        List<IActorRef<Object>> actors = system.actorBuilder()
+            .constructor(Object::new)
+            .destructor(o -> destroyed.incrementAndGet())
+            .name("worker")
+            .build(3);
+        assertEquals("[bulk:worker-1]", actors.get(1).toString());
+        actors.get(0).close();
+        actors.get(2).close();
+        while (destroyed.get() < 2) {
+            Thread.yield();
+        }
+        system.shutdown().join();
+        assertEquals(3, destroyed.get());
+    }
+}
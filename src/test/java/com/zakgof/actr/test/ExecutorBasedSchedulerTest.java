@@ -0,0 +1,153 @@
+package com.zakgof.actr.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.zakgof.actr.Actr;
+import com.zakgof.actr.IActorRef;
+import com.zakgof.actr.IActorScheduler;
+import com.zakgof.actr.IActorSystem;
+import com.zakgof.actr.Schedulers;
+
+/**
+ * Time-sliced and adaptive batching. Two actors share a single executor thread and log their messages in execution order, so that the length of each run of one actor's messages is the size of a batch.
+ */
+class ExecutorBasedSchedulerTest {
+
+    @Test
+    void timeSlicedActorYields() throws Exception {
+        List<String> log = new ArrayList<>();
+        IActorSystem system = Actr.newSystem("time-sliced", Schedulers.newTimeSlicedScheduler(Executors.newSingleThreadExecutor(), 5000));
+        IActorRef<Object> slow = system.actorOf(Object::new);
+        IActorRef<Object> other = system.actorOf(Object::new);
+        CountDownLatch gate = new CountDownLatch(1);
+        slow.tell(s -> await(gate));
+        for (int i = 0; i < 50; i++) {
+            slow.tell(s -> {
+                spin(2000);
+                log.add("slow");
+            });
+        }
+        other.tell(o -> log.add("other"));
+        gate.countDown();
+
+        system.shutdown().join();
+        assertEquals(51, log.size());
+        int otherIndex = log.indexOf("other");
+        assertTrue(otherIndex < 10, "Other actor ran after " + otherIndex + " messages of the slow one");
+    }
+
+    @Test
+    void adaptiveBatchShrinksForLongMessages() throws Exception {
+        List<Integer> runs = runLengths(200, 50);
+        assertEquals(10, runs.get(0), "Initial batch " + runs);
+        assertTrue(runs.get(runs.size() - 2) < 10, "Batch did not shrink: " + runs);
+    }
+
+    @Test
+    void adaptiveBatchGrowsForShortMessages() throws Exception {
+        List<Integer> runs = runLengths(0, 20_000);
+        assertEquals(10, runs.get(0), "Initial batch " + runs);
+        assertTrue(runs.stream().anyMatch(run -> run > 100), "Batch did not grow: " + runs);
+    }
+
+    @Test
+    void timeSlicedOrdering() throws Exception {
+        ordering(Schedulers.newTimeSlicedScheduler(Executors.newFixedThreadPool(3), 50));
+    }
+
+    @Test
+    void adaptiveOrdering() throws Exception {
+        ordering(Schedulers.newAdaptiveScheduler(Executors.newFixedThreadPool(3), 50));
+    }
+
+    /**
+     * Runs two actors with the same number of messages taking the given time on an adaptive scheduler targeting 1 ms, and returns the lengths of consecutive runs of the first actor's messages.
+     */
+    private static List<Integer> runLengths(long messageMicros, int messages) {
+        List<Character> log = new ArrayList<>(2 * messages);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        IActorSystem system = Actr.newSystem("adaptive", Schedulers.newAdaptiveScheduler(executor, 1000));
+        IActorRef<Object> first = system.actorOf(Object::new);
+        IActorRef<Object> second = system.actorOf(Object::new);
+        CountDownLatch gate = new CountDownLatch(1);
+        executor.execute(() -> await(gate));
+        for (int i = 0; i < messages; i++) {
+            first.tell(f -> {
+                spin(messageMicros);
+                log.add('a');
+            });
+            second.tell(s -> {
+                spin(messageMicros);
+                log.add('b');
+            });
+        }
+        gate.countDown();
+        system.shutdown().join();
+
+        List<Integer> runs = new ArrayList<>();
+        int run = 0;
+        for (char c : log) {
+            if (c == 'a') {
+                run++;
+            } else if (run > 0) {
+                runs.add(run);
+                run = 0;
+            }
+        }
+        if (run > 0) {
+            runs.add(run);
+        }
+        return runs;
+    }
+
+    private static void ordering(IActorScheduler scheduler) throws Exception {
+        IActorSystem system = Actr.newSystem("ordering", scheduler);
+        List<IActorRef<int[]>> actors = new ArrayList<>();
+        for (int a = 0; a < 4; a++) {
+            actors.add(system.actorOf(() -> new int[2]));
+        }
+        for (int i = 0; i < 20_000; i++) {
+            int value = i;
+            for (IActorRef<int[]> actor : actors) {
+                // [0] next expected value, [1] number of messages out of order
+                actor.tell(state -> {
+                    if (state[0] != value) {
+                        state[1]++;
+                    }
+                    state[0] = value + 1;
+                });
+            }
+        }
+        for (IActorRef<int[]> actor : actors) {
+            int[] state = actor.ask(s -> s).get(10, TimeUnit.SECONDS);
+            assertEquals(20_000, state[0]);
+            assertEquals(0, state[1]);
+        }
+        system.shutdown().join();
+    }
+
+    private static void spin(long micros) {
+        long end = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(micros);
+        while (System.nanoTime() < end) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.zakgof.actr.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.zakgof.actr.Actr;
+import com.zakgof.actr.Flows;
+import com.zakgof.actr.IActorPublisher;
+import com.zakgof.actr.IActorRef;
+import com.zakgof.actr.IActorSystem;
+
+class FlowTest {
+
+    private static final int ITEMS = 10_000;
+    private static final int BUFFER_SIZE = 16;
+
+    @Test
+    void subscriberBoundsInFlightItems() throws Exception {
+        IActorSystem system = Actr.newSystem("flow-subscriber");
+        IActorRef<Sum> sum = system.actorOf(Sum::new);
+        AtomicLong processed = new AtomicLong();
+        RangePublisher publisher = new RangePublisher(ITEMS, processed);
+        CompletableFuture<Long> completed = new CompletableFuture<>();
+        publisher.subscribe(Flows.<Sum, Integer> subscriber(sum, (s, item) -> {
+            s.total += item;
+            processed.incrementAndGet();
+        }, (s, e) -> completed.completeExceptionally(e), s -> completed.complete(s.total), BUFFER_SIZE));
+
+        assertEquals((long) ITEMS * (ITEMS - 1) / 2, completed.get(5, TimeUnit.SECONDS));
+        assertTrue(publisher.maxInFlight <= BUFFER_SIZE, "In flight: " + publisher.maxInFlight);
+        system.shutdown().join();
+    }
+
+    @Test
+    void publisherProducesOnDemand() throws Exception {
+        IActorSystem system = Actr.newSystem("flow-publisher");
+        IActorRef<Producer> producer = system.actorOf(Producer::new);
+        IActorPublisher<Integer> publisher = Flows.publisher(producer, Producer::produce, BUFFER_SIZE);
+        producer.tell(p -> p.publisher = publisher);
+
+        CompletableFuture<List<Integer>> completed = new CompletableFuture<>();
+        publisher.subscribe(new Flow.Subscriber<Integer>() {
+
+            private final List<Integer> items = new ArrayList<>();
+            private Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(5);
+            }
+
+            @Override
+            public void onNext(Integer item) {
+                items.add(item);
+                if (items.size() % 5 == 0)
+                    CompletableFuture.runAsync(() -> subscription.request(5));
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                completed.completeExceptionally(error);
+            }
+
+            @Override
+            public void onComplete() {
+                completed.complete(items);
+            }
+        });
+
+        List<Integer> items = completed.get(5, TimeUnit.SECONDS);
+        assertEquals(Producer.LIMIT, items.size());
+        for (int i = 0; i < items.size(); i++)
+            assertEquals(i, items.get(i));
+        assertFalse(producer.ask(p -> p.rejected).join());
+        system.shutdown().join();
+    }
+
+    @Test
+    void actorToActor() throws Exception {
+        IActorSystem system = Actr.newSystem("flow-pipe");
+        IActorRef<Producer> producer = system.actorOf(Producer::new);
+        IActorRef<Sum> sum = system.actorOf(Sum::new);
+        IActorPublisher<Integer> publisher = Flows.publisher(producer, Producer::produce, BUFFER_SIZE);
+        producer.tell(p -> p.publisher = publisher);
+        CompletableFuture<Long> completed = new CompletableFuture<>();
+        publisher.subscribe(Flows.<Sum, Integer> subscriber(sum, (s, item) -> s.total += item, (s, e) -> completed.completeExceptionally(e), s -> completed.complete(s.total), BUFFER_SIZE));
+
+        assertEquals((long) Producer.LIMIT * (Producer.LIMIT - 1) / 2, completed.get(5, TimeUnit.SECONDS));
+        system.shutdown().join();
+    }
+
+    @Test
+    void bufferBound() {
+        IActorSystem system = Actr.newSystem("flow-buffer");
+        IActorRef<Producer> producer = system.actorOf(Producer::new);
+        IActorPublisher<Integer> publisher = Flows.publisher(producer, (p, n) -> {
+        }, 3);
+        List<Boolean> offered = producer.ask(p -> {
+            List<Boolean> result = new ArrayList<>();
+            for (int i = 0; i < 4; i++)
+                result.add(publisher.offer(i));
+            return result;
+        }).join();
+        assertEquals(List.of(true, true, true, false), offered);
+
+        AtomicInteger received = new AtomicInteger();
+        CompletableFuture<Void> completed = new CompletableFuture<>();
+        publisher.subscribe(new Flow.Subscriber<Integer>() {
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(Integer item) {
+                received.incrementAndGet();
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                completed.completeExceptionally(error);
+            }
+
+            @Override
+            public void onComplete() {
+                completed.complete(null);
+            }
+        });
+        producer.tell(p -> publisher.complete());
+        completed.join();
+        assertEquals(3, received.get());
+        assertFalse(producer.ask(p -> publisher.offer(5)).join());
+        system.shutdown().join();
+    }
+
+    private static class Sum {
+        private long total;
+    }
+
+    private static class Producer {
+
+        private static final int LIMIT = ITEMS;
+
+        private IActorPublisher<Integer> publisher;
+        private int next;
+        private boolean rejected;
+
+        private void produce(long demand) {
+            for (long i = 0; i < demand && next < LIMIT; i++) {
+                if (!publisher.offer(next)) {
+                    rejected = true;
+                    break;
+                }
+                next++;
+            }
+            if (next == LIMIT)
+                publisher.complete();
+        }
+    }
+
+    /**
+     * Publishes a range of integers on request, in the requesting thread, and records how many items were delivered and not yet processed.
+     */
+    private static class RangePublisher implements Flow.Publisher<Integer> {
+
+        private final int count;
+        private final AtomicLong processed;
+        private volatile long maxInFlight;
+
+        private RangePublisher(int count, AtomicLong processed) {
+            this.count = count;
+            this.processed = processed;
+        }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super Integer> subscriber) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+
+                private int next;
+                private boolean completed;
+
+                @Override
+                public void request(long n) {
+                    for (long i = 0; i < n && next < count; i++) {
+                        subscriber.onNext(next++);
+                        maxInFlight = Math.max(maxInFlight, next - processed.get());
+                    }
+                    if (next == count && !completed) {
+                        completed = true;
+                        subscriber.onComplete();
+                    }
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+        }
+    }
+}
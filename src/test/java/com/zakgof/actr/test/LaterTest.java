@@ -0,0 +1,89 @@
+package com.zakgof.actr.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.zakgof.actr.Actr;
+import com.zakgof.actr.IActorRef;
+import com.zakgof.actr.IActorSystem;
+import com.zakgof.actr.ICancellable;
+
+class LaterTest {
+
+    private final IActorSystem system = Actr.systemBuilder("later").timerTick(5).build();
+    private final List<String> log = new ArrayList<>();
+    private final IActorRef<List<String>> actor = system.<List<String>>actorBuilder()
+        .object(new ArrayList<>())
+        .destructor(log::addAll)
+        .build();
+
+    @Test
+    void laterInOrder() {
+        actor.later(list -> list.add("second"), 200);
+        actor.later(list -> list.add("first"), 20);
+        actor.later(list -> system.shutdown(), 400);
+        system.shutdownCompletable().join();
+        assertEquals(Arrays.asList("first", "second"), log);
+    }
+
+    @Test
+    void cancel() {
+        ICancellable cancelled = actor.later(list -> list.add("cancelled"), 50);
+        ICancellable executed = actor.later(list -> list.add("executed"), 100);
+        actor.later(list -> system.shutdown(), 300);
+
+        assertTrue(cancelled.cancel());
+        assertTrue(cancelled.isCancelled());
+        assertFalse(cancelled.cancel());
+
+        system.shutdownCompletable().join();
+        assertEquals(Arrays.asList("executed"), log);
+        assertFalse(executed.cancel());
+        assertFalse(executed.isCancelled());
+    }
+
+    @Test
+    void every() {
+        ICancellable every = actor.every(list -> list.add("tick"), 20);
+        actor.later(list -> every.cancel(), 110);
+        actor.later(list -> system.shutdown(), 300);
+        system.shutdownCompletable().join();
+        assertTrue(log.size() >= 3 && log.size() <= 5, "ticks " + log.size());
+    }
+
+    @Test
+    void atFixedRateSkipsTicksWhenBusy() {
+        actor.atFixedRate(list -> {
+            list.add("tick");
+            sleep(100);
+        }, 0, 10);
+        actor.later(list -> system.shutdown(), 250);
+        system.shutdownCompletable().join();
+        assertTrue(log.size() >= 2 && log.size() <= 4, "ticks " + log.size());
+    }
+
+    @Test
+    void beyondWheelRevolution() {
+        long start = System.nanoTime();
+        actor.later(list -> system.shutdown(), 3000);
+        system.shutdownCompletable().join();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        assertTrue(elapsedMs >= 3000 && elapsedMs < 4000, "elapsed " + elapsedMs);
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,96 @@
+package com.zakgof.actr.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.zakgof.actr.Actr;
+import com.zakgof.actr.IActorRef;
+import com.zakgof.actr.IActorSystem;
+
+class LookupTest {
+
+    @Test
+    void lookup() {
+        IActorSystem system = Actr.newSystem("lookup");
+        IActorRef<Object> actor = system.actorOf(Object::new, "named");
+        system.actorOf(Object::new);
+        assertSame(actor, system.lookup("named"));
+        assertNull(system.lookup("missing"));
+
+        actor.close();
+        waitForActorCount(system, 1);
+        assertNull(system.lookup("named"));
+        system.shutdown().join();
+    }
+
+    @Test
+    void duplicateNames() {
+        IActorSystem system = Actr.newSystem("duplicates");
+        IActorRef<Object> first = system.actorOf(Object::new, "twin");
+        IActorRef<Object> second = system.actorOf(Object::new, "twin");
+        IActorRef<Object> third = system.actorOf(Object::new, "twin");
+        assertSame(first, system.lookup("twin"));
+
+        // Destroying the found actor exposes the next one with the name
+        first.close();
+        waitForActorCount(system, 2);
+        assertSame(second, system.lookup("twin"));
+        third.close();
+        waitForActorCount(system, 1);
+        assertSame(second, system.lookup("twin"));
+        second.close();
+        waitForActorCount(system, 0);
+        assertNull(system.lookup("twin"));
+        system.shutdown().join();
+    }
+
+    @Test
+    void uniqueNames() {
+        IActorSystem system = Actr.systemBuilder("unique").uniqueNames().build();
+        IActorRef<Object> actor = system.actorOf(Object::new, "single");
+        assertThrows(IllegalArgumentException.class, () -> system.actorOf(Object::new, "single"));
+        assertSame(actor, system.lookup("single"));
+
+        system.actorOf(Object::new, "batch-1");
+        assertThrows(IllegalArgumentException.class, () -> system.<Object> actorBuilder().constructor(Object::new).name("batch").build(3));
+        assertEquals(2, system.actorCount());
+
+        // Names reserved by a failed creation are released
+        assertThrows(IllegalStateException.class, () -> system.<Object> actorBuilder().constructor(() -> {
+            throw new IllegalStateException();
+        }).name("failing").build());
+        system.actorOf(Object::new, "failing");
+        system.actorOf(Object::new, "batch-0");
+        system.shutdown().join();
+    }
+
+    @Test
+    void actorCount() {
+        IActorSystem system = Actr.newSystem("count");
+        List<IActorRef<Object>> bulk = system.actorsOf(1000, i -> new Object());
+        for (int i = 0; i < 10; i++) {
+            system.actorOf(Object::new);
+        }
+        assertEquals(1010, system.actorCount());
+
+        bulk.subList(0, 500).forEach(IActorRef::close);
+        waitForActorCount(system, 510);
+        system.shutdown().join();
+        assertEquals(0, system.actorCount());
+    }
+
+    private static void waitForActorCount(IActorSystem system, int count) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (system.actorCount() != count) {
+            assertTrue(System.currentTimeMillis() < deadline, "actor count " + system.actorCount());
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.zakgof.actr.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.zakgof.actr.Actr;
+import com.zakgof.actr.IActorRef;
+import com.zakgof.actr.IActorSystem;
+import com.zakgof.actr.MailboxOverflowException;
+import com.zakgof.actr.OverflowPolicy;
+import com.zakgof.actr.Schedulers;
+import com.zakgof.actr.impl.BlockingThreadScheduler;
+
+class MailboxCapacityTest {
+
+    private final BlockingThreadScheduler scheduler = Schedulers.newBlockingThreadScheduler();
+    private final IActorSystem system = Actr.newSystem("capacity", scheduler);
+    private final AtomicInteger overflows = new AtomicInteger();
+    private final List<Integer> result = new ArrayList<>();
+
+    @Test
+    void dropNewest() throws Exception {
+        IActorRef<List<Integer>> actor = boundedActor(OverflowPolicy.DROP_NEWEST);
+        assertTrue(actor.tryTell(list -> list.add(1)));
+        assertTrue(actor.tryTell(list -> list.add(2)));
+        assertTrue(actor.tryTell(list -> list.add(3)));
+        assertFalse(actor.tryTell(list -> list.add(4)));
+        actor.tell(list -> list.add(5));
+
+        assertEquals(Arrays.asList(1, 2, 3), process());
+        assertEquals(2, overflows.get());
+    }
+
+    @Test
+    void dropOldest() throws Exception {
+        IActorRef<List<Integer>> actor = boundedActor(OverflowPolicy.DROP_OLDEST);
+        for (int i = 1; i <= 5; i++) {
+            int value = i;
+            assertTrue(actor.tryTell(list -> list.add(value)));
+        }
+
+        assertEquals(Arrays.asList(3, 4, 5), process());
+        assertEquals(2, overflows.get());
+    }
+
+    @Test
+    void fail() throws Exception {
+        IActorRef<List<Integer>> actor = boundedActor(OverflowPolicy.FAIL);
+        actor.tell(list -> list.add(1));
+        actor.tell(list -> list.add(2));
+        actor.tell(list -> list.add(3));
+        assertThrows(MailboxOverflowException.class, () -> actor.tell(list -> list.add(4)));
+        assertFalse(actor.tryTell(list -> list.add(5)));
+
+        assertEquals(Arrays.asList(1, 2, 3), process());
+        assertEquals(2, overflows.get());
+    }
+
+    private IActorRef<List<Integer>> boundedActor(OverflowPolicy policy) {
+        return system.<List<Integer>>actorBuilder()
+            .constructor(ArrayList::new)
+            .mailboxCapacity(3)
+            .overflowPolicy(policy)
+            .overflowHandler(actor -> overflows.incrementAndGet())
+            .destructor(result::addAll)
+            .build();
+    }
+
+    /**
+     * Runs the scheduler loop until shutdown in a dedicated thread, as closing the scheduler interrupts the thread running it.
+     */
+    private List<Integer> process() throws InterruptedException {
+        Thread processor = new Thread(scheduler::start, "capacity-processor");
+        processor.start();
+        system.shutdown();
+        processor.join();
+        return result;
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.zakgof.actr.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+
+import com.zakgof.actr.Actr;
+import com.zakgof.actr.IActorRef;
+import com.zakgof.actr.IActorScheduler;
+import com.zakgof.actr.IActorSystem;
+import com.zakgof.actr.Schedulers;
+
+class MailboxTest {
+
+    private static final int PRODUCERS = 4;
+    private static final int MESSAGES = 100_000;
+
+    @Test
+    void forkJoinPool() throws Exception {
+        multipleProducers(Schedulers.newForkJoinPoolScheduler(10));
+    }
+
+    @Test
+    void fixedThreadPool() throws Exception {
+        multipleProducers(Schedulers.newFixedThreadPoolScheduler(2, 1));
+    }
+
+    @Test
+    void singleThread() throws Exception {
+        multipleProducers(Schedulers.newSingleThreadScheduler());
+    }
+
+    /**
+     * Producers pause now and then so that the mailbox keeps going idle and being rescheduled while other producers push.
+     */
+    private static void multipleProducers(IActorScheduler scheduler) throws Exception {
+        IActorSystem system = Actr.newSystem("mailbox", scheduler);
+        IActorRef<Receiver> receiver = system.actorOf(Receiver::new);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> producers = new ArrayList<>();
+        for (int p = 0; p < PRODUCERS; p++) {
+            int producer = p;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < MESSAGES; i++) {
+                    int value = i;
+                    receiver.tell(r -> r.receive(producer, value));
+                    if (i % 100 == 0) {
+                        Thread.yield();
+                    }
+                }
+            });
+            thread.start();
+            producers.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : producers) {
+            thread.join();
+        }
+
+        Receiver result = receiver.ask(r -> r).join();
+        assertEquals(PRODUCERS * MESSAGES, result.received);
+        assertEquals(0, result.outOfOrder);
+        system.shutdown().join();
+    }
+
+    private static class Receiver {
+
+        private final int[] next = new int[PRODUCERS];
+        private int received;
+        private int outOfOrder;
+
+        private void receive(int producer, int value) {
+            if (next[producer] != value) {
+                outOfOrder++;
+            }
+            next[producer] = value + 1;
+            received++;
+        }
+    }
+}
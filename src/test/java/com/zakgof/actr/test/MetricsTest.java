@@ -0,0 +1,109 @@
+package com.zakgof.actr.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+
+import com.zakgof.actr.Actr;
+import com.zakgof.actr.Histogram;
+import com.zakgof.actr.IActorRef;
+import com.zakgof.actr.IActorScheduler;
+import com.zakgof.actr.IActorSystem;
+import com.zakgof.actr.IMessageLatency;
+import com.zakgof.actr.Schedulers;
+import com.zakgof.actr.impl.ActorMetricsCollector;
+import com.zakgof.actr.impl.ActorMetricsCollector.ActorStats;
+import com.zakgof.actr.impl.ActorMetricsCollector.SchedulerStats;
+
+class MetricsTest {
+
+    private static final int MESSAGES = 1000;
+
+    @Test
+    void collectsActorAndSchedulerStats() throws InterruptedException {
+        ActorMetricsCollector metrics = new ActorMetricsCollector();
+        IActorScheduler scheduler = Schedulers.newForkJoinPoolScheduler(10);
+        IActorSystem system = Actr.systemBuilder("metrics").scheduler(scheduler).metrics(metrics).build();
+        IActorRef<Object> actor = system.actorOf(Object::new);
+
+        CountDownLatch done = new CountDownLatch(MESSAGES);
+        for (int i = 0; i < MESSAGES; i++) {
+            actor.tell(o -> done.countDown());
+        }
+        done.await();
+        actor.ask(o -> o).join();
+        // Statistics are recorded after running the message that completes the future
+        SchedulerStats schedulerStats = metrics.scheduler(scheduler);
+        long deadline = System.currentTimeMillis() + 5000;
+        while (schedulerStats.messages() < MESSAGES + 1 && System.currentTimeMillis() < deadline) {
+            Thread.yield();
+        }
+
+        ActorStats stats = metrics.actor(actor);
+        assertEquals(MESSAGES + 1, stats.enqueued());
+        assertEquals(0, stats.rejected());
+        assertEquals(MESSAGES + 1, stats.waitTime().count());
+        assertEquals(MESSAGES + 1, stats.processingTime().count());
+        assertTrue(stats.depth().max() >= 1);
+
+        assertEquals(MESSAGES + 1, schedulerStats.messages());
+        assertTrue(schedulerStats.drains() >= (MESSAGES + 1) / 10);
+        assertTrue(schedulerStats.busyNanos() > 0);
+
+        system.shutdown().join();
+        assertNull(metrics.actor(actor));
+    }
+
+    @Test
+    void samplesLatency() {
+        IActorSystem system = Actr.systemBuilder("latency").latencySampling(100).build();
+        IActorRef<Object> actor = system.actorOf(Object::new);
+        IActorRef<Object> idle = system.actorOf(Object::new);
+        for (int i = 0; i < 100 * MESSAGES; i++) {
+            actor.tell(o -> {
+            });
+        }
+        actor.ask(o -> o).join();
+
+        IMessageLatency latency = actor.messageLatency();
+        assertBetween(MESSAGES / 2, latency.queueTime().count(), MESSAGES * 2);
+        assertEquals(latency.queueTime().count(), latency.runTime().count());
+        assertNull(idle.messageLatency());
+        assertEquals(Collections.singletonMap(actor, latency), system.messageLatencies());
+        system.shutdown().join();
+    }
+
+    @Test
+    void latencyTracingDisabledByDefault() {
+        IActorSystem system = Actr.newSystem("nolatency");
+        IActorRef<Object> actor = system.actorOf(Object::new);
+        actor.ask(o -> o).join();
+        assertNull(actor.messageLatency());
+        assertTrue(system.messageLatencies().isEmpty());
+        system.shutdown().join();
+    }
+
+    @Test
+    void histogramPercentiles() {
+        Histogram histogram = new Histogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i);
+        }
+        assertEquals(1000, histogram.count());
+        assertEquals(1000, histogram.max());
+        assertEquals(500.5, histogram.mean(), 0.001);
+        assertBetween(500, histogram.percentile(50), 500 * 9 / 8);
+        assertBetween(990, histogram.percentile(99), 1000);
+        assertEquals(1, histogram.percentile(0));
+        assertEquals(1000, histogram.percentile(100));
+    }
+
+    private static void assertBetween(long min, long actual, long max) {
+        assertTrue(actual >= min && actual <= max, min + " <= " + actual + " <= " + max);
+    }
+}
@@ -0,0 +1,128 @@
+package com.zakgof.actr.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.zakgof.actr.Actr;
+import com.zakgof.actr.IActorRef;
+import com.zakgof.actr.IActorSystem;
+import com.zakgof.actr.IStateStore;
+import com.zakgof.actr.StateStores;
+
+class PassivationTest {
+
+    @Test
+    void idleTimeout() throws InterruptedException {
+        IActorSystem system = Actr.newSystem("idle");
+        CountingStore store = new CountingStore(StateStores.inMemory());
+        IActorRef<Counter> actor = system.<Counter> actorBuilder().constructor(Counter::new).passivation(store, 50).build();
+        actor.tell(Counter::increment);
+        actor.tell(Counter::increment);
+
+        waitFor(() -> store.saves.get() == 1);
+        assertEquals(0, store.loads.get());
+
+        assertEquals(3, actor.ask(Counter::increment).join());
+        assertEquals(1, store.loads.get());
+        system.shutdown().join();
+    }
+
+    @Test
+    void keepsBusyActorActive() throws InterruptedException {
+        IActorSystem system = Actr.newSystem("busy");
+        CountingStore store = new CountingStore(StateStores.inMemory());
+        IActorRef<Counter> actor = system.<Counter> actorBuilder().constructor(Counter::new).passivation(store, 100).build();
+        for (int i = 0; i < 20; i++) {
+            actor.tell(Counter::increment);
+            Thread.sleep(20);
+        }
+        assertEquals(0, store.saves.get());
+        system.shutdown().join();
+    }
+
+    @Test
+    void maxActiveActors() {
+        IActorSystem system = Actr.systemBuilder("lru").maxActiveActors(2).build();
+        CountingStore store = new CountingStore(StateStores.inMemory());
+        List<IActorRef<Counter>> actors = system.<Counter> actorBuilder().constructor(Counter::new).passivation(store, 0).build(5);
+        for (int round = 1; round <= 3; round++) {
+            for (IActorRef<Counter> actor : actors) {
+                assertEquals(round, actor.ask(Counter::increment).join());
+            }
+        }
+        assertTrue(store.saves.get() >= 3, "saves " + store.saves.get());
+        assertTrue(store.loads.get() >= 3, "loads " + store.loads.get());
+        system.shutdown().join();
+    }
+
+    @Test
+    void fileStore() throws IOException, InterruptedException {
+        Path directory = Files.createTempDirectory("actr");
+        IActorSystem system = Actr.newSystem("files");
+        CountingStore store = new CountingStore(StateStores.files(directory));
+        IActorRef<Counter> actor = system.<Counter> actorBuilder().constructor(Counter::new).passivation(store, 20).build();
+        actor.tell(Counter::increment);
+
+        waitFor(() -> store.saves.get() == 1);
+        assertEquals(1L, Files.list(directory).count());
+        assertEquals(2, actor.ask(Counter::increment).join());
+        assertEquals(0L, Files.list(directory).count());
+        system.shutdown().join();
+    }
+
+    private static void waitFor(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "timed out");
+            Thread.sleep(5);
+        }
+    }
+
+    private static class Counter implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private int value;
+
+        private int increment() {
+            return ++value;
+        }
+    }
+
+    private static class CountingStore implements IStateStore<Counter> {
+
+        private final IStateStore<Counter> store;
+        private final AtomicInteger saves = new AtomicInteger();
+        private final AtomicInteger loads = new AtomicInteger();
+
+        private CountingStore(IStateStore<Counter> store) {
+            this.store = store;
+        }
+
+        @Override
+        public void save(long id, Counter state) {
+            store.save(id, state);
+            saves.incrementAndGet();
+        }
+
+        @Override
+        public Counter load(long id) {
+            loads.incrementAndGet();
+            return store.load(id);
+        }
+
+        @Override
+        public void remove(long id) {
+            store.remove(id);
+        }
+    }
+}
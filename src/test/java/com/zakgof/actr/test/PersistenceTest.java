@@ -0,0 +1,397 @@
+package com.zakgof.actr.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+
+import com.zakgof.actr.Actr;
+import com.zakgof.actr.IActorRef;
+import com.zakgof.actr.IActorSystem;
+import com.zakgof.actr.IEventSink;
+import com.zakgof.actr.IJournal;
+import com.zakgof.actr.ISnapshotStore;
+import com.zakgof.actr.Journals;
+import com.zakgof.actr.StateStores;
+
+class PersistenceTest {
+
+    @Test
+    void recovery() throws IOException {
+        Path directory = Files.createTempDirectory("actr");
+
+        IActorSystem system = Actr.newSystem("persistence");
+        IJournal journal = Journals.mapped(directory);
+        IActorRef<Account> account = account(system, journal, "account-1");
+        account.tell(a -> a.deposit(10));
+        account.tell(a -> a.deposit(32));
+        assertEquals(42, account.ask(a -> a.balance).join());
+        assertEquals(5, account(system, journal, "account-2").ask(a -> {
+            a.deposit(5);
+            return a.balance;
+        }).join());
+        system.shutdown().join();
+        journal.close();
+
+        IActorSystem restarted = Actr.newSystem("restarted");
+        IJournal reopened = Journals.mapped(directory);
+        assertEquals(42, account(restarted, reopened, "account-1").ask(a -> a.balance).join());
+        assertEquals(5, account(restarted, reopened, "account-2").ask(a -> a.balance).join());
+        assertEquals(0, account(restarted, reopened, "account-3").ask(a -> a.balance).join());
+        restarted.shutdown().join();
+        reopened.close();
+    }
+
+    @Test
+    void afterCommit() throws IOException {
+        IActorSystem system = Actr.newSystem("commit");
+        IJournal journal = Journals.mapped(Files.createTempDirectory("actr"));
+        List<CompletableFuture<Integer>> balances = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            IActorRef<Account> account = account(system, journal, "account-" + i);
+            balances.add(account.ask((a, reply) -> a.depositDurably(7, reply)));
+        }
+        for (CompletableFuture<Integer> balance : balances) {
+            assertEquals(7, balance.join());
+        }
+        system.shutdown().join();
+        journal.close();
+    }
+
+    @Test
+    void persistOutsideActor() throws IOException {
+        IActorSystem system = Actr.newSystem("outside");
+        IJournal journal = Journals.mapped(Files.createTempDirectory("actr"));
+        IActorRef<Account> account = account(system, journal, "account");
+        Account object = account.ask(a -> a).join();
+        assertThrows(IllegalStateException.class, () -> object.deposit(1));
+        system.shutdown().join();
+        journal.close();
+    }
+
+    @Test
+    void segments() throws IOException {
+        Path directory = Files.createTempDirectory("actr");
+        IJournal journal = Journals.mapped(directory, 1024, 1);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, journal.append("even", new byte[] {(byte) (2 * i)}));
+            journal.append("odd", new byte[] {(byte) (2 * i + 1)});
+        }
+        journal.close();
+        assertTrue(Files.list(directory).count() > 1);
+
+        IJournal reopened = Journals.mapped(directory, 1024, 1);
+        List<Byte> events = new ArrayList<>();
+        assertEquals(1000L, reopened.replay("odd", 990, event -> events.add(event[0])));
+        assertEquals(10, events.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals((byte) (2 * (990 + i) + 1), events.get(i).byteValue());
+        }
+        assertEquals(1000L, reopened.append("even", new byte[] {1}));
+        reopened.close();
+    }
+
+    @Test
+    void rollAfterCommit() throws IOException, InterruptedException {
+        Path directory = Files.createTempDirectory("actr");
+        IJournal journal = Journals.mapped(directory, 1024, 1);
+        // Records of 256 bytes: a fourth one does not fit before the first segment's end marker
+        byte[] event = new byte[256 - 10 - "stream".length()];
+        for (int i = 0; i < 3; i++) {
+            journal.append("stream", event);
+        }
+        CountDownLatch committed = new CountDownLatch(1);
+        journal.commit(committed::countDown);
+        assertTrue(committed.await(5, TimeUnit.SECONDS));
+
+        // The first append after the commit rolls over to the next segment
+        journal.append("stream", event);
+        assertTrue(Files.exists(directory.resolve("journal-00000001.seg")));
+        CountDownLatch rolled = new CountDownLatch(1);
+        journal.commit(rolled::countDown);
+        assertTrue(rolled.await(5, TimeUnit.SECONDS));
+        journal.close();
+
+        // End marker with the continuation flag
+        ByteBuffer marker = ByteBuffer.allocate(10);
+        try (FileChannel channel = FileChannel.open(directory.resolve("journal-00000000.seg"), StandardOpenOption.READ)) {
+            channel.read(marker, 3 * 256);
+        }
+        assertEquals(0, marker.getInt(0));
+        assertEquals(1, marker.get(4));
+
+        IJournal reopened = Journals.mapped(directory, 1024, 1);
+        assertEquals(4L, reopened.replay("stream", 0, e -> {
+        }));
+        assertTrue(Files.exists(directory.resolve("journal-00000001.seg")));
+        reopened.close();
+    }
+
+    @Test
+    void tornWrite() throws IOException {
+        Path directory = Files.createTempDirectory("actr");
+        IJournal journal = Journals.mapped(directory, 4096, 1);
+        journal.append("stream", new byte[] {1, 2, 3});
+        journal.append("stream", new byte[] {4, 5, 6});
+        journal.close();
+
+        // Corrupt the second event's payload
+        try (FileChannel channel = FileChannel.open(directory.resolve("journal-00000000.seg"), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {9}), 2 * 10 + 2 * "stream".length() + 3 + 1);
+        }
+
+        IJournal reopened = Journals.mapped(directory, 4096, 1);
+        List<byte[]> events = new ArrayList<>();
+        assertEquals(1L, reopened.replay("stream", 0, events::add));
+        assertEquals(3, events.get(0)[2]);
+        assertEquals(1L, reopened.append("stream", new byte[] {7}));
+        reopened.close();
+    }
+
+    @Test
+    void snapshotEveryEvents() throws IOException, InterruptedException {
+        IJournal journal = Journals.mapped(Files.createTempDirectory("actr"));
+        RecordingSnapshotStore store = new RecordingSnapshotStore(StateStores.snapshotFiles(Files.createTempDirectory("actr")));
+
+        IActorSystem system = Actr.newSystem("snapshots");
+        IActorRef<Account> account = snapshotted(system, journal, store, 10, 0);
+        for (int i = 0; i < 25; i++) {
+            account.tell(a -> a.deposit(2));
+        }
+        assertEquals(50, account.ask(a -> a.balance).join());
+        waitFor(() -> store.sequences().contains(20L));
+        assertEquals(List.of(10L, 20L), store.sequences());
+
+        IActorSystem restarted = Actr.newSystem("restarted");
+        IActorRef<Account> recovered = snapshotted(restarted, journal, store, 10, 0);
+        assertEquals(50, recovered.ask(a -> a.balance).join());
+        assertEquals(5, recovered.ask(a -> a.applied).join());
+        restarted.shutdown().join();
+        system.shutdown().join();
+        journal.close();
+    }
+
+    @Test
+    void snapshotIntervalAndDestruction() throws IOException, InterruptedException {
+        IJournal journal = Journals.mapped(Files.createTempDirectory("actr"));
+        RecordingSnapshotStore store = new RecordingSnapshotStore(StateStores.snapshotFiles(Files.createTempDirectory("actr")));
+
+        IActorSystem system = Actr.newSystem("interval");
+        IActorRef<Account> account = snapshotted(system, journal, store, 0, 20);
+        account.tell(a -> {
+            a.deposit(1);
+            a.deposit(2);
+        });
+        waitFor(() -> store.sequences().contains(2L));
+        account.tell(a -> a.deposit(3));
+        account.close();
+        waitFor(() -> store.sequences().contains(3L));
+        assertEquals(List.of(2L, 3L), store.sequences());
+
+        IActorRef<Account> recovered = snapshotted(system, journal, store, 0, 0);
+        assertEquals(6, recovered.ask(a -> a.balance).join());
+        assertEquals(0, recovered.ask(a -> a.applied).join());
+        system.shutdown().join();
+        journal.close();
+    }
+
+    @Test
+    void snapshotWaitsForJournalCommit() throws IOException, InterruptedException {
+        CrashingJournal journal = new CrashingJournal();
+        RecordingSnapshotStore store = new RecordingSnapshotStore(StateStores.snapshotFiles(Files.createTempDirectory("actr")));
+
+        IActorSystem system = Actr.newSystem("uncommitted");
+        IActorRef<Account> account = snapshotted(system, journal, store, 10, 0);
+        for (int i = 0; i < 5; i++) {
+            account.tell(a -> a.deposit(2));
+        }
+        assertEquals(10, account.ask(a -> a.balance).join());
+        journal.force();
+        for (int i = 0; i < 20; i++) {
+            account.tell(a -> a.deposit(2));
+        }
+        assertEquals(50, account.ask(a -> a.balance).join());
+        Thread.sleep(100);
+        assertEquals(List.of(), store.sequences());
+
+        // Crash: the unforced journal tail is lost, recovery must not find a snapshot ahead of it
+        IActorSystem restarted = Actr.newSystem("crashed");
+        IActorRef<Account> recovered = snapshotted(restarted, journal.crash(), store, 10, 0);
+        assertEquals(10, recovered.ask(a -> a.balance).join());
+        assertEquals(5, recovered.ask(a -> a.applied).join());
+        restarted.shutdown().join();
+
+        journal.force();
+        waitFor(() -> store.sequences().contains(20L));
+        assertEquals(List.of(10L, 20L), store.sequences());
+        system.shutdown().join();
+    }
+
+    @Test
+    void journalBehindSnapshot() throws IOException, InterruptedException {
+        CrashingJournal journal = new CrashingJournal();
+        RecordingSnapshotStore store = new RecordingSnapshotStore(StateStores.snapshotFiles(Files.createTempDirectory("actr")));
+        IActorSystem system = Actr.newSystem("behind");
+        IActorRef<Account> account = snapshotted(system, journal, store, 10, 0);
+        for (int i = 0; i < 10; i++) {
+            account.tell(a -> a.deposit(2));
+        }
+        assertEquals(20, account.ask(a -> a.balance).join());
+        journal.force();
+        waitFor(() -> store.sequences().contains(10L));
+
+        assertThrows(IllegalStateException.class, () -> snapshotted(system, journal.truncate(5), store, 10, 0));
+        system.shutdown().join();
+    }
+
+    private static IActorRef<Account> snapshotted(IActorSystem system, IJournal journal, ISnapshotStore store, int everyEvents, long intervalMs) {
+        return system.<Account, Integer> persistentActorBuilder()
+            .persistenceId("account")
+            .journal(journal)
+            .constructor(Account::new)
+            .eventHandler(Account::apply)
+            .snapshots(store, a -> a.balance, Account::new, everyEvents, intervalMs)
+            .build();
+    }
+
+    private static IActorRef<Account> account(IActorSystem system, IJournal journal, String id) {
+        return system.<Account, Integer> persistentActorBuilder()
+            .persistenceId(id)
+            .journal(journal)
+            .constructor(Account::new)
+            .eventHandler(Account::apply)
+            .build();
+    }
+
+    private static class Account {
+        private final IEventSink<Integer> events;
+        private int balance;
+        private int applied;
+
+        Account(IEventSink<Integer> events) {
+            this.events = events;
+        }
+
+        Account(IEventSink<Integer> events, int balance) {
+            this.events = events;
+            this.balance = balance;
+        }
+
+        void deposit(int amount) {
+            events.persist(amount);
+        }
+
+        void depositDurably(int amount, Consumer<Integer> reply) {
+            events.persist(amount, () -> reply.accept(balance));
+        }
+
+        void apply(Integer amount) {
+            balance += amount;
+            applied++;
+        }
+    }
+
+    private static class RecordingSnapshotStore implements ISnapshotStore {
+        private final ISnapshotStore store;
+        private final List<Long> sequences = new CopyOnWriteArrayList<>();
+
+        RecordingSnapshotStore(ISnapshotStore store) {
+            this.store = store;
+        }
+
+        @Override
+        public void save(String persistenceId, long sequence, byte[] snapshot) {
+            store.save(persistenceId, sequence, snapshot);
+            sequences.add(sequence);
+        }
+
+        @Override
+        public Snapshot load(String persistenceId) {
+            return store.load(persistenceId);
+        }
+
+        List<Long> sequences() {
+            return sequences;
+        }
+    }
+
+    /**
+     * In-memory journal that makes events durable and runs commit callbacks only when forced. A crash leaves a journal with the durable events only.
+     */
+    private static class CrashingJournal implements IJournal {
+        private final List<byte[]> durable = new ArrayList<>();
+        private final List<byte[]> tail = new ArrayList<>();
+        private final List<Runnable> callbacks = new ArrayList<>();
+
+        @Override
+        public synchronized long append(String persistenceId, byte[] event) {
+            tail.add(event);
+            return durable.size() + tail.size() - 1;
+        }
+
+        @Override
+        public synchronized long replay(String persistenceId, long fromSequence, Consumer<byte[]> consumer) {
+            List<byte[]> events = new ArrayList<>(durable);
+            events.addAll(tail);
+            for (int i = (int) fromSequence; i < events.size(); i++) {
+                consumer.accept(events.get(i));
+            }
+            return events.size();
+        }
+
+        @Override
+        public synchronized void commit(Runnable callback) {
+            callbacks.add(callback);
+        }
+
+        void force() {
+            List<Runnable> committed;
+            synchronized (this) {
+                durable.addAll(tail);
+                tail.clear();
+                committed = new ArrayList<>(callbacks);
+                callbacks.clear();
+            }
+            committed.forEach(Runnable::run);
+        }
+
+        synchronized CrashingJournal crash() {
+            return truncate(durable.size());
+        }
+
+        synchronized CrashingJournal truncate(int events) {
+            CrashingJournal survivor = new CrashingJournal();
+            survivor.durable.addAll(durable.subList(0, events));
+            return survivor;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "timed out");
+            Thread.sleep(5);
+        }
+    }
+
+}
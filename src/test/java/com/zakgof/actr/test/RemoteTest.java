@@ -0,0 +1,325 @@
+package com.zakgof.actr.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.zakgof.actr.Actr;
+import com.zakgof.actr.IActorRef;
+import com.zakgof.actr.IActorSystem;
+import com.zakgof.actr.IRemoteCodec;
+import com.zakgof.actr.IRemoteEndpoint;
+import com.zakgof.actr.IStreamSink;
+import com.zakgof.actr.Remoting;
+import com.zakgof.actr.Schedulers;
+
+class RemoteTest {
+
+    private static final long STREAM_ELEMENTS = 10_000;
+    private static final int CHUNK_SIZE = 64;
+    private static final IRemoteCodec CODEC = Remoting.javaSerialization("com.zakgof.actr.test.RemoteTest");
+
+    private IActorSystem serverSystem;
+    private IActorSystem clientSystem;
+    private IRemoteEndpoint server;
+    private IRemoteEndpoint client;
+    private IActorRef<Counter> counter;
+
+    @BeforeEach
+    void setUp() {
+        serverSystem = Actr.newSystem("server");
+        clientSystem = Actr.newSystem("client");
+        server = Remoting.endpoint(serverSystem, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), CODEC);
+        server.expose("counter", serverSystem.actorOf(Counter::new));
+        client = Remoting.endpoint(clientSystem);
+        counter = client.actor(server.address(), "counter");
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+        server.close();
+        clientSystem.shutdown().join();
+        serverSystem.shutdown().join();
+    }
+
+    @Test
+    void tellInOrder() {
+        for (int i = 0; i < 10000; i++) {
+            int value = i;
+            counter.tell(Remoting.command(c -> c.append(value)));
+        }
+        assertEquals(10000L, counter.ask(Remoting.query(Counter::count)).join());
+        assertEquals(Boolean.TRUE, counter.ask(Remoting.query(Counter::ordered)).join());
+    }
+
+    @Test
+    void askFromActor() throws Exception {
+        IActorRef<Object> caller = clientSystem.actorOf(Object::new);
+        CompletableFuture<Object> callbackActor = new CompletableFuture<>();
+        caller.tell(c -> counter.ask(Remoting.query(Counter::count), count -> callbackActor.complete(Actr.current())));
+        assertSame(caller, callbackActor.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void largeMessage() {
+        byte[] data = new byte[1 << 20];
+        data[data.length - 1] = 42;
+        counter.tell(Remoting.command(c -> c.append(data[data.length - 1])));
+        assertEquals(42L, counter.ask(Remoting.query(Counter::last)).join());
+    }
+
+    @Test
+    void frameSizeLimit() throws Exception {
+        IRemoteEndpoint limited = Remoting.endpoint(serverSystem, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), CODEC, 64 << 10);
+        limited.expose("counter", serverSystem.actorOf(Counter::new));
+        IActorRef<Counter> remote = client.actor(limited.address(), "counter");
+        byte[] data = new byte[1 << 20];
+
+        // The receiving endpoint closes the connection instead of allocating the frame
+        ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> remote.ask(Remoting.query(c -> (long) data.length)).get(5, TimeUnit.SECONDS));
+        assertTrue(exception.getCause() instanceof IOException);
+        assertEquals(0L, remote.ask(Remoting.query(Counter::count)).get(5, TimeUnit.SECONDS));
+
+        // Results too large to send back fail the ask
+        exception = assertThrows(ExecutionException.class,
+                () -> remote.ask(Remoting.query(c -> new byte[1 << 20])).get(5, TimeUnit.SECONDS));
+        assertTrue(exception.getCause() instanceof IllegalArgumentException);
+
+        // The sending endpoint rejects the message
+        IRemoteEndpoint limitedClient = Remoting.endpoint(clientSystem, null, CODEC, 64 << 10);
+        IActorRef<Counter> limitedCounter = limitedClient.actor(server.address(), "counter");
+        assertThrows(IllegalArgumentException.class, () -> limitedCounter.tell(Remoting.command(c -> c.append(data.length))));
+        assertThrows(IllegalArgumentException.class, () -> limitedCounter.ask(Remoting.query(c -> (long) data.length)));
+        assertEquals(0L, limitedCounter.ask(Remoting.query(Counter::count)).get(5, TimeUnit.SECONDS));
+
+        limitedClient.close();
+        limited.close();
+    }
+
+    @Test
+    void failure() {
+        ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> counter.ask(Remoting.query(c -> c.fail())).get(5, TimeUnit.SECONDS));
+        assertTrue(exception.getCause() instanceof IllegalStateException);
+    }
+
+    @Test
+    void unknownActor() {
+        IActorRef<Counter> unknown = client.actor(server.address(), "unknown");
+        ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> unknown.ask(Remoting.query(Counter::count)).get(5, TimeUnit.SECONDS));
+        assertTrue(exception.getCause() instanceof IllegalArgumentException);
+    }
+
+    @Test
+    void notSerializable() {
+        assertThrows(IllegalArgumentException.class, () -> counter.tell(c -> c.append(1)));
+    }
+
+    @Test
+    void disallowedClassRejected() {
+        InetSocketAddress notAllowed = new InetSocketAddress(InetAddress.getLoopbackAddress(), 1);
+        counter.tell(Remoting.command(c -> c.append(notAllowed.getPort())));
+        ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> counter.ask(Remoting.query(c -> notAllowed.getPort())).get(5, TimeUnit.SECONDS));
+        assertTrue(exception.getCause() instanceof UncheckedIOException);
+        assertTrue(exception.getCause().getCause() instanceof InvalidClassException);
+
+        // Lambdas are decoded through their declaring class, which must be allowed too
+        exception = assertThrows(ExecutionException.class, () -> counter.ask(Untrusted.count()).get(5, TimeUnit.SECONDS));
+        assertTrue(exception.getCause().getCause() instanceof InvalidClassException);
+        assertEquals(0L, counter.ask(Remoting.query(Counter::count)).join());
+    }
+
+    @Test
+    void closedEndpoint() {
+        assertTrue(counter.tryTell(Remoting.command(c -> c.append(1))));
+        assertEquals(1L, counter.ask(Remoting.query(Counter::count)).join());
+        client.close();
+        assertFalse(counter.tryTell(Remoting.command(c -> c.append(2))));
+        assertThrows(IllegalStateException.class, () -> counter.tell(Remoting.command(c -> c.append(3))));
+    }
+
+    @Test
+    void connectionRefused() {
+        IRemoteEndpoint closed = Remoting.endpoint(serverSystem, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), CODEC);
+        InetSocketAddress address = closed.address();
+        closed.close();
+        IActorRef<Counter> refused = client.actor(address, "counter");
+        ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> refused.ask(Remoting.query(Counter::count)).get(5, TimeUnit.SECONDS));
+        assertTrue(exception.getCause() instanceof IOException);
+    }
+
+    @Test
+    void askTimeout() {
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> counter.ask(Remoting.query(c -> {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(300));
+            return c.count();
+        }), 50).get(5, TimeUnit.SECONDS));
+        assertTrue(exception.getCause() instanceof TimeoutException);
+        assertEquals(0L, counter.ask(Remoting.query(Counter::count), 5000).join());
+    }
+
+    @Test
+    void later() throws Exception {
+        counter.later(Remoting.command(c -> c.append(7)), 50);
+        long start = System.currentTimeMillis();
+        while (counter.ask(Remoting.query(Counter::count)).join() == 0L) {
+            assertTrue(System.currentTimeMillis() - start < 5000);
+            Thread.sleep(10);
+        }
+        assertEquals(7L, counter.ask(Remoting.query(Counter::last)).join());
+    }
+
+    @Test
+    void streamToActor() throws Exception {
+        IActorRef<Object> caller = clientSystem.actorOf(Object::new);
+        CompletableFuture<Long> received = new CompletableFuture<>();
+        caller.tell(c -> {
+            long[] count = new long[1];
+            boolean[] ordered = { true };
+            counter.<Long> askStream(Remoting.stream((c2, sink) -> c2.scan(STREAM_ELEMENTS, sink)), element -> {
+                ordered[0] &= element == count[0] && Actr.current() == caller;
+                count[0]++;
+            }, CHUNK_SIZE).thenRun(() -> received.complete(ordered[0] ? count[0] : -1));
+        });
+        assertEquals(STREAM_ELEMENTS, received.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void streamBackpressure() throws Exception {
+        // Blocking caller gets its own thread, so that the server actor keeps running
+        IActorRef<Object> caller = clientSystem.<Object> actorBuilder()
+            .constructor(Object::new)
+            .scheduler(Schedulers.newThreadPerActorScheduler())
+            .build();
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicLong count = new AtomicLong();
+        CompletableFuture<Void> stream = new CompletableFuture<>();
+        caller.tell(c -> counter.<Long> askStream(Remoting.stream((c2, sink) -> c2.scan(STREAM_ELEMENTS, sink)), element -> {
+            await(release);
+            count.incrementAndGet();
+        }, CHUNK_SIZE).thenRun(() -> stream.complete(null)));
+        Thread.sleep(200);
+        long pushed = counter.ask(Remoting.query(c -> c.pushed)).join();
+        assertTrue(pushed <= 2 * CHUNK_SIZE, "Pushed ahead: " + pushed);
+        release.countDown();
+        stream.get(5, TimeUnit.SECONDS);
+        assertEquals(STREAM_ELEMENTS, count.get());
+    }
+
+    @Test
+    void streamFailure() {
+        CompletableFuture<Void> stream = counter.<Long> askStream(Remoting.stream((c, sink) -> sink.onDemand(demand -> {
+            sink.next(1L);
+            throw new IllegalStateException("broken");
+        })), element -> {
+        });
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> stream.get(5, TimeUnit.SECONDS));
+        assertTrue(exception.getCause() instanceof IllegalStateException);
+        assertEquals("broken", exception.getCause().getMessage());
+
+        IActorRef<Counter> unknown = client.actor(server.address(), "unknown");
+        exception = assertThrows(ExecutionException.class,
+                () -> unknown.<Long> askStream(Remoting.stream((c, sink) -> c.scan(1, sink)), element -> {
+                }).get(5, TimeUnit.SECONDS));
+        assertTrue(exception.getCause() instanceof IllegalArgumentException);
+    }
+
+    @Test
+    void streamCancel() throws Exception {
+        CompletableFuture<Void> started = new CompletableFuture<>();
+        AtomicLong count = new AtomicLong();
+        CompletableFuture<Void> stream = counter.<Long> askStream(Remoting.stream((c, sink) -> c.scan(STREAM_ELEMENTS, sink)), element -> {
+            if (count.incrementAndGet() == 10)
+                started.complete(null);
+        }, CHUNK_SIZE);
+        started.get(5, TimeUnit.SECONDS);
+        stream.cancel(false);
+        long start = System.currentTimeMillis();
+        while (!counter.ask(Remoting.query(c -> c.sink.isCancelled())).join()) {
+            assertTrue(System.currentTimeMillis() - start < 5000);
+            Thread.sleep(10);
+        }
+        assertTrue(counter.ask(Remoting.query(c -> c.pushed)).join() < STREAM_ELEMENTS);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class Untrusted {
+        static Function<Counter, Long> count() {
+            return Remoting.query(Counter::count);
+        }
+    }
+
+    private static class Counter {
+
+        private long count;
+        private long last = -1;
+        private boolean ordered = true;
+        private long pushed;
+        private IStreamSink<Long> sink;
+
+        private void append(long value) {
+            ordered &= value == last + 1 || count == 0;
+            last = value;
+            count++;
+        }
+
+        private void scan(long elements, IStreamSink<Long> sink) {
+            this.sink = sink;
+            sink.onDemand(demand -> {
+                for (long i = 0; i < demand && pushed < elements; i++) {
+                    sink.next(pushed++);
+                }
+                if (pushed == elements)
+                    sink.complete();
+            });
+        }
+
+        private long count() {
+            return count;
+        }
+
+        private long last() {
+            return last;
+        }
+
+        private boolean ordered() {
+            return ordered;
+        }
+
+        private long fail() {
+            throw new IllegalStateException("Failed");
+        }
+    }
+}
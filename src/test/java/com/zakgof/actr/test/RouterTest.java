@@ -0,0 +1,158 @@
+package com.zakgof.actr.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+
+import com.zakgof.actr.Actr;
+import com.zakgof.actr.IActorRef;
+import com.zakgof.actr.IActorRouter;
+import com.zakgof.actr.IActorScheduler;
+import com.zakgof.actr.IActorSystem;
+import com.zakgof.actr.RoutingStrategy;
+import com.zakgof.actr.Schedulers;
+
+class RouterTest {
+
+    @Test
+    void roundRobin() {
+        IActorSystem system = Actr.newSystem("roundrobin");
+        IActorRouter<Worker> router = system.router(system.<Worker> actorBuilder().constructor(Worker::new), RoutingStrategy.ROUND_ROBIN, 4);
+        for (int i = 0; i < 8; i++) {
+            router.tell(Worker::work);
+        }
+        for (IActorRef<Worker> routee : router.routees()) {
+            assertEquals(2, routee.ask(w -> w.messages).join());
+        }
+        system.shutdown().join();
+    }
+
+    @Test
+    void smallestMailbox() throws InterruptedException {
+        IActorScheduler scheduler = Schedulers.newThreadPerActorScheduler();
+        IActorSystem system = Actr.newSystem("smallest", scheduler);
+        IActorRouter<Worker> router = system.router(system.<Worker> actorBuilder().constructor(Worker::new), RoutingStrategy.SMALLEST_MAILBOX, 2);
+        IActorRef<Worker> busy = router.routees().get(0);
+        IActorRef<Worker> idle = router.routees().get(1);
+
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        for (IActorRef<Worker> routee : router.routees()) {
+            routee.tell(w -> {
+                started.countDown();
+                await(release);
+            });
+        }
+        started.await();
+        for (int i = 0; i < 3; i++) {
+            busy.tell(w -> {
+            });
+        }
+        for (int i = 0; i < 3; i++) {
+            router.tell(Worker::work);
+        }
+        release.countDown();
+
+        assertEquals(0, busy.ask(w -> w.messages).join());
+        assertEquals(3, idle.ask(w -> w.messages).join());
+        system.shutdown().join();
+        scheduler.close();
+    }
+
+    @Test
+    void consistentHash() {
+        IActorSystem system = Actr.newSystem("hash");
+        IActorRouter<Worker> router = system.router(system.<Worker> actorBuilder().constructor(Worker::new).name("worker"), RoutingStrategy.CONSISTENT_HASH, 4);
+        Map<Integer, String> owners = owners(router);
+        assertEquals(owners, owners(router));
+        for (int routee = 0; routee < 4; routee++) {
+            assertTrue(owners.containsValue("worker-" + routee), "worker-" + routee + " owns no keys");
+        }
+
+        router.resize(5);
+        Map<Integer, String> resized = owners(router);
+        int moved = 0;
+        for (Integer key : owners.keySet()) {
+            if (!owners.get(key).equals(resized.get(key))) {
+                assertEquals("worker-4", resized.get(key));
+                moved++;
+            }
+        }
+        assertTrue(moved > 50 && moved < 400, "moved " + moved);
+        system.shutdown().join();
+    }
+
+    @Test
+    void resize() {
+        IActorSystem system = Actr.newSystem("resize");
+        IActorRouter<Worker> router = system.router(system.<Worker> actorBuilder().constructor(Worker::new).name("worker"), RoutingStrategy.RANDOM, 2);
+        router.resize(4);
+        assertEquals(4, router.routees().size());
+        assertEquals("[resize:worker-3]", router.routees().get(3).toString());
+
+        List<IActorRef<Worker>> before = router.routees();
+        router.resize(1);
+        assertEquals(List.of(before.get(0)), router.routees());
+        for (int i = 0; i < 10; i++) {
+            router.tell(Worker::work);
+        }
+        assertEquals(10, router.ask(w -> w.messages).join());
+        system.shutdown().join();
+    }
+
+    @Test
+    void resizeKeepsNamesUnique() {
+        IActorSystem system = Actr.systemBuilder("unique").uniqueNames().build();
+        IActorRouter<Worker> router = system.router(system.<Worker> actorBuilder().constructor(Worker::new).name("worker"), RoutingStrategy.ROUND_ROBIN, 3);
+        router.resize(1);
+        router.resize(3);
+        assertEquals("[unique:worker-3]", router.routees().get(1).toString());
+        assertEquals("[unique:worker-4]", router.routees().get(2).toString());
+        assertEquals(router.routees().get(2), system.lookup("worker-4"));
+        system.shutdown().join();
+    }
+
+    @Test
+    void closedRouterRejectsMessages() {
+        IActorSystem system = Actr.newSystem("closed");
+        IActorRouter<Worker> router = system.router(system.<Worker> actorBuilder().constructor(Worker::new), RoutingStrategy.CONSISTENT_HASH, 2);
+        router.close();
+        assertThrows(IllegalStateException.class, () -> router.tell(Worker::work));
+        assertThrows(IllegalStateException.class, () -> router.tellKeyed(1, Worker::work));
+        assertThrows(IllegalStateException.class, () -> router.ask(w -> w.messages));
+        assertThrows(IllegalStateException.class, () -> router.resize(3));
+        router.close();
+        system.shutdown().join();
+    }
+
+    private static Map<Integer, String> owners(IActorRouter<Worker> router) {
+        Map<Integer, String> owners = new HashMap<>();
+        for (int key = 0; key < 1000; key++) {
+            owners.put(key, router.askKeyed(key, w -> Actr.current().toString()).join().replaceAll(".*:(.*)]", "$1"));
+        }
+        return owners;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class Worker {
+        private int messages;
+
+        void work() {
+            messages++;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.zakgof.actr.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.Test;
+
+import com.zakgof.actr.Actr;
+import com.zakgof.actr.IActorSystem;
+import com.zakgof.actr.IShardedActors;
+
+class ShardedActorsTest {
+
+    @Test
+    void createsOnFirstUse() {
+        IActorSystem system = Actr.newSystem("sharded");
+        AtomicInteger created = new AtomicInteger();
+        IShardedActors<Integer, Entity> entities = system.sharded(key -> new Entity(key, created), 60_000);
+        for (int round = 1; round <= 3; round++) {
+            for (int key = 0; key < 100; key++) {
+                entities.tell(key, Entity::touch);
+            }
+        }
+        for (int key = 0; key < 100; key++) {
+            int k = key;
+            assertEquals(k, entities.ask(key, e -> e.key).join());
+            assertEquals(3, entities.ask(key, e -> e.messages).join());
+        }
+        assertEquals(100, entities.size());
+        assertEquals(100, created.get());
+        entities.close();
+        system.shutdown().join();
+    }
+
+    @Test
+    void concurrentCreation() throws InterruptedException {
+        IActorSystem system = Actr.newSystem("race");
+        AtomicInteger created = new AtomicInteger();
+        IShardedActors<Integer, Entity> entities = system.sharded(key -> new Entity(key, created), 60_000);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    entities.tell(i % 10, Entity::touch);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        int total = 0;
+        for (int key = 0; key < 10; key++) {
+            total += entities.ask(key, e -> e.messages).join();
+        }
+        assertEquals(4000, total);
+        assertEquals(10, created.get());
+        system.shutdown().join();
+    }
+
+    @Test
+    void evictsIdle() throws InterruptedException {
+        IActorSystem system = Actr.systemBuilder("evict").timerTick(5).build();
+        AtomicInteger created = new AtomicInteger();
+        IShardedActors<String, Entity> entities = system.sharded(key -> new Entity(0, created), 50);
+        entities.tell("idle", Entity::touch);
+        assertEquals(1, entities.size());
+
+        waitFor(() -> entities.size() == 0);
+        assertEquals(0, entities.ask("idle", e -> e.messages).join());
+        assertEquals(2, created.get());
+        system.shutdown().join();
+    }
+
+    @Test
+    void keepsActiveEvictsIdle() throws InterruptedException {
+        IActorSystem system = Actr.systemBuilder("evict-active").timerTick(5).build();
+        AtomicInteger busyCreated = new AtomicInteger();
+        AtomicInteger idleCreated = new AtomicInteger();
+        IShardedActors<String, Entity> entities = system.sharded(key -> new Entity(0, key.equals("busy") ? busyCreated : idleCreated), 50);
+        entities.tell("idle", Entity::touch);
+        // The busy key is used in every sweep epoch, and is skipped by the sweeps of the epochs it was used in before
+        long end = System.currentTimeMillis() + 500;
+        while (System.currentTimeMillis() < end) {
+            entities.tell("busy", Entity::touch);
+            Thread.sleep(5);
+        }
+        waitFor(() -> entities.size() == 1);
+        assertEquals(1, busyCreated.get());
+        assertEquals(1, idleCreated.get());
+        system.shutdown().join();
+    }
+
+    @Test
+    void noMessagesLostToEviction() throws InterruptedException {
+        IActorSystem system = Actr.systemBuilder("churn").timerTick(1).build();
+        AtomicInteger processed = new AtomicInteger();
+        IShardedActors<Integer, Entity> entities = system.sharded(key -> new Entity(key, new AtomicInteger()), 2);
+        int sent = 0;
+        for (int i = 0; i < 200; i++) {
+            for (int key = 0; key < 50; key++) {
+                entities.tell(key, e -> processed.incrementAndGet());
+                sent++;
+            }
+            if (i % 20 == 0) {
+                Thread.sleep(10);
+            }
+        }
+        int expected = sent;
+        waitFor(() -> processed.get() == expected);
+        system.shutdown().join();
+    }
+
+    @Test
+    void closeDisposesEntriesWithSendersInFlight() throws InterruptedException {
+        IActorSystem system = Actr.newSystem("close");
+        CountDownLatch constructing = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+        AtomicInteger delivered = new AtomicInteger();
+        IShardedActors<Integer, Entity> entities = system.sharded(key -> {
+            if (key == 1) {
+                constructing.countDown();
+                await(proceed);
+            }
+            return new Entity(key, new AtomicInteger());
+        }, 60_000);
+        entities.tell(0, Entity::touch);
+        Thread sender = new Thread(() -> entities.tell(1, e -> delivered.incrementAndGet()));
+        sender.start();
+        constructing.await();
+        // The entry being created has no live actor yet
+        assertEquals(1, entities.size());
+
+        entities.close();
+        proceed.countDown();
+        sender.join();
+        waitFor(() -> delivered.get() == 1);
+        assertEquals(0, entities.size());
+        system.shutdown().join();
+    }
+
+    @Test
+    void closeRacingShutdown() {
+        for (int round = 0; round < 20; round++) {
+            IActorSystem system = Actr.newSystem("close-shutdown");
+            IShardedActors<Integer, Entity> entities = system.sharded(key -> new Entity(key, new AtomicInteger()), 60_000);
+            for (int key = 0; key < 10; key++) {
+                // Keeps the actors busy, so that shutdown finds them still being disposed by close
+                entities.tell(key, e -> sleep(5));
+            }
+            entities.close();
+            system.shutdown().orTimeout(5, TimeUnit.SECONDS).join();
+        }
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "timed out");
+            Thread.sleep(5);
+        }
+    }
+
+    private static class Entity {
+        private final int key;
+        private int messages;
+
+        Entity(int key, AtomicInteger created) {
+            this.key = key;
+            created.incrementAndGet();
+        }
+
+        void touch() {
+            messages++;
+        }
+    }
+}
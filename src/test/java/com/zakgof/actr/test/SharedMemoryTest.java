@@ -0,0 +1,264 @@
+package com.zakgof.actr.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.zakgof.actr.Actr;
+import com.zakgof.actr.IActorRef;
+import com.zakgof.actr.IActorSystem;
+import com.zakgof.actr.ISharedMemoryLink;
+import com.zakgof.actr.IStreamSink;
+import com.zakgof.actr.Remoting;
+
+class SharedMemoryTest {
+
+    private static final int RING_SIZE = 4096;
+
+    private Path directory;
+    private IActorSystem system;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("actr");
+        system = Actr.newSystem("shm");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        system.shutdown().join();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    private ISharedMemoryLink link(String outbound, String inbound) {
+        return Remoting.sharedMemory(system, directory.resolve(outbound), directory.resolve(inbound), RING_SIZE, Remoting.javaSerialization());
+    }
+
+    @Test
+    void tellInOrderAcrossWraps() {
+        try (ISharedMemoryLink server = link("b", "a"); ISharedMemoryLink client = link("a", "b")) {
+            server.expose("counter", system.actorOf(Counter::new));
+            IActorRef<Counter> counter = client.actor("counter");
+            for (int i = 0; i < 5000; i++) {
+                int value = i;
+                counter.tell(Remoting.command(c -> c.append(value)));
+            }
+            assertEquals(5000L, counter.ask(Remoting.query(Counter::count)).join());
+            assertEquals(Boolean.TRUE, counter.ask(Remoting.query(Counter::ordered)).join());
+        }
+    }
+
+    @Test
+    void largeMessage() {
+        try (ISharedMemoryLink server = link("b", "a"); ISharedMemoryLink client = link("a", "b")) {
+            server.expose("counter", system.actorOf(Counter::new));
+            IActorRef<Counter> counter = client.actor("counter");
+            byte[] fits = new byte[RING_SIZE / 2];
+            fits[0] = 5;
+            counter.tell(Remoting.command(c -> c.append(fits[0])));
+            assertEquals(5L, counter.ask(Remoting.query(Counter::last)).join());
+            byte[] tooLarge = new byte[RING_SIZE];
+            assertThrows(IllegalArgumentException.class, () -> counter.tell(Remoting.command(c -> c.append(tooLarge[0]))));
+        }
+    }
+
+    @Test
+    void streamAcrossWraps() throws Exception {
+        try (ISharedMemoryLink server = link("b", "a"); ISharedMemoryLink client = link("a", "b")) {
+            server.expose("counter", system.actorOf(Counter::new));
+            IActorRef<Counter> counter = client.actor("counter");
+            List<Long> received = new ArrayList<>();
+            counter.<Long> askStream(Remoting.stream((c, sink) -> c.scan(5000, sink)), received::add, 16).get(5, TimeUnit.SECONDS);
+            assertEquals(5000, received.size());
+            for (int i = 0; i < received.size(); i++)
+                assertEquals(i, received.get(i));
+        }
+    }
+
+    @Test
+    void failure() {
+        try (ISharedMemoryLink server = link("b", "a"); ISharedMemoryLink client = link("a", "b")) {
+            server.expose("counter", system.actorOf(Counter::new));
+            IActorRef<Counter> counter = client.actor("counter");
+            ExecutionException exception = assertThrows(ExecutionException.class,
+                    () -> counter.ask(Remoting.query(c -> c.fail())).get(5, TimeUnit.SECONDS));
+            assertTrue(exception.getCause() instanceof IllegalStateException);
+            IActorRef<Counter> unknown = client.actor("unknown");
+            exception = assertThrows(ExecutionException.class, () -> unknown.ask(Remoting.query(Counter::count)).get(5, TimeUnit.SECONDS));
+            assertTrue(exception.getCause() instanceof IllegalArgumentException);
+        }
+    }
+
+    @Test
+    void messagesKeptWhileReaderStopped() {
+        try (ISharedMemoryLink client = link("a", "b")) {
+            IActorRef<Counter> counter = client.actor("counter");
+            for (int i = 0; i < 3; i++) {
+                int value = i;
+                counter.tell(Remoting.command(c -> c.append(value)));
+            }
+            try (ISharedMemoryLink server = link("b", "a")) {
+                server.expose("counter", system.actorOf(Counter::new));
+                assertEquals(3L, counter.ask(Remoting.query(Counter::count)).join());
+            }
+        }
+    }
+
+    @Test
+    void repliesToPreviousProcessDropped() {
+        try (ISharedMemoryLink server = link("b", "a")) {
+            server.expose("counter", system.actorOf(Counter::new));
+            try (ISharedMemoryLink previous = link("a", "b")) {
+                IActorRef<Counter> counter = previous.actor("counter");
+                for (int i = 0; i < 20; i++) {
+                    counter.ask(Remoting.query(c -> slow("first")));
+                }
+            }
+            try (ISharedMemoryLink client = link("a", "b")) {
+                IActorRef<Counter> counter = client.actor("counter");
+                List<CompletableFuture<String>> results = new ArrayList<>();
+                for (int i = 0; i < 20; i++) {
+                    results.add(counter.ask(Remoting.query(c -> "second")));
+                }
+                for (CompletableFuture<String> result : results) {
+                    assertEquals("second", result.join());
+                }
+            }
+        }
+    }
+
+    private static String slow(String value) {
+        try {
+            Thread.sleep(10);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return value;
+    }
+
+    @Test
+    void readersDoNotWaitForFullRings() throws Exception {
+        try (ISharedMemoryLink left = link("b", "a"); ISharedMemoryLink right = link("a", "b")) {
+            ExecutorService executor = Executors.newFixedThreadPool(2);
+            try {
+                Future<List<CompletableFuture<Long>>> leftAsks = executor.submit(() -> askUnknown(left));
+                Future<List<CompletableFuture<Long>>> rightAsks = executor.submit(() -> askUnknown(right));
+                for (Future<List<CompletableFuture<Long>>> asks : List.of(leftAsks, rightAsks)) {
+                    for (CompletableFuture<Long> result : asks.get(10, TimeUnit.SECONDS)) {
+                        ExecutionException exception = assertThrows(ExecutionException.class, () -> result.get(10, TimeUnit.SECONDS));
+                        assertTrue(exception.getCause() instanceof IllegalArgumentException);
+                    }
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    private static List<CompletableFuture<Long>> askUnknown(ISharedMemoryLink link) {
+        IActorRef<Counter> unknown = link.actor("unknown");
+        List<CompletableFuture<Long>> results = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            results.add(unknown.ask(Remoting.query(Counter::count)));
+        }
+        return results;
+    }
+
+    @Test
+    void ringFilesOwnerOnly() throws IOException {
+        assumeTrue(directory.getFileSystem().supportedFileAttributeViews().contains("posix"));
+        try (ISharedMemoryLink client = link("a", "b")) {
+            Set<PosixFilePermission> expected = EnumSet.of(PosixFilePermission.OWNER_READ, PosixFilePermission.OWNER_WRITE);
+            assertEquals(expected, Files.getPosixFilePermissions(directory.resolve("a")));
+            assertEquals(expected, Files.getPosixFilePermissions(directory.resolve("b")));
+        }
+    }
+
+    @Test
+    void rejectsRingAccessibleToOthers() throws IOException {
+        assumeTrue(directory.getFileSystem().supportedFileAttributeViews().contains("posix"));
+        Files.createFile(directory.resolve("b"));
+        Files.setPosixFilePermissions(directory.resolve("b"), PosixFilePermissions.fromString("rw-rw-rw-"));
+        UncheckedIOException exception = assertThrows(UncheckedIOException.class, () -> link("a", "b"));
+        assertTrue(exception.getCause() instanceof AccessDeniedException);
+    }
+
+    @Test
+    void rejectsSymbolicLink() throws IOException {
+        Path target = Files.createFile(directory.resolve("target"));
+        try {
+            Files.createSymbolicLink(directory.resolve("b"), target);
+        } catch (UnsupportedOperationException e) {
+            assumeTrue(false);
+        }
+        UncheckedIOException exception = assertThrows(UncheckedIOException.class, () -> link("a", "b"));
+        assertTrue(exception.getCause() instanceof AccessDeniedException);
+    }
+
+    private static class Counter {
+
+        private long count;
+        private long last = -1;
+        private boolean ordered = true;
+
+        private void append(long value) {
+            ordered &= value == last + 1 || count == 0;
+            last = value;
+            count++;
+        }
+
+        private void scan(long elements, IStreamSink<Long> sink) {
+            long[] next = new long[1];
+            sink.onDemand(demand -> {
+                for (long i = 0; i < demand && next[0] < elements; i++) {
+                    sink.next(next[0]++);
+                }
+                if (next[0] == elements)
+                    sink.complete();
+            });
+        }
+
+        private long count() {
+            return count;
+        }
+
+        private long last() {
+            return last;
+        }
+
+        private boolean ordered() {
+            return ordered;
+        }
+
+        private long fail() {
+            throw new IllegalStateException("Failed");
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.zakgof.actr.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaCompiler.CompilationTask;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+
+import org.junit.jupiter.api.Test;
+
+import com.zakgof.actr.Actr;
+import com.zakgof.actr.IActorMessage;
+import com.zakgof.actr.IActorSystem;
+import com.zakgof.actr.IRemoteCodec;
+import com.zakgof.actr.Remoting;
+import com.zakgof.actr.TypedActor;
+import com.zakgof.actr.processor.TypedActorProcessor;
+
+class TypedActorTest {
+
+    @Test
+    void typedRef() {
+        IActorSystem system = Actr.newSystem("typed");
+        TypedActorTest_AccumulatorRef accumulator = new TypedActorTest_AccumulatorRef(system.<Accumulator> actorOf(AccumulatorImpl::new));
+        accumulator.add(2);
+        accumulator.addAll("x", 3, 4);
+        accumulator.addAll("y");
+        assertEquals(9L, accumulator.total().join());
+        assertEquals(Arrays.asList("x", "y"), accumulator.labels().join());
+        assertEquals("total 9", accumulator.describe().join());
+        system.shutdown().join();
+    }
+
+    @Test
+    void messages() {
+        IActorMessage<Accumulator, Void> add = TypedActorTest_AccumulatorMessages.add(5);
+        assertEquals(0, add.methodIndex());
+        assertEquals("add", add.methodName());
+        assertEquals(Arrays.asList(5), Arrays.asList(add.arguments()));
+
+        IActorMessage<Accumulator, ?> addAll = TypedActorTest_AccumulatorMessages.create(1, "z", new long[] {1, 2});
+        assertEquals("addAll", addAll.methodName());
+        AccumulatorImpl target = new AccumulatorImpl();
+        add.accept(target);
+        addAll.accept(target);
+        assertEquals(8L, TypedActorTest_AccumulatorMessages.total().apply(target));
+        assertSame(TypedActorTest_AccumulatorMessages.total(), TypedActorTest_AccumulatorMessages.total());
+    }
+
+    @Test
+    void serialization() {
+        IRemoteCodec codec = Remoting.javaSerialization();
+        byte[] message = codec.encode(TypedActorTest_AccumulatorMessages.add(5));
+        byte[] lambda = codec.encode(Remoting.<Accumulator> command(a -> a.add(5)));
+        assertTrue(message.length < lambda.length, message.length + " >= " + lambda.length);
+
+        @SuppressWarnings("unchecked")
+        IActorMessage<Accumulator, Void> decoded = (IActorMessage<Accumulator, Void>) codec.decode(ByteBuffer.wrap(message));
+        AccumulatorImpl target = new AccumulatorImpl();
+        decoded.accept(target);
+        assertEquals(5L, target.total());
+        assertSame(TypedActorTest_AccumulatorMessages.total(), codec.decode(ByteBuffer.wrap(codec.encode(TypedActorTest_AccumulatorMessages.total()))));
+    }
+
+    @Test
+    void genericSuperinterface() {
+        IActorSystem system = Actr.newSystem("typed");
+        TypedActorTest_SinkRef sink = new TypedActorTest_SinkRef(system.<Sink> actorOf(SinkImpl::new));
+        sink.accept("x");
+        sink.accept("y");
+        assertEquals(Arrays.asList("x", "y"), sink.get().join());
+        assertEquals("accept", TypedActorTest_SinkMessages.accept("z").methodName());
+        system.shutdown().join();
+    }
+
+    @Test
+    void redeclaredGenericMethod() throws IOException {
+        assertEquals(Collections.emptyList(), compile("Printer",
+                "@com.zakgof.actr.TypedActor interface Printer extends java.util.function.Consumer<String> { @Override void accept(String text); }"));
+    }
+
+    @Test
+    void reservedNames() throws IOException {
+        List<String> errors = compile("Reserved",
+                "@com.zakgof.actr.TypedActor interface Reserved { void actor(); void create(int index, Object... arguments); void actor(int index); }");
+        assertEquals(2, errors.size(), errors.toString());
+        assertTrue(errors.get(0).contains("actor()"), errors.get(0));
+        assertTrue(errors.get(1).contains("create(int,java.lang.Object[])"), errors.get(1));
+    }
+
+    /**
+     * Runs the annotation processor on a source file.
+     *
+     * @return error messages
+     */
+    private static List<String> compile(String className, String source) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        JavaFileObject file = new SimpleJavaFileObject(URI.create("string:///" + className + ".java"), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return source;
+            }
+        };
+        Path output = Files.createTempDirectory("actr");
+        try {
+            List<String> options = Arrays.asList("-proc:only", "-classpath", System.getProperty("java.class.path"), "-s", output.toString());
+            CompilationTask task = compiler.getTask(null, null, diagnostics, options, null, Collections.singletonList(file));
+            task.setProcessors(Collections.singletonList(new TypedActorProcessor()));
+            task.call();
+        } finally {
+            try (Stream<Path> files = Files.walk(output)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+        return diagnostics.getDiagnostics().stream()
+                .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+                .map(diagnostic -> diagnostic.getMessage(null))
+                .collect(Collectors.toList());
+    }
+
+    @TypedActor
+    interface Sink extends Consumer<String>, Supplier<List<String>> {
+    }
+
+    private static class SinkImpl implements Sink {
+
+        private final List<String> values = new ArrayList<>();
+
+        @Override
+        public void accept(String value) {
+            values.add(value);
+        }
+
+        @Override
+        public List<String> get() {
+            return values;
+        }
+    }
+
+    @TypedActor
+    interface Accumulator {
+
+        void add(int value);
+
+        void addAll(String label, long... values);
+
+        long total();
+
+        List<String> labels();
+
+        default String describe() {
+            return "total " + total();
+        }
+    }
+
+    private static class AccumulatorImpl implements Accumulator {
+
+        private long total;
+        private final List<String> labels = new ArrayList<>();
+
+        @Override
+        public void add(int value) {
+            total += value;
+        }
+
+        @Override
+        public void addAll(String label, long... values) {
+            labels.add(label);
+            for (long value : values) {
+                total += value;
+            }
+        }
+
+        @Override
+        public long total() {
+            return total;
+        }
+
+        @Override
+        public List<String> labels() {
+            return labels;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.zakgof.actr.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+import com.zakgof.actr.Actr;
+import com.zakgof.actr.IActorRef;
+import com.zakgof.actr.IActorScheduler;
+import com.zakgof.actr.IActorSystem;
+import com.zakgof.actr.Schedulers;
+
+/**
+ * Virtual thread schedulers. These run on JDK 21+ against the multi-release jar (gradlew testJava21) and are skipped elsewhere, where only the fallback behavior is checked.
+ */
+class VirtualThreadSchedulerTest {
+
+    private static final int ACTORS = 8;
+    private static final int MESSAGES = 10_000;
+
+    @Test
+    void unsupportedWithoutVirtualThreads() {
+        assumeFalse(Schedulers.isVirtualThreadsSupported(), "Virtual threads are supported");
+        assertThrows(UnsupportedOperationException.class, () -> Schedulers.newVirtualThreadScheduler(10));
+        assertThrows(UnsupportedOperationException.class, Schedulers::newVirtualThreadPerActorScheduler);
+    }
+
+    @Test
+    void virtualThreadScheduler() throws Exception {
+        assumeTrue(Schedulers.isVirtualThreadsSupported(), "Virtual threads are not supported");
+        run(Schedulers.newVirtualThreadScheduler(10));
+    }
+
+    @Test
+    void virtualThreadPerActorScheduler() throws Exception {
+        assumeTrue(Schedulers.isVirtualThreadsSupported(), "Virtual threads are not supported");
+        run(Schedulers.newVirtualThreadPerActorScheduler());
+    }
+
+    @Test
+    void blockingActorsDoNotPinCarriers() throws Exception {
+        assumeTrue(Schedulers.isVirtualThreadsSupported(), "Virtual threads are not supported");
+        int actors = 1000;
+        IActorSystem system = Actr.newSystem("virtual-blocking", Schedulers.newVirtualThreadScheduler(10));
+        CountDownLatch done = new CountDownLatch(actors);
+        long start = System.nanoTime();
+        for (int a = 0; a < actors; a++) {
+            system.<Object> actorOf(Object::new).tell(o -> {
+                sleep(200);
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        system.shutdown().join();
+        // On platform threads 1000 sleeping actors would queue behind the pool size
+        assertTrue(millis < 5000, "Blocking actors took " + millis + " ms");
+    }
+
+    /**
+     * Sends messages to several actors and checks that each actor runs on a virtual thread and gets its messages in order.
+     */
+    private static void run(IActorScheduler scheduler) throws Exception {
+        IActorSystem system = Actr.newSystem("virtual", scheduler);
+        AtomicBoolean platform = new AtomicBoolean();
+        List<List<Integer>> received = new ArrayList<>();
+        for (int a = 0; a < ACTORS; a++) {
+            List<Integer> log = new ArrayList<>(MESSAGES);
+            received.add(log);
+            IActorRef<List<Integer>> actor = system.actorOf(() -> log);
+            for (int i = 0; i < MESSAGES; i++) {
+                int value = i;
+                actor.tell(l -> {
+                    if (!isVirtual(Thread.currentThread()))
+                        platform.set(true);
+                    l.add(value);
+                });
+            }
+        }
+        system.shutdown().join();
+
+        assertTrue(!platform.get(), "Actor ran on a platform thread");
+        for (List<Integer> log : received) {
+            assertEquals(MESSAGES, log.size());
+            for (int i = 0; i < MESSAGES; i++)
+                assertEquals(i, log.get(i));
+        }
+    }
+
+    // Thread.isVirtual is JDK 21 API, tests are compiled for 11
+    private static boolean isVirtual(Thread thread) {
+        try {
+            return (Boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+        } catch (ReflectiveOperationException e) {
+            return false;
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.zakgof.actr.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.zakgof.actr.Actr;
+import com.zakgof.actr.IActorRef;
+import com.zakgof.actr.IActorScheduler;
+import com.zakgof.actr.IActorSystem;
+import com.zakgof.actr.Schedulers;
+
+/**
+ * Work-stealing scheduler: message order, wake-ups of parked workers and shutdown.
+ */
+class WorkStealingSchedulerTest {
+
+    private static final int THREADS = 4;
+
+    @Test
+    void perActorOrdering() throws Exception {
+        int actors = 16;
+        int messages = 20_000;
+        IActorSystem system = Actr.newSystem("ws-ordering", Schedulers.newWorkStealingScheduler(THREADS, 10));
+        List<List<Integer>> logs = new ArrayList<>();
+        List<IActorRef<List<Integer>>> refs = new ArrayList<>();
+        for (int a = 0; a < actors; a++) {
+            List<Integer> log = new ArrayList<>(messages);
+            logs.add(log);
+            refs.add(system.actorOf(() -> log));
+        }
+        // Each actor has a single external producer, producers share actors between threads
+        List<Thread> producers = new ArrayList<>();
+        for (int p = 0; p < THREADS; p++) {
+            int first = p;
+            Thread producer = new Thread(() -> {
+                for (int i = 0; i < messages; i++) {
+                    for (int a = first; a < actors; a += THREADS) {
+                        int value = i;
+                        refs.get(a).tell(log -> log.add(value));
+                    }
+                    if (i % 100 == 0)
+                        Thread.yield();
+                }
+            });
+            producers.add(producer);
+            producer.start();
+        }
+        for (Thread producer : producers)
+            producer.join();
+        system.shutdown().join();
+
+        for (List<Integer> log : logs) {
+            assertEquals(messages, log.size());
+            for (int i = 0; i < messages; i++)
+                assertEquals(i, log.get(i));
+        }
+    }
+
+    @Test
+    void actorToActorOrdering() throws Exception {
+        int messages = 50_000;
+        IActorSystem system = Actr.newSystem("ws-chain", Schedulers.newWorkStealingScheduler(THREADS, 10));
+        List<Integer> log = new ArrayList<>(messages);
+        IActorRef<List<Integer>> sink = system.actorOf(() -> log);
+        IActorRef<Object> source = system.actorOf(Object::new);
+        CountDownLatch done = new CountDownLatch(1);
+        // Sends from a worker thread go through the worker affinity path
+        source.tell(s -> {
+            for (int i = 0; i < messages; i++) {
+                int value = i;
+                sink.tell(l -> l.add(value));
+            }
+            sink.tell(l -> done.countDown());
+        });
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        system.shutdown().join();
+
+        assertEquals(messages, log.size());
+        for (int i = 0; i < messages; i++)
+            assertEquals(i, log.get(i));
+    }
+
+    @Test
+    void noLostWakeUpsAfterIdle() throws Exception {
+        IActorSystem system = Actr.newSystem("ws-wakeup", Schedulers.newWorkStealingScheduler(THREADS, 10));
+        List<IActorRef<Object>> actors = new ArrayList<>();
+        for (int a = 0; a < 8; a++)
+            actors.add(system.actorOf(Object::new));
+        for (int round = 0; round < 200; round++) {
+            // Idle gap long enough for all workers to spin out and park
+            Thread.sleep(round % 10 == 0 ? 5 : 1);
+            CountDownLatch latch = new CountDownLatch(1);
+            actors.get(round % actors.size()).tell(a -> latch.countDown());
+            assertTrue(latch.await(5, TimeUnit.SECONDS), "Message lost after idle, round " + round);
+        }
+        system.shutdown().join();
+    }
+
+    @Test
+    void noLostWakeUpsInBursts() throws Exception {
+        int producers = 3;
+        int rounds = 100;
+        int burst = 200;
+        IActorSystem system = Actr.newSystem("ws-bursts", Schedulers.newWorkStealingScheduler(THREADS, 10));
+        List<IActorRef<AtomicInteger>> actors = new ArrayList<>();
+        for (int a = 0; a < 8; a++)
+            actors.add(system.actorOf(AtomicInteger::new));
+        AtomicInteger received = new AtomicInteger();
+        for (int round = 0; round < rounds; round++) {
+            CountDownLatch latch = new CountDownLatch(producers * burst);
+            List<Thread> threads = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                Thread thread = new Thread(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < burst; i++) {
+                        // Half of the messages fan out again from the worker threads
+                        IActorRef<AtomicInteger> target = actors.get(random.nextInt(actors.size()));
+                        IActorRef<AtomicInteger> next = actors.get(random.nextInt(actors.size()));
+                        if (i % 2 == 0) {
+                            target.tell(c -> {
+                                c.incrementAndGet();
+                                received.incrementAndGet();
+                                latch.countDown();
+                            });
+                        } else {
+                            target.tell(c -> next.tell(n -> {
+                                n.incrementAndGet();
+                                received.incrementAndGet();
+                                latch.countDown();
+                            }));
+                        }
+                    }
+                });
+                threads.add(thread);
+                thread.start();
+            }
+            for (Thread thread : threads)
+                thread.join();
+            assertTrue(latch.await(5, TimeUnit.SECONDS), "Messages lost in round " + round + ": " + latch.getCount());
+            Thread.sleep(1);
+        }
+        system.shutdown().join();
+        assertEquals(producers * rounds * burst, received.get());
+    }
+
+    @Test
+    void closeStopsParkedWorkers() throws Exception {
+        IActorScheduler scheduler = Schedulers.newWorkStealingScheduler(THREADS, 10);
+        IActorSystem system = Actr.newSystem("ws-close", scheduler);
+        Set<Thread> workers = workerThreads(system);
+        Thread.sleep(20);
+
+        scheduler.close();
+        for (Thread worker : workers) {
+            worker.join(5000);
+            assertFalse(worker.isAlive(), worker.getName() + " still running after close");
+        }
+    }
+
+    @Test
+    void closeStopsBusyWorkersAndIgnoresNewMessages() throws Exception {
+        IActorScheduler scheduler = Schedulers.newWorkStealingScheduler(THREADS, 10);
+        IActorSystem system = Actr.newSystem("ws-close-busy", scheduler);
+        Set<Thread> workers = workerThreads(system);
+        IActorRef<Object> actor = system.actorOf(Object::new);
+        AtomicBoolean stop = new AtomicBoolean();
+        Thread flooder = new Thread(() -> {
+            while (!stop.get())
+                actor.tell(a -> {});
+        });
+        flooder.start();
+        Thread.sleep(20);
+
+        scheduler.close();
+        for (Thread worker : workers) {
+            worker.join(5000);
+            assertFalse(worker.isAlive(), worker.getName() + " still running after close");
+        }
+        stop.set(true);
+        flooder.join();
+
+        AtomicBoolean ran = new AtomicBoolean();
+        actor.tell(a -> ran.set(true));
+        Thread.sleep(50);
+        assertFalse(ran.get(), "Message ran after close");
+        scheduler.close();
+    }
+
+    /**
+     * Collects worker threads by running many short-lived actors until every worker has been seen.
+     */
+    private static Set<Thread> workerThreads(IActorSystem system) throws InterruptedException {
+        Set<Thread> workers = ConcurrentHashMap.newKeySet();
+        List<IActorRef<Object>> actors = new ArrayList<>();
+        for (int a = 0; a < 64; a++)
+            actors.add(system.actorOf(Object::new));
+        for (int attempt = 0; attempt < 100 && workers.size() < THREADS; attempt++) {
+            CountDownLatch latch = new CountDownLatch(actors.size());
+            for (IActorRef<Object> actor : actors) {
+                actor.tell(a -> {
+                    workers.add(Thread.currentThread());
+                    spin(50_000);
+                    latch.countDown();
+                });
+            }
+            latch.await();
+        }
+        assertEquals(THREADS, workers.size(), "Workers seen: " + workers);
+        return workers;
+    }
+
+    private static void spin(long nanos) {
+        long end = System.nanoTime() + nanos;
+        while (System.nanoTime() < end)
+            Thread.onSpinWait();
+    }
+}